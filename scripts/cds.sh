@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Class Data Sharing (AppCDS) para o jar da aplicação.
+#
+#   scripts/cds.sh gerar [jar]     extrai o jar e grava o arquivo CDS (mvn -Pcds package chama este passo)
+#   scripts/cds.sh executar [args] inicia a aplicação usando o arquivo CDS
+#
+# O CDS não lê classes de jars aninhados, então o jar executável é extraído em
+# target/cds com as classes da aplicação num jar próprio. O arquivo é gravado por
+# uma execução de treino que sobe o contexto inteiro e sai logo após o refresh
+# (-Dspring.context.exit=onRefresh); como o contexto sobe de verdade, o banco
+# H2 em memória é criado e descartado nessa execução.
+#
+# O arquivo só vale para a mesma JVM e o mesmo classpath: gere de novo após trocar
+# o JDK ou as dependências. Variável: JAVA (padrão: java do PATH).
+set -euo pipefail
+
+RAIZ="$(cd "$(dirname "$0")/.." && pwd)"
+DESTINO="${RAIZ}/target/cds"
+JAVA="${JAVA:-java}"
+PRINCIPAL="dev.andie.userapi.UserApiApplication"
+
+gerar() {
+  local jar="${1:-$(ls "${RAIZ}"/target/user-api-*.jar | grep -v -- '-plain.jar$' | head -n 1)}"
+  rm -rf "${DESTINO}"
+  mkdir -p "${DESTINO}/extraido"
+  (cd "${DESTINO}/extraido" && jar -xf "${jar}")
+  jar -cf "${DESTINO}/aplicacao.jar" -C "${DESTINO}/extraido/BOOT-INF/classes" .
+
+  # Mesma ordem do classpath do jar executável, em um @argfile do java
+  local classpath="${DESTINO}/aplicacao.jar"
+  # Linhas do classpath.idx: - "BOOT-INF/lib/dependencia.jar"
+  while read -r linha; do
+    linha="${linha#- }"
+    classpath+=":${DESTINO}/extraido/${linha//\"/}"
+  done < "${DESTINO}/extraido/BOOT-INF/classpath.idx"
+  echo "-cp ${classpath}" > "${DESTINO}/java.args"
+
+  "${JAVA}" -XX:ArchiveClassesAtExit="${DESTINO}/user-api.jsa" -Xlog:cds=error -Dspring.context.exit=onRefresh \
+    -Dspring.main.banner-mode=off -Dlogging.level.root=WARN \
+    @"${DESTINO}/java.args" "${PRINCIPAL}"
+  echo "Arquivo CDS: ${DESTINO}/user-api.jsa ($(du -h "${DESTINO}/user-api.jsa" | cut -f1))"
+}
+
+executar() {
+  if [ ! -f "${DESTINO}/user-api.jsa" ]; then
+    echo "Arquivo CDS ausente: rode 'mvn -Pcds package' ou '$0 gerar'" >&2
+    exit 1
+  fi
+  exec "${JAVA}" -XX:SharedArchiveFile="${DESTINO}/user-api.jsa" -Xshare:auto \
+    @"${DESTINO}/java.args" "${PRINCIPAL}" "$@"
+}
+
+case "${1:-}" in
+  gerar) shift; gerar "$@" ;;
+  executar) shift; executar "$@" ;;
+  *) echo "Uso: $0 gerar [jar] | executar [argumentos da aplicação]" >&2; exit 2 ;;
+esac
@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Checkpoint/restore com CRaC. Requer um JDK com CRaC (ex.: Azul Zulu 17+ CRaC, Linux)
+# e o jar gerado com o perfil Maven crac (mvn -Pcrac package), que inclui org.crac.
+#
+#   scripts/crac.sh checkpoint [args]  sobe a aplicação, grava a imagem logo após o refresh do contexto e sai
+#   scripts/crac.sh restaurar          inicia a partir da imagem gravada
+#
+# O checkpoint usa o perfil Spring crac: pools Hikari suspensos com as conexões
+# fechadas durante o checkpoint e reabertas sob demanda no restore, e o banco H2
+# em memória preservado. A porta e as demais propriedades são as do checkpoint.
+# Variáveis: JAVA (padrão: java do PATH), JAR (padrão: target/user-api-*.jar).
+set -euo pipefail
+
+RAIZ="$(cd "$(dirname "$0")/.." && pwd)"
+DESTINO="${RAIZ}/target/crac"
+JAVA="${JAVA:-java}"
+
+checkpoint() {
+  local jar="${JAR:-$(ls "${RAIZ}"/target/user-api-*.jar | grep -v -- '-plain.jar$' | head -n 1)}"
+  rm -rf "${DESTINO}"
+  mkdir -p "${DESTINO}"
+  # O processo termina ao gravar a imagem; o código de saída 137 é esperado
+  "${JAVA}" -XX:CRaCCheckpointTo="${DESTINO}" -Dspring.context.checkpoint=onRefresh \
+    -jar "${jar}" --spring.profiles.include=crac "$@" || [ $? -eq 137 ]
+  echo "Imagem CRaC: ${DESTINO}"
+}
+
+restaurar() {
+  if [ ! -d "${DESTINO}" ]; then
+    echo "Imagem CRaC ausente: rode '$0 checkpoint'" >&2
+    exit 1
+  fi
+  exec "${JAVA}" -XX:CRaCRestoreFrom="${DESTINO}"
+}
+
+case "${1:-}" in
+  checkpoint) shift; checkpoint "$@" ;;
+  restaurar) restaurar ;;
+  *) echo "Uso: $0 checkpoint [argumentos da aplicação] | restaurar" >&2; exit 2 ;;
+esac
@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Mede o tempo até o primeiro GET /api/usuarios com sucesso e a memória residente
+# (RSS) do processo nesse momento e após uma rodada de requisições.
+#
+# Uso:
+#   scripts/medir-inicializacao.sh target/user-api                       # imagem nativa
+#   scripts/medir-inicializacao.sh java -jar target/user-api-0.0.1-SNAPSHOT.jar
+#   scripts/medir-inicializacao.sh scripts/cds.sh executar              # JVM com AppCDS
+#   scripts/medir-inicializacao.sh scripts/crac.sh restaurar            # JVM com CRaC
+#
+# Variáveis: PORTA (8080, repassada à aplicação como SERVER_PORT), TENTATIVAS (600,
+# a cada 50 ms), AQUECIMENTO (200 requisições)
+set -euo pipefail
+
+if [ $# -eq 0 ]; then
+  echo "Uso: $0 <comando para iniciar a aplicação>" >&2
+  exit 2
+fi
+
+PORTA="${PORTA:-8080}"
+TENTATIVAS="${TENTATIVAS:-600}"
+AQUECIMENTO="${AQUECIMENTO:-200}"
+BASE="http://localhost:${PORTA}"
+LOG="$(mktemp)"
+export SERVER_PORT="${PORTA}"
+
+rss_mb() {
+  awk '/^VmRSS:/ { printf "%.1f", $2 / 1024 }' "/proc/$1/status"
+}
+
+inicio=$(date +%s%N)
+"$@" > "${LOG}" 2>&1 &
+pid=$!
+trap 'kill "${pid}" 2>/dev/null || true; wait "${pid}" 2>/dev/null || true; rm -f "${LOG}"' EXIT
+
+for ((i = 0; i < TENTATIVAS; i++)); do
+  if curl -fs -o /dev/null "${BASE}/api/usuarios"; then
+    pronto=$(date +%s%N)
+    break
+  fi
+  if ! kill -0 "${pid}" 2>/dev/null; then
+    echo "A aplicação terminou antes de ficar pronta:" >&2
+    tail -n 40 "${LOG}" >&2
+    exit 1
+  fi
+  sleep 0.05
+done
+if [ -z "${pronto:-}" ]; then
+  echo "Tempo esgotado esperando ${BASE}/api/usuarios" >&2
+  exit 1
+fi
+
+rss_inicial=$(rss_mb "${pid}")
+for ((i = 0; i < AQUECIMENTO; i++)); do
+  curl -fs -o /dev/null -H 'Content-Type: application/json' \
+    -d "{\"nome\":\"Medicao ${i}\",\"email\":\"medicao-${i}@email.com\"}" "${BASE}/api/usuarios"
+  curl -fs -o /dev/null "${BASE}/api/usuarios?size=20"
+done
+rss_carga=$(rss_mb "${pid}")
+
+echo "Comando:              $*"
+echo "Log do Spring:        $(grep -o 'Started [A-Za-z]* in [0-9.]* seconds[^)]*)' "${LOG}" || echo '-')"
+echo "Até o primeiro GET:   $(( (pronto - inicio) / 1000000 )) ms"
+echo "RSS após iniciar:     ${rss_inicial} MB"
+echo "RSS após ${AQUECIMENTO} POST+GET: ${rss_carga} MB"
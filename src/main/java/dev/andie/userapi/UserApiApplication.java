@@ -1,11 +1,14 @@
 package dev.andie.userapi;
 
+import dev.andie.userapi.observability.RelatorioInicializacao;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 @SpringBootApplication
 public class UserApiApplication {
     public static void main(String[] args) {
-        SpringApplication.run(UserApiApplication.class, args);
+        SpringApplication aplicacao = new SpringApplication(UserApiApplication.class);
+        RelatorioInicializacao.configurar(aplicacao);
+        aplicacao.run(args);
     }
 }
@@ -0,0 +1,94 @@
+package dev.andie.userapi.archive;
+
+import dev.andie.userapi.event.UsuarioEvento;
+import dev.andie.userapi.model.Usuario;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.sharding.ContextoShard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Move para o {@link ArquivoColunar} os usuários criados há mais de
+ * {@code app.arquivamento.idade}, em lotes. Cada lote é lido com bloqueio
+ * (SELECT ... FOR UPDATE), gravado no disco e só então removido da tabela, na
+ * mesma transação: uma alteração concorrente espera o fim do lote. Os segmentos
+ * só passam a valer no commit; um rollback os apaga e o usuário fica só na tabela.
+ *
+ * A remoção é um DELETE em massa, seguido de um evento ARQUIVADO por usuário para
+ * os consumidores que espelham a tabela (estatísticas, índice de emails, cache,
+ * outbox): para a API o usuário continua existindo (somente leitura) e o email dele
+ * continua ocupado. Com sharding, os shards são percorridos em sequência.
+ */
+@Slf4j
+public class ArquivadorUsuarios {
+
+    private final UsuarioRepository repository;
+    private final ArquivoColunar arquivo;
+    private final TransactionTemplate transacao;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration idade;
+    private final int lote;
+    private final int shards;
+    private final Counter arquivados;
+
+    public ArquivadorUsuarios(UsuarioRepository repository, ArquivoColunar arquivo, TransactionTemplate transacao,
+                              ApplicationEventPublisher eventPublisher, MeterRegistry registry,
+                              Duration idade, int lote, int shards) {
+        this.repository = repository;
+        this.arquivo = arquivo;
+        this.transacao = transacao;
+        this.eventPublisher = eventPublisher;
+        this.idade = idade;
+        this.lote = lote;
+        this.shards = shards;
+        this.arquivados = Counter.builder("arquivo.arquivados")
+                .description("Usuários movidos da tabela para o arquivo morto")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.arquivamento.intervalo:PT1H}",
+            initialDelayString = "${app.arquivamento.intervalo:PT1H}")
+    public void executar() {
+        LocalDateTime corte = LocalDateTime.now().minus(idade);
+        long total = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            // Sem sharding o contexto de shard é ignorado pelo DataSource
+            total += ContextoShard.executar(shard, () -> {
+                long movidos = 0;
+                int quantidade;
+                do {
+                    quantidade = arquivarLote(corte);
+                    movidos += quantidade;
+                } while (quantidade == lote);
+                return movidos;
+            });
+        }
+        if (total > 0) {
+            log.info("{} usuários criados antes de {} movidos para o arquivo morto", total, corte);
+        }
+    }
+
+    int arquivarLote(LocalDateTime corte) {
+        Integer movidos = transacao.execute(status -> {
+            List<Usuario> usuarios = repository.findParaArquivar(corte, Limit.of(lote));
+            if (usuarios.isEmpty()) {
+                return 0;
+            }
+            arquivo.arquivar(usuarios);
+            repository.removerArquivados(usuarios.stream().map(Usuario::getId).toList());
+            usuarios.forEach(usuario -> eventPublisher.publishEvent(UsuarioEvento.arquivado(usuario)));
+            return usuarios.size();
+        });
+        arquivados.increment(movidos);
+        return movidos;
+    }
+}
@@ -0,0 +1,208 @@
+package dev.andie.userapi.archive;
+
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.model.Usuario;
+import dev.andie.userapi.service.ArquivoUsuarios;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Arquivo morto em disco: um diretório por mês de criação ({@code 2024-03/}) com
+ * segmentos colunares ({@link SegmentoColunar}) que só são acrescentados, nunca
+ * alterados. Cada arquivamento grava um segmento novo por mês presente no lote,
+ * visível só depois do commit da transação que o gravou.
+ *
+ * Na inicialização os segmentos existentes são mapeados e o índice esparso de
+ * cada um fica em memória. A busca percorre os segmentos do mais novo para o mais
+ * antigo, descartando pelo intervalo de ids, então um usuário arquivado de novo
+ * (ex.: removido da tabela depois de uma falha) é lido da cópia mais recente.
+ *
+ * Métricas: {@code arquivo.segmentos} e {@code arquivo.usuarios}.
+ */
+@Slf4j
+public class ArquivoColunar implements ArquivoUsuarios {
+
+    private static final DateTimeFormatter PARTICAO = DateTimeFormatter.ofPattern("yyyy-MM");
+    // Segmento gravado cuja transação ainda não terminou
+    static final String PENDENTE = ".pendente";
+
+    private final Path diretorio;
+    // Do mais novo para o mais antigo; substituída inteira a cada arquivamento
+    private volatile List<SegmentoColunar> segmentos;
+    private long sequencia;
+
+    public ArquivoColunar(Path diretorio, MeterRegistry registry) {
+        this.diretorio = diretorio;
+        this.segmentos = carregar(diretorio);
+        Gauge.builder("arquivo.segmentos", this, arquivo -> arquivo.segmentos.size())
+                .description("Segmentos do arquivo morto de usuários")
+                .register(registry);
+        Gauge.builder("arquivo.usuarios", this, ArquivoColunar::usuarios)
+                .description("Usuários no arquivo morto")
+                .register(registry);
+    }
+
+    @Override
+    public Optional<UsuarioDTO> buscar(Long id) {
+        for (SegmentoColunar segmento : segmentos) {
+            if (id >= segmento.primeiroId() && id <= segmento.ultimoId()) {
+                Optional<UsuarioDTO> usuario = segmento.buscar(id);
+                if (usuario.isPresent()) {
+                    return usuario;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Se algum usuário arquivado tem este email, pelo hash de 64 bits guardado em
+     * cada segmento (uma colisão só recusaria um email livre). Como na busca, um
+     * segmento só conta depois de publicado.
+     */
+    @Override
+    public boolean contemEmail(String email) {
+        for (SegmentoColunar segmento : segmentos) {
+            if (segmento.contemEmail(email)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Grava os usuários em segmentos novos, um por mês de criação. Só retorna
+     * depois que os arquivos estão no disco.
+     *
+     * Dentro de uma transação, os segmentos ficam pendentes (fora da busca e da
+     * carga na inicialização) até o commit, e são apagados num rollback: o usuário
+     * nunca aparece no arquivo enquanto a remoção da tabela pode ser desfeita. Entre
+     * o commit e a publicação, uma busca pode não encontrá-lo por um instante.
+     */
+    public synchronized void arquivar(List<Usuario> usuarios) {
+        Map<String, List<Usuario>> porMes = new TreeMap<>();
+        for (Usuario usuario : usuarios) {
+            porMes.computeIfAbsent(PARTICAO.format(usuario.getDataCriacao()), mes -> new ArrayList<>()).add(usuario);
+        }
+        List<Path> pendentes = new ArrayList<>(porMes.size());
+        try {
+            for (Map.Entry<String, List<Usuario>> mes : porMes.entrySet()) {
+                List<Usuario> ordenados = new ArrayList<>(mes.getValue());
+                ordenados.sort(Comparator.comparing(Usuario::getId));
+                Path particao = Files.createDirectories(diretorio.resolve(mes.getKey()));
+                Path pendente = particao.resolve(nomeSegmento() + PENDENTE);
+                SegmentoColunar.gravar(pendente, ordenados);
+                pendentes.add(pendente);
+            }
+        } catch (IOException e) {
+            descartar(pendentes);
+            throw new UncheckedIOException("Falha ao gravar o arquivo morto em " + diretorio, e);
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publicar(pendentes);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    publicar(pendentes);
+                } else {
+                    descartar(pendentes);
+                }
+            }
+        });
+    }
+
+    /**
+     * Renomeia os segmentos pendentes para o nome definitivo e os torna visíveis.
+     * Uma falha aqui, depois do commit, deixa o arquivo pendente no disco para
+     * recuperação manual: os usuários já saíram da tabela.
+     */
+    private synchronized void publicar(List<Path> pendentes) {
+        List<SegmentoColunar> novos = new ArrayList<>(pendentes.size());
+        for (Path pendente : pendentes) {
+            String nome = pendente.getFileName().toString();
+            Path definitivo = pendente.resolveSibling(nome.substring(0, nome.length() - PENDENTE.length()));
+            try {
+                Files.move(pendente, definitivo, StandardCopyOption.ATOMIC_MOVE);
+                novos.add(SegmentoColunar.abrir(definitivo));
+            } catch (IOException e) {
+                log.error("Falha ao publicar o segmento {} do arquivo morto", pendente, e);
+            }
+        }
+        List<SegmentoColunar> todos = new ArrayList<>(novos.size() + segmentos.size());
+        todos.addAll(novos);
+        todos.addAll(segmentos);
+        segmentos = List.copyOf(todos);
+    }
+
+    private static void descartar(List<Path> pendentes) {
+        for (Path pendente : pendentes) {
+            try {
+                Files.deleteIfExists(pendente);
+            } catch (IOException e) {
+                log.warn("Falha ao apagar o segmento pendente {}", pendente, e);
+            }
+        }
+    }
+
+    public long usuarios() {
+        long total = 0;
+        for (SegmentoColunar segmento : segmentos) {
+            total += segmento.quantidade();
+        }
+        return total;
+    }
+
+    /**
+     * Nomes em ordem de gravação (instante + sequência), usados para ordenar os
+     * segmentos ao carregar.
+     */
+    private String nomeSegmento() {
+        return String.format("%013d-%06d%s", System.currentTimeMillis(), sequencia++, SegmentoColunar.EXTENSAO);
+    }
+
+    private static List<SegmentoColunar> carregar(Path diretorio) {
+        try {
+            Files.createDirectories(diretorio);
+            List<Path> arquivos;
+            List<Path> pendentes;
+            try (Stream<Path> caminhos = Files.walk(diretorio, 2)) {
+                Map<Boolean, List<Path>> porTipo = caminhos
+                        .filter(caminho -> caminho.getFileName().toString().endsWith(SegmentoColunar.EXTENSAO)
+                                || caminho.getFileName().toString().endsWith(PENDENTE))
+                        .sorted(Comparator.comparing((Path caminho) -> caminho.getFileName().toString()).reversed())
+                        .collect(Collectors.partitioningBy(caminho -> caminho.toString().endsWith(PENDENTE)));
+                arquivos = porTipo.get(false);
+                pendentes = porTipo.get(true);
+            }
+            if (!pendentes.isEmpty()) {
+                // Não dá para saber se a transação confirmou: ficam para verificação manual
+                log.warn("Segmentos pendentes ignorados no arquivo morto: {}", pendentes);
+            }
+            List<SegmentoColunar> segmentos = new ArrayList<>(arquivos.size());
+            for (Path arquivo : arquivos) {
+                segmentos.add(SegmentoColunar.abrir(arquivo));
+            }
+            log.info("Arquivo morto em {}: {} segmentos", diretorio, segmentos.size());
+            return List.copyOf(segmentos);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir o arquivo morto em " + diretorio, e);
+        }
+    }
+}
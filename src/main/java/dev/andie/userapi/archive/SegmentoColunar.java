@@ -0,0 +1,387 @@
+package dev.andie.userapi.archive;
+
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.model.Usuario;
+import dev.andie.userapi.service.impl.HashEmail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Arquivo imutável de usuários arquivados, em colunas e ordenado por id.
+ *
+ * Layout: magic "USRC" e versão; blocos de até {@value #LINHAS_POR_BLOCO} usuários;
+ * rodapé. Cada bloco começa com o tamanho das quatro primeiras colunas e traz as
+ * colunas uma depois da outra: ids (delta), data de criação (microssegundos em
+ * delta zigzag), versões, nomes e emails (tamanho + UTF-8), tudo em varint e
+ * comprimido com Deflate. O rodapé é o índice esparso: primeiro e último id,
+ * posição, tamanho comprimido, tamanho original e linhas de cada bloco, seguido da
+ * posição do rodapé e do magic.
+ *
+ * A leitura mapeia o arquivo em memória e mantém só o índice no heap: uma busca
+ * por id faz busca binária nos blocos e descomprime apenas o bloco do id. Para a
+ * verificação de email, a abertura lê a coluna de emails uma vez e guarda o hash
+ * de 64 bits de cada um, ordenado (8 bytes por usuário).
+ */
+final class SegmentoColunar {
+
+    static final String EXTENSAO = ".usrc";
+    static final int LINHAS_POR_BLOCO = 256;
+    private static final int MAGIC = 0x55535243;
+    private static final byte VERSAO = 1;
+    private static final int CABECALHO = 5;
+    // Por bloco: primeiro id, último id, posição, comprimido, original, linhas
+    private static final int ENTRADA_INDICE = 8 + 8 + 8 + 4 + 4 + 4;
+
+    private final Path arquivo;
+    private final ByteBuffer dados;
+    private final long[] primeiros;
+    private final long[] ultimos;
+    private final long[] posicoes;
+    private final int[] comprimidos;
+    private final int[] originais;
+    private final int[] linhas;
+    private long[] hashesEmail;
+
+    private SegmentoColunar(Path arquivo, ByteBuffer dados, int blocos) {
+        this.arquivo = arquivo;
+        this.dados = dados;
+        this.primeiros = new long[blocos];
+        this.ultimos = new long[blocos];
+        this.posicoes = new long[blocos];
+        this.comprimidos = new int[blocos];
+        this.originais = new int[blocos];
+        this.linhas = new int[blocos];
+    }
+
+    /**
+     * Grava os usuários, já ordenados por id, em um arquivo temporário que só é
+     * renomeado para o destino depois de sincronizado com o disco.
+     */
+    static void gravar(Path destino, List<Usuario> usuarios) throws IOException {
+        Saida arquivo = new Saida();
+        arquivo.inteiro(MAGIC);
+        arquivo.write(VERSAO);
+        Saida indice = new Saida();
+        int blocos = 0;
+        Deflater compressor = new Deflater();
+        try {
+            for (int inicio = 0; inicio < usuarios.size(); inicio += LINHAS_POR_BLOCO) {
+                List<Usuario> bloco = usuarios.subList(inicio, Math.min(inicio + LINHAS_POR_BLOCO, usuarios.size()));
+                byte[] original = colunas(bloco);
+                compressor.reset();
+                compressor.setInput(original);
+                compressor.finish();
+                long posicao = arquivo.size();
+                byte[] parte = new byte[8192];
+                while (!compressor.finished()) {
+                    arquivo.write(parte, 0, compressor.deflate(parte));
+                }
+                indice.longo(bloco.get(0).getId());
+                indice.longo(bloco.get(bloco.size() - 1).getId());
+                indice.longo(posicao);
+                indice.inteiro(Math.toIntExact(arquivo.size() - posicao));
+                indice.inteiro(original.length);
+                indice.inteiro(bloco.size());
+                blocos++;
+            }
+        } finally {
+            compressor.end();
+        }
+        long rodape = arquivo.size();
+        arquivo.inteiro(blocos);
+        indice.writeTo(arquivo);
+        arquivo.longo(rodape);
+        arquivo.inteiro(MAGIC);
+
+        Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer conteudo = ByteBuffer.wrap(arquivo.buffer(), 0, arquivo.size());
+            while (conteudo.hasRemaining()) {
+                canal.write(conteudo);
+            }
+            canal.force(true);
+        }
+        Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static SegmentoColunar abrir(Path arquivo) throws IOException {
+        MappedByteBuffer dados;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        }
+        dados.order(ByteOrder.BIG_ENDIAN);
+        int tamanho = dados.capacity();
+        if (tamanho < CABECALHO + 16 || dados.getInt(0) != MAGIC || dados.get(4) != VERSAO
+                || dados.getInt(tamanho - 4) != MAGIC) {
+            throw new IOException("Segmento de arquivo inválido: " + arquivo);
+        }
+        int rodape = Math.toIntExact(dados.getLong(tamanho - 12));
+        int blocos = dados.getInt(rodape);
+        SegmentoColunar segmento = new SegmentoColunar(arquivo, dados, blocos);
+        for (int i = 0, posicao = rodape + 4; i < blocos; i++, posicao += ENTRADA_INDICE) {
+            segmento.primeiros[i] = dados.getLong(posicao);
+            segmento.ultimos[i] = dados.getLong(posicao + 8);
+            segmento.posicoes[i] = dados.getLong(posicao + 16);
+            segmento.comprimidos[i] = dados.getInt(posicao + 24);
+            segmento.originais[i] = dados.getInt(posicao + 28);
+            segmento.linhas[i] = dados.getInt(posicao + 32);
+        }
+        segmento.hashesEmail = segmento.lerHashesEmail();
+        return segmento;
+    }
+
+    boolean contemEmail(String email) {
+        return Arrays.binarySearch(hashesEmail, HashEmail.hash64(email)) >= 0;
+    }
+
+    Optional<UsuarioDTO> buscar(long id) {
+        int bloco = bloco(id);
+        if (bloco < 0) {
+            return Optional.empty();
+        }
+        Entrada entrada = new Entrada(descomprimir(bloco));
+        int tamanhoIds = (int) entrada.varint();
+        int tamanhoDatas = (int) entrada.varint();
+        int tamanhoVersoes = (int) entrada.varint();
+        int tamanhoNomes = (int) entrada.varint();
+        int inicioIds = entrada.posicao;
+
+        int linha = -1;
+        long atual = 0;
+        for (int i = 0; i < linhas[bloco] && atual < id; i++) {
+            atual += entrada.varint();
+            if (atual == id) {
+                linha = i;
+            }
+        }
+        if (linha < 0) {
+            return Optional.empty();
+        }
+
+        entrada.posicao = inicioIds + tamanhoIds;
+        long micros = 0;
+        for (int i = 0; i <= linha; i++) {
+            micros += dezigzag(entrada.varint());
+        }
+        entrada.posicao = inicioIds + tamanhoIds + tamanhoDatas;
+        long versao = 0;
+        for (int i = 0; i <= linha; i++) {
+            versao = entrada.varint();
+        }
+        entrada.posicao = inicioIds + tamanhoIds + tamanhoDatas + tamanhoVersoes;
+        String nome = entrada.texto(linha);
+        entrada.posicao = inicioIds + tamanhoIds + tamanhoDatas + tamanhoVersoes + tamanhoNomes;
+        String email = entrada.texto(linha);
+        return Optional.of(new UsuarioDTO(id, nome, email, data(micros), versao));
+    }
+
+    long primeiroId() {
+        return primeiros.length == 0 ? Long.MAX_VALUE : primeiros[0];
+    }
+
+    long ultimoId() {
+        return ultimos.length == 0 ? Long.MIN_VALUE : ultimos[ultimos.length - 1];
+    }
+
+    long quantidade() {
+        long total = 0;
+        for (int quantidade : linhas) {
+            total += quantidade;
+        }
+        return total;
+    }
+
+    Path arquivo() {
+        return arquivo;
+    }
+
+    /**
+     * Bloco cujo intervalo [primeiro, último] contém o id, ou -1.
+     */
+    private int bloco(long id) {
+        int baixo = 0;
+        int alto = primeiros.length - 1;
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (primeiros[meio] > id) {
+                alto = meio - 1;
+            } else if (ultimos[meio] < id) {
+                baixo = meio + 1;
+            } else {
+                return meio;
+            }
+        }
+        return -1;
+    }
+
+    private long[] lerHashesEmail() {
+        long[] hashes = new long[Math.toIntExact(quantidade())];
+        int proximo = 0;
+        for (int bloco = 0; bloco < linhas.length; bloco++) {
+            Entrada entrada = new Entrada(descomprimir(bloco));
+            long anteriores = entrada.varint() + entrada.varint() + entrada.varint() + entrada.varint();
+            entrada.posicao += Math.toIntExact(anteriores);
+            for (int i = 0; i < linhas[bloco]; i++) {
+                hashes[proximo++] = HashEmail.hash64(entrada.proximoTexto());
+            }
+        }
+        Arrays.sort(hashes);
+        return hashes;
+    }
+
+    private byte[] descomprimir(int bloco) {
+        byte[] original = new byte[originais[bloco]];
+        Inflater descompressor = new Inflater();
+        try {
+            descompressor.setInput(dados.slice(Math.toIntExact(posicoes[bloco]), comprimidos[bloco]));
+            int lidos = 0;
+            while (lidos < original.length && !descompressor.finished()) {
+                lidos += descompressor.inflate(original, lidos, original.length - lidos);
+            }
+            return original;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Bloco corrompido em " + arquivo, e);
+        } finally {
+            descompressor.end();
+        }
+    }
+
+    private static byte[] colunas(List<Usuario> bloco) {
+        Saida ids = new Saida();
+        Saida datas = new Saida();
+        Saida versoes = new Saida();
+        Saida nomes = new Saida();
+        Saida emails = new Saida();
+        long idAnterior = 0;
+        long microsAnterior = 0;
+        for (Usuario usuario : bloco) {
+            ids.varint(usuario.getId() - idAnterior);
+            idAnterior = usuario.getId();
+            long micros = micros(usuario.getDataCriacao());
+            datas.varint(zigzag(micros - microsAnterior));
+            microsAnterior = micros;
+            versoes.varint(usuario.getVersao());
+            nomes.texto(usuario.getNome());
+            emails.texto(usuario.getEmail());
+        }
+        Saida colunas = new Saida();
+        colunas.varint(ids.size());
+        colunas.varint(datas.size());
+        colunas.varint(versoes.size());
+        colunas.varint(nomes.size());
+        for (Saida coluna : new Saida[]{ids, datas, versoes, nomes, emails}) {
+            colunas.write(coluna.buffer(), 0, coluna.size());
+        }
+        return colunas.toByteArray();
+    }
+
+    private static long micros(LocalDateTime data) {
+        return data.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + data.getNano() / 1_000;
+    }
+
+    private static LocalDateTime data(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    // Zigzag: diferenças negativas pequenas também viram varints curtos
+    private static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    private static long dezigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    private static final class Saida extends ByteArrayOutputStream {
+
+        void varint(long valor) {
+            while ((valor & ~0x7FL) != 0) {
+                write((int) (valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            write((int) valor);
+        }
+
+        void texto(String valor) {
+            byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        void inteiro(int valor) {
+            write(valor >>> 24);
+            write(valor >>> 16);
+            write(valor >>> 8);
+            write(valor);
+        }
+
+        void longo(long valor) {
+            inteiro((int) (valor >>> 32));
+            inteiro((int) valor);
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+    }
+
+    private static final class Entrada {
+
+        private final byte[] dados;
+        private int posicao;
+
+        Entrada(byte[] dados) {
+            this.dados = dados;
+        }
+
+        long varint() {
+            long valor = 0;
+            for (int deslocamento = 0; ; deslocamento += 7) {
+                byte b = dados[posicao++];
+                valor |= (long) (b & 0x7F) << deslocamento;
+                if (b >= 0) {
+                    return valor;
+                }
+            }
+        }
+
+        String proximoTexto() {
+            int tamanho = (int) varint();
+            String texto = new String(dados, posicao, tamanho, StandardCharsets.UTF_8);
+            posicao += tamanho;
+            return texto;
+        }
+
+        /**
+         * Pula {@code indice} textos e lê o seguinte.
+         */
+        String texto(int indice) {
+            for (int i = 0; i < indice; i++) {
+                int tamanho = (int) varint();
+                posicao += tamanho;
+            }
+            int tamanho = (int) varint();
+            return new String(dados, posicao, tamanho, StandardCharsets.UTF_8);
+        }
+    }
+}
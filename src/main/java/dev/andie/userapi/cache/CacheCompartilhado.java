@@ -0,0 +1,24 @@
+package dev.andie.userapi.cache;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Nível compartilhado entre as instâncias da aplicação: valores por chave com
+ * expiração e um canal de mensagens em que todas as instâncias escutam.
+ */
+public interface CacheCompartilhado {
+
+    String obter(String chave);
+
+    void gravar(String chave, String valor, Duration expiracao);
+
+    void remover(String chave);
+
+    /**
+     * Entrega a mensagem a todos os assinantes, inclusive os desta instância.
+     */
+    void publicar(String mensagem);
+
+    void assinar(Consumer<String> assinante);
+}
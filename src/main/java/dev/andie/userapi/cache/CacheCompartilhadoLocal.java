@@ -0,0 +1,55 @@
+package dev.andie.userapi.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Substituto em memória do Redis, para rodar localmente e nos testes. Várias
+ * instâncias de {@link CacheUsuarios} sobre o mesmo objeto se comportam como
+ * nós atrás do mesmo Redis; as mensagens são entregues na thread de quem publica.
+ */
+public class CacheCompartilhadoLocal implements CacheCompartilhado {
+
+    private final Map<String, Entrada> valores = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> assinantes = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String obter(String chave) {
+        Entrada entrada = valores.get(chave);
+        if (entrada == null) {
+            return null;
+        }
+        if (entrada.expiraEm() - System.nanoTime() <= 0) {
+            valores.remove(chave, entrada);
+            return null;
+        }
+        return entrada.valor();
+    }
+
+    @Override
+    public void gravar(String chave, String valor, Duration expiracao) {
+        valores.put(chave, new Entrada(valor, System.nanoTime() + expiracao.toNanos()));
+    }
+
+    @Override
+    public void remover(String chave) {
+        valores.remove(chave);
+    }
+
+    @Override
+    public void publicar(String mensagem) {
+        assinantes.forEach(assinante -> assinante.accept(mensagem));
+    }
+
+    @Override
+    public void assinar(Consumer<String> assinante) {
+        assinantes.add(assinante);
+    }
+
+    private record Entrada(String valor, long expiraEm) {
+    }
+}
@@ -0,0 +1,54 @@
+package dev.andie.userapi.cache;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Nível compartilhado no Redis: valores com SET ... PX e invalidações por
+ * pub/sub num canal. O Redis não guarda mensagens: uma instância desconectada
+ * no momento da publicação perde a invalidação, e a expiração do nível local
+ * limita por quanto tempo ela serve o valor antigo.
+ */
+public class CacheCompartilhadoRedis implements CacheCompartilhado {
+
+    private final StringRedisTemplate redis;
+    private final RedisMessageListenerContainer ouvintes;
+    private final ChannelTopic canal;
+
+    public CacheCompartilhadoRedis(StringRedisTemplate redis, RedisMessageListenerContainer ouvintes, String canal) {
+        this.redis = redis;
+        this.ouvintes = ouvintes;
+        this.canal = new ChannelTopic(canal);
+    }
+
+    @Override
+    public String obter(String chave) {
+        return redis.opsForValue().get(chave);
+    }
+
+    @Override
+    public void gravar(String chave, String valor, Duration expiracao) {
+        redis.opsForValue().set(chave, valor, expiracao);
+    }
+
+    @Override
+    public void remover(String chave) {
+        redis.delete(chave);
+    }
+
+    @Override
+    public void publicar(String mensagem) {
+        redis.convertAndSend(canal.getTopic(), mensagem);
+    }
+
+    @Override
+    public void assinar(Consumer<String> assinante) {
+        ouvintes.addMessageListener((mensagem, padrao) ->
+                assinante.accept(new String(mensagem.getBody(), StandardCharsets.UTF_8)), canal);
+    }
+}
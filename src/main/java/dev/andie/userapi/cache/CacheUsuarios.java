@@ -0,0 +1,204 @@
+package dev.andie.userapi.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.event.UsuarioEvento;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+
+/**
+ * Cache de usuários por id em dois níveis: um local (Caffeine) em cada instância
+ * e um compartilhado entre elas ({@link CacheCompartilhado}, Redis em produção).
+ *
+ * Depois do commit de cada alteração, a instância que escreveu publica o id no
+ * canal de invalidação e todas removem a entrada local, a compartilhada e a do
+ * cache de segundo nível do Hibernate ({@code aoInvalidar}), que também é local.
+ * Quem recebe remove a compartilhada de novo: uma leitura que começou antes do
+ * commit pode ter gravado o valor antigo lá depois da remoção de quem escreveu;
+ * como a remoção local espera a carga em andamento da mesma chave terminar, a
+ * segunda remoção vem depois dessa gravação.
+ *
+ * Contra estouro de carga: numa instância, leituras simultâneas de uma chave
+ * ausente esperam uma única carga (o cálculo do Caffeine é atômico por chave),
+ * então o banco recebe no máximo uma consulta por instância; e a expiração no
+ * nível compartilhado varia ±10% para as chaves gravadas juntas não expirarem juntas.
+ */
+@Slf4j
+public class CacheUsuarios {
+
+    private static final String PREFIXO = "usuarios:";
+
+    private final Cache<Long, UsuarioDTO> local;
+    private final CacheCompartilhado compartilhado;
+    private final ObjectMapper json;
+    private final Duration expiracaoCompartilhado;
+    private final LongConsumer aoInvalidar;
+    private final Nivel nivelLocal;
+    private final Nivel nivelCompartilhado;
+    private final Counter invalidacoesRecebidas;
+
+    public CacheUsuarios(CacheCompartilhado compartilhado, ObjectMapper json, MeterRegistry registry,
+                         long tamanhoLocal, Duration expiracaoLocal, Duration expiracaoCompartilhado,
+                         LongConsumer aoInvalidar) {
+        this.local = Caffeine.newBuilder()
+                .maximumSize(tamanhoLocal)
+                .expireAfterWrite(expiracaoLocal)
+                .build();
+        this.compartilhado = compartilhado;
+        this.json = json;
+        this.expiracaoCompartilhado = expiracaoCompartilhado;
+        this.aoInvalidar = aoInvalidar;
+        this.nivelLocal = new Nivel(registry, "local");
+        this.nivelCompartilhado = new Nivel(registry, "compartilhado");
+        this.invalidacoesRecebidas = Counter.builder("usuarios.cache.invalidacoes")
+                .description("Invalidações recebidas pelo canal")
+                .register(registry);
+        Gauge.builder("usuarios.cache.local.tamanho", local, Cache::estimatedSize)
+                .description("Usuários no nível local")
+                .register(registry);
+        compartilhado.assinar(this::aoReceberInvalidacao);
+    }
+
+    /**
+     * Usuário do cache ou, na ausência nos dois níveis, de {@code carregar}.
+     * Exceções de {@code carregar} (ex.: usuário inexistente) não são guardadas.
+     */
+    public UsuarioDTO buscar(long id, LongFunction<UsuarioDTO> carregar) {
+        UsuarioDTO usuario = local.getIfPresent(id);
+        if (usuario != null) {
+            nivelLocal.acertos.increment();
+            return usuario;
+        }
+        nivelLocal.faltas.increment();
+        return local.get(id, chave -> buscarCompartilhado(chave, carregar));
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarUsuario(UsuarioEvento evento) {
+        if (evento.tipo() != UsuarioEvento.Tipo.CRIADO) {
+            invalidar(evento.id());
+        }
+    }
+
+    /**
+     * Remove o usuário nesta instância e no nível compartilhado e avisa as demais.
+     */
+    public void invalidar(long id) {
+        local.invalidate(id);
+        removerCompartilhado(id);
+        try {
+            compartilhado.publicar(Long.toString(id));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao publicar a invalidação do usuário {}: as outras instâncias o manterão até expirar", id, e);
+        }
+    }
+
+    public double taxaAcertoLocal() {
+        return nivelLocal.taxaAcerto();
+    }
+
+    public double taxaAcertoCompartilhado() {
+        return nivelCompartilhado.taxaAcerto();
+    }
+
+    private void aoReceberInvalidacao(String mensagem) {
+        long id = Long.parseLong(mensagem);
+        invalidacoesRecebidas.increment();
+        aoInvalidar.accept(id);
+        local.invalidate(id);
+        removerCompartilhado(id);
+    }
+
+    private UsuarioDTO buscarCompartilhado(long id, LongFunction<UsuarioDTO> carregar) {
+        String chave = PREFIXO + id;
+        String valor = null;
+        try {
+            valor = compartilhado.obter(chave);
+        } catch (RuntimeException e) {
+            // Nível compartilhado fora do ar: segue para o banco
+            nivelCompartilhado.erros.increment();
+            log.debug("Falha ao ler {} do cache compartilhado", chave, e);
+        }
+        if (valor != null) {
+            nivelCompartilhado.acertos.increment();
+            return ler(valor);
+        }
+        nivelCompartilhado.faltas.increment();
+
+        UsuarioDTO usuario = carregar.apply(id);
+        try {
+            compartilhado.gravar(chave, json.writeValueAsString(usuario), expiracaoComVariacao());
+        } catch (JsonProcessingException | RuntimeException e) {
+            nivelCompartilhado.erros.increment();
+            log.debug("Falha ao gravar {} no cache compartilhado", chave, e);
+        }
+        return usuario;
+    }
+
+    private void removerCompartilhado(long id) {
+        try {
+            compartilhado.remover(PREFIXO + id);
+        } catch (RuntimeException e) {
+            nivelCompartilhado.erros.increment();
+            log.warn("Falha ao remover o usuário {} do cache compartilhado", id, e);
+        }
+    }
+
+    private UsuarioDTO ler(String valor) {
+        try {
+            return json.readValue(valor, UsuarioDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Usuário inválido no cache compartilhado", e);
+        }
+    }
+
+    private Duration expiracaoComVariacao() {
+        long milis = expiracaoCompartilhado.toMillis();
+        return Duration.ofMillis(milis + ThreadLocalRandom.current().nextLong(-milis / 10, milis / 10 + 1));
+    }
+
+    /**
+     * Contadores de um nível: {@code usuarios.cache.consultas{nivel, resultado}}
+     * e a taxa de acerto em {@code usuarios.cache.taxa.acerto{nivel}}.
+     */
+    private static final class Nivel {
+
+        private final Counter acertos;
+        private final Counter faltas;
+        private final Counter erros;
+
+        Nivel(MeterRegistry registry, String nome) {
+            this.acertos = contador(registry, nome, "acerto");
+            this.faltas = contador(registry, nome, "falta");
+            this.erros = contador(registry, nome, "erro");
+            Gauge.builder("usuarios.cache.taxa.acerto", this, Nivel::taxaAcerto)
+                    .description("Fração das consultas ao nível respondidas por ele")
+                    .tag("nivel", nome)
+                    .register(registry);
+        }
+
+        double taxaAcerto() {
+            double total = acertos.count() + faltas.count();
+            return total == 0 ? 0 : acertos.count() / total;
+        }
+
+        private static Counter contador(MeterRegistry registry, String nivel, String resultado) {
+            return Counter.builder("usuarios.cache.consultas")
+                    .description("Consultas ao cache de usuários por nível")
+                    .tag("nivel", nivel)
+                    .tag("resultado", resultado)
+                    .register(registry);
+        }
+    }
+}
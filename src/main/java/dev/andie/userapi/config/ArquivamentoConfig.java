@@ -0,0 +1,58 @@
+package dev.andie.userapi.config;
+
+import dev.andie.userapi.archive.ArquivadorUsuarios;
+import dev.andie.userapi.archive.ArquivoColunar;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.service.ArquivoUsuarios;
+import dev.andie.userapi.sharding.EstrategiaShard;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Arquivo morto de usuários antigos ({@code app.arquivamento.habilitado}): o job
+ * que move para {@code app.arquivamento.diretorio} os usuários criados há mais de
+ * {@code app.arquivamento.idade}, e a leitura desse arquivo no buscarPorId.
+ */
+@Configuration
+public class ArquivamentoConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.arquivamento.habilitado", havingValue = "false", matchIfMissing = true)
+    public ArquivoUsuarios semArquivoUsuarios() {
+        return ArquivoUsuarios.NENHUM;
+    }
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(name = "app.arquivamento.habilitado", havingValue = "true")
+    static class Habilitado {
+
+        @Bean
+        public ArquivoColunar arquivoColunar(@Value("${app.arquivamento.diretorio:arquivo/usuarios}") Path diretorio,
+                                             MeterRegistry registry) {
+            return new ArquivoColunar(diretorio, registry);
+        }
+
+        @Bean
+        public ArquivadorUsuarios arquivadorUsuarios(UsuarioRepository repository, ArquivoColunar arquivo,
+                                                     PlatformTransactionManager transactionManager,
+                                                     ApplicationEventPublisher eventPublisher, MeterRegistry registry, ObjectProvider<EstrategiaShard> sharding,
+                                                     @Value("${app.arquivamento.idade:P365D}") Duration idade,
+                                                     @Value("${app.arquivamento.lote:10000}") int lote) {
+            EstrategiaShard estrategia = sharding.getIfAvailable();
+            return new ArquivadorUsuarios(repository, arquivo, new TransactionTemplate(transactionManager),
+                    eventPublisher, registry, idade, lote, estrategia == null ? 1 : estrategia.shards());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package dev.andie.userapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.andie.userapi.cache.CacheCompartilhado;
+import dev.andie.userapi.cache.CacheCompartilhadoLocal;
+import dev.andie.userapi.cache.CacheCompartilhadoRedis;
+import dev.andie.userapi.cache.CacheUsuarios;
+import dev.andie.userapi.model.Usuario;
+import dev.andie.userapi.service.UsuarioService;
+import dev.andie.userapi.service.impl.UsuarioServiceComCache;
+import dev.andie.userapi.service.impl.UsuarioServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+
+/**
+ * Cache de usuários por id em dois níveis ({@code app.cache.multinivel.habilitado}),
+ * para várias instâncias atrás de um balanceador. O nível compartilhado é o Redis
+ * de {@code spring.data.redis.*} ({@code app.cache.multinivel.compartilhado=redis})
+ * ou, por padrão, um substituto em memória que só vale para uma instância.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.cache.multinivel.habilitado", havingValue = "true")
+public class CacheMultinivelConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.multinivel.compartilhado", havingValue = "local", matchIfMissing = true)
+    public CacheCompartilhado cacheCompartilhadoLocal() {
+        return new CacheCompartilhadoLocal();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.multinivel.compartilhado", havingValue = "redis")
+    public RedisMessageListenerContainer ouvintesRedis(RedisConnectionFactory conexoes) {
+        RedisMessageListenerContainer ouvintes = new RedisMessageListenerContainer();
+        ouvintes.setConnectionFactory(conexoes);
+        return ouvintes;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.multinivel.compartilhado", havingValue = "redis")
+    public CacheCompartilhado cacheCompartilhadoRedis(StringRedisTemplate redis, RedisMessageListenerContainer ouvintes,
+                                                      @Value("${app.cache.multinivel.canal:usuarios:invalidacao}") String canal) {
+        return new CacheCompartilhadoRedis(redis, ouvintes, canal);
+    }
+
+    @Bean
+    public CacheUsuarios cacheUsuarios(CacheCompartilhado compartilhado, ObjectMapper json, MeterRegistry registry,
+                                       EntityManagerFactory entityManagerFactory,
+                                       @Value("${app.cache.multinivel.tamanho-local:10000}") long tamanhoLocal,
+                                       @Value("${app.cache.multinivel.expiracao-local:PT5M}") Duration expiracaoLocal,
+                                       @Value("${app.cache.multinivel.expiracao-compartilhado:PT30M}") Duration expiracaoCompartilhado) {
+        return new CacheUsuarios(compartilhado, json, registry, tamanhoLocal, expiracaoLocal, expiracaoCompartilhado,
+                id -> entityManagerFactory.getCache().evict(Usuario.class, id));
+    }
+
+    @Bean
+    @Primary
+    public UsuarioService usuarioServiceComCache(UsuarioServiceImpl service, CacheUsuarios cache) {
+        return new UsuarioServiceComCache(service, cache);
+    }
+}
@@ -0,0 +1,23 @@
+package dev.andie.userapi.config;
+
+import dev.andie.userapi.datasource.CheckpointPools;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnCheckpointRestore;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Checkpoint/restore com CRaC (build com {@code mvn -Pcrac package}, ver scripts/crac.sh).
+ * O Spring para os beans com ciclo de vida antes do checkpoint e os reinicia no
+ * restore; aqui entram os pools das réplicas e dos shards.
+ */
+@Configuration
+@ConditionalOnCheckpointRestore
+public class CheckpointConfig {
+
+    @Bean
+    public CheckpointPools checkpointPools(DataSource dataSource) {
+        return new CheckpointPools(dataSource);
+    }
+}
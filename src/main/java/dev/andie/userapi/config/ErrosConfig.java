@@ -0,0 +1,20 @@
+package dev.andie.userapi.config;
+
+import dev.andie.userapi.exception.ErroEsperado;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * Liga o stack trace dos erros esperados (404, 400, 409) para depuração.
+ * Criada sempre na partida, mesmo no perfil inicio-rapido: o flag é estático e
+ * ninguém injeta esta classe, então sob demanda ela nunca seria criada.
+ */
+@Configuration
+@Lazy(false)
+public class ErrosConfig {
+
+    public ErrosConfig(@Value("${app.erros.rastreio:false}") boolean rastreio) {
+        ErroEsperado.configurarRastreio(rastreio);
+    }
+}
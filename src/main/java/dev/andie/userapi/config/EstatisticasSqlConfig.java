@@ -0,0 +1,37 @@
+package dev.andie.userapi.config;
+
+import dev.andie.userapi.observability.EstatisticasSqlFilter;
+import dev.andie.userapi.observability.EstatisticasSqlListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Estatísticas de SQL por requisição. O listener é registrado no proxy do
+ * DataSource criado pelo datasource-micrometer.
+ */
+@Configuration
+public class EstatisticasSqlConfig {
+
+    @Bean
+    public EstatisticasSqlListener estatisticasSqlListener() {
+        return new EstatisticasSqlListener();
+    }
+
+    @Bean
+    public FilterRegistrationBean<EstatisticasSqlFilter> estatisticasSqlFilter(
+            MeterRegistry registry,
+            @Value("${app.sql.orcamento.comandos:5}") int orcamentoComandos,
+            @Value("${app.sql.orcamento.tempo:200ms}") Duration orcamentoTempo) {
+        FilterRegistrationBean<EstatisticasSqlFilter> registro =
+                new FilterRegistrationBean<>(new EstatisticasSqlFilter(registry, orcamentoComandos, orcamentoTempo));
+        registro.addUrlPatterns("/api/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+}
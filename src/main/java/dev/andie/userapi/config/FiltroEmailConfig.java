@@ -0,0 +1,48 @@
+package dev.andie.userapi.config;
+
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.service.FiltroEmail;
+import dev.andie.userapi.service.impl.FiltroBloomEmail;
+import dev.andie.userapi.service.impl.IndiceEmail;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Escolhe a pré-verificação de email usada em criar/atualizar
+ * ({@code app.email.pre-verificacao}).
+ */
+@Configuration
+public class FiltroEmailConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.email.pre-verificacao", havingValue = "nenhum", matchIfMissing = true)
+    public FiltroEmail semFiltroEmail() {
+        return FiltroEmail.NENHUM;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.email.pre-verificacao", havingValue = "indice")
+    public IndiceEmail indiceEmail(UsuarioRepository repository,
+                                   MeterRegistry registry,
+                                   @Value("${app.email.indice.capacidade-inicial:1024}") int capacidadeInicial) {
+        return new IndiceEmail(repository, registry, capacidadeInicial);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.email.pre-verificacao", havingValue = "bloom")
+    public FiltroBloomEmail filtroBloomEmail(UsuarioRepository repository,
+                                             MeterRegistry registry,
+                                             @Value("${app.email.bloom.capacidade-inicial:100000}") int capacidadeInicial,
+                                             @Value("${app.email.bloom.taxa-falso-positivo:0.01}") double taxaFalsoPositivo) {
+        return new FiltroBloomEmail(repository, registry, capacidadeInicial, taxaFalsoPositivo);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.email.pre-verificacao", havingValue = "bloom")
+    public FiltroEmailEndpoint filtroEmailEndpoint(FiltroBloomEmail filtro) {
+        return new FiltroEmailEndpoint(filtro);
+    }
+}
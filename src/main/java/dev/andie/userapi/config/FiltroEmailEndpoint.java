@@ -0,0 +1,28 @@
+package dev.andie.userapi.config;
+
+import dev.andie.userapi.service.impl.FiltroBloomEmail;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * /actuator/filtroemail: estado do filtro de Bloom (GET) e reconstrução
+ * sob demanda (POST), útil depois de exclusões em massa.
+ */
+@Endpoint(id = "filtroemail")
+@RequiredArgsConstructor
+public class FiltroEmailEndpoint {
+
+    private final FiltroBloomEmail filtro;
+
+    @ReadOperation
+    public FiltroBloomEmail.Resumo resumo() {
+        return filtro.resumo();
+    }
+
+    @WriteOperation
+    public FiltroBloomEmail.Resumo reconstruir() {
+        return filtro.reconstruir();
+    }
+}
@@ -0,0 +1,28 @@
+package dev.andie.userapi.config;
+
+import dev.andie.userapi.id.GeradorIds;
+import dev.andie.userapi.id.Snowflake;
+import dev.andie.userapi.service.ParticaoUsuarios;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gerador de ids das entidades. Cada instância da aplicação precisa de um
+ * {@code app.id.no} diferente (0 a 1023). Com sharding, o ShardingConfig troca os
+ * dois beans: o id passa a apontar para o shard do usuário.
+ */
+@Configuration
+public class IdConfig {
+
+    @Bean
+    public GeradorIds geradorIds(@Value("${app.id.no:0}") int no) {
+        Snowflake snowflake = new Snowflake(no);
+        return entidade -> snowflake.proximo();
+    }
+
+    @Bean
+    public ParticaoUsuarios particaoUnica() {
+        return ParticaoUsuarios.UNICA;
+    }
+}
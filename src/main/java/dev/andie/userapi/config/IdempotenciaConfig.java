@@ -0,0 +1,37 @@
+package dev.andie.userapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.andie.userapi.idempotency.IdempotenciaFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * {@code Idempotency-Key} no cadastro de usuários. Fica depois das estatísticas
+ * de SQL, então uma repetição aparece nelas com zero comandos. Só liga com
+ * {@code app.idempotencia.habilitado=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.idempotencia.habilitado", havingValue = "true")
+public class IdempotenciaConfig {
+
+    @Bean
+    public FilterRegistrationBean<IdempotenciaFilter> idempotenciaFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            @Value("${app.idempotencia.capacidade:10000}") long capacidade,
+            @Value("${app.idempotencia.ttl:PT24H}") Duration ttl,
+            @Value("${app.idempotencia.espera:PT10S}") Duration espera) {
+        FilterRegistrationBean<IdempotenciaFilter> registro = new FilterRegistrationBean<>(
+                new IdempotenciaFilter(capacidade, ttl, espera, objectMapper, registry));
+        registro.addUrlPatterns("/api/usuarios");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 30);
+        return registro;
+    }
+}
@@ -0,0 +1,49 @@
+package dev.andie.userapi.config;
+
+import dev.andie.userapi.dto.EstatisticasDTO;
+import dev.andie.userapi.dto.PaginaCursorDTO;
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.event.UsuarioEvento;
+import dev.andie.userapi.id.GeradorSnowflake;
+import dev.andie.userapi.model.EventoOutbox;
+import dev.andie.userapi.model.Usuario;
+import dev.andie.userapi.outbox.MensagemOutbox;
+import dev.andie.userapi.repository.UsuarioResumo;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Dicas para a imagem nativa (mvn -Pnative native:compile) do que o processamento
+ * AOT do Spring não descobre sozinho: classes lidas por reflexão pelo Jackson, pelo
+ * Hibernate Validator e pelo Hibernate, e a configuração do Caffeine.
+ *
+ * Beans condicionais (replicas, sharding, pré-verificação de email) são decididos no
+ * build AOT: para mudar essas propriedades é preciso gerar a imagem de novo.
+ */
+@Configuration
+@ImportRuntimeHints(ImagemNativaConfig.Dicas.class)
+public class ImagemNativaConfig {
+
+    static class Dicas implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // DTOs, entidades e eventos: getters/setters para o Jackson e campos para as constraints
+            for (Class<?> tipo : new Class<?>[]{UsuarioDTO.class, UsuarioDTO.Parcial.class,
+                    PaginaCursorDTO.class, EstatisticasDTO.class, Usuario.class, EventoOutbox.class,
+                    UsuarioEvento.class, MensagemOutbox.class}) {
+                hints.reflection().registerType(tipo, MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+            }
+            // Instanciados pelo Hibernate: o gerador de ids e a projeção das consultas "select new"
+            hints.reflection().registerType(GeradorSnowflake.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            hints.reflection().registerType(UsuarioResumo.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            // Regiões JCache do cache de segundo nível (Typesafe Config)
+            hints.resources().registerPattern("application.conf");
+            hints.resources().registerPattern("reference.conf");
+        }
+    }
+}
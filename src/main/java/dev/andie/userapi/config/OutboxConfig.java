@@ -0,0 +1,62 @@
+package dev.andie.userapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.andie.userapi.outbox.DestinoArquivo;
+import dev.andie.userapi.outbox.DestinoEventos;
+import dev.andie.userapi.outbox.DestinoMemoria;
+import dev.andie.userapi.outbox.GravadorOutbox;
+import dev.andie.userapi.outbox.RelayOutbox;
+import dev.andie.userapi.repository.OutboxRepository;
+import dev.andie.userapi.sharding.EstrategiaShard;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Outbox transacional dos eventos de usuário ({@code app.outbox.habilitado}):
+ * gravação junto com a alteração e envio assíncrono pelo relay para o destino
+ * de {@code app.outbox.destino}.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.outbox.habilitado", havingValue = "true")
+public class OutboxConfig {
+
+    @Bean
+    public GravadorOutbox gravadorOutbox(OutboxRepository repository, ObjectMapper objectMapper) {
+        return new GravadorOutbox(repository, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.outbox.destino", havingValue = "arquivo", matchIfMissing = true)
+    public DestinoArquivo destinoArquivo(@Value("${app.outbox.arquivo:outbox/eventos.jsonl}") Path arquivo,
+                                         ObjectMapper objectMapper) {
+        return new DestinoArquivo(arquivo, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.outbox.destino", havingValue = "memoria")
+    public DestinoMemoria destinoMemoria() {
+        return new DestinoMemoria();
+    }
+
+    @Bean
+    public RelayOutbox relayOutbox(OutboxRepository repository, DestinoEventos destino,
+                                   PlatformTransactionManager transactionManager, MeterRegistry registry,
+                                   ObjectProvider<EstrategiaShard> sharding,
+                                   @Value("${app.outbox.lote:100}") int lote,
+                                   @Value("${app.outbox.retencao:P1D}") Duration retencao) {
+        EstrategiaShard estrategia = sharding.getIfAvailable();
+        return new RelayOutbox(repository, destino, new TransactionTemplate(transactionManager), registry,
+                lote, retencao, estrategia == null ? 1 : estrategia.shards());
+    }
+}
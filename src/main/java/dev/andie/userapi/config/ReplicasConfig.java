@@ -0,0 +1,97 @@
+package dev.andie.userapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dev.andie.userapi.datasource.ClienteRequisicaoFilter;
+import dev.andie.userapi.datasource.ConjuntoReplicas;
+import dev.andie.userapi.datasource.LeituraPropria;
+import dev.andie.userapi.datasource.Replica;
+import dev.andie.userapi.datasource.RoteamentoDataSource;
+import dev.andie.userapi.datasource.RoteamentoTransactionManager;
+import dev.andie.userapi.datasource.SelecaoReplica;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de leitura ({@code app.datasource.replicas.habilitado}). O primário usa
+ * as propriedades {@code spring.datasource.*}; cada réplica tem o próprio pool com
+ * as mesmas credenciais e a URL de {@code app.datasource.replicas.urls}.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.datasource.replicas.habilitado", havingValue = "true")
+public class ReplicasConfig {
+
+    @Bean
+    public ConjuntoReplicas conjuntoReplicas(DataSourceProperties propriedades,
+                                             @Value("${app.datasource.replicas.urls}") List<String> urls,
+                                             @Value("${app.datasource.replicas.selecao:round-robin}") SelecaoReplica selecao,
+                                             @Value("${spring.datasource.hikari.allow-pool-suspension:false}") boolean suspensao) {
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String nome = "replica-" + i;
+            HikariDataSource pool = propriedades.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i))
+                    .build();
+            pool.setPoolName(nome);
+            pool.setReadOnly(true);
+            pool.setAllowPoolSuspension(suspensao);
+            replicas.add(new Replica(nome, pool));
+        }
+        return new ConjuntoReplicas(replicas, selecao);
+    }
+
+    @Bean
+    public LeituraPropria leituraPropria(
+            @Value("${app.datasource.replicas.janela-leitura-propria:2s}") Duration janela) {
+        return new LeituraPropria(janela);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties propriedades, ConjuntoReplicas replicas,
+                                 LeituraPropria leituraPropria, MeterRegistry registry,
+                                 @Value("${spring.datasource.hikari.allow-pool-suspension:false}") boolean suspensao) {
+        HikariDataSource primario = propriedades.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primario.setPoolName("primario");
+        primario.setAllowPoolSuspension(suspensao);
+        return new RoteamentoDataSource(primario, replicas, leituraPropria, registry);
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(
+            ObjectProvider<TransactionManagerCustomizers> customizers) {
+        RoteamentoTransactionManager transactionManager = new RoteamentoTransactionManager();
+        // A sobrecarga com PlatformTransactionManager está depreciada
+        customizers.ifAvailable(c -> c.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ClienteRequisicaoFilter> clienteRequisicaoFilter() {
+        FilterRegistrationBean<ClienteRequisicaoFilter> registro =
+                new FilterRegistrationBean<>(new ClienteRequisicaoFilter());
+        registro.addUrlPatterns("/api/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registro;
+    }
+}
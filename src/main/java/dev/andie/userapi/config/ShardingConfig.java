@@ -0,0 +1,152 @@
+package dev.andie.userapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dev.andie.userapi.sharding.EstrategiaShard;
+import dev.andie.userapi.sharding.InicializadorShards;
+import dev.andie.userapi.id.GeradorIds;
+import dev.andie.userapi.id.Snowflake;
+import dev.andie.userapi.model.Usuario;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.service.ParticaoUsuarios;
+import dev.andie.userapi.sharding.ParticaoShard;
+import dev.andie.userapi.sharding.RoteamentoShardInterceptor;
+import dev.andie.userapi.sharding.ShardDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Usuários distribuídos por hash em vários bancos ({@code app.sharding.habilitado}),
+ * um por URL de {@code app.sharding.urls}, com as credenciais de {@code spring.datasource.*}.
+ *
+ * O roteamento acontece no primeiro comando de cada transação, então a conexão
+ * não pode ser obtida no begin: o pool fica sem auto-commit e o Hibernate e o
+ * JpaDialect são configurados para não tocar na conexão antes disso.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.habilitado", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public EstrategiaShard estrategiaShard(@Value("${app.sharding.urls}") List<String> urls) {
+        return new EstrategiaShard(urls.size());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties propriedades, @Value("${app.sharding.urls}") List<String> urls,
+                                 @Value("${spring.datasource.hikari.allow-pool-suspension:false}") boolean suspensao) {
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = propriedades.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i))
+                    .build();
+            pool.setPoolName("shard-" + i);
+            pool.setAutoCommit(false);
+            pool.setAllowPoolSuspension(suspensao);
+            shards.add(pool);
+        }
+        return new ShardDataSource(shards);
+    }
+
+    /**
+     * Um Snowflake por shard, com nó {@code app.id.no * shards + shard}: o id do
+     * usuário aponta para o shard do seu email.
+     */
+    @Bean
+    @Primary
+    public GeradorIds geradorIdsPorShard(EstrategiaShard estrategia, @Value("${app.id.no:0}") int instancia) {
+        Snowflake[] porShard = new Snowflake[estrategia.shards()];
+        for (int shard = 0; shard < porShard.length; shard++) {
+            porShard[shard] = new Snowflake(estrategia.no(instancia, shard));
+        }
+        return entidade -> porShard[estrategia.porEmail(((Usuario) entidade).getEmail())].proximo();
+    }
+
+    @Bean
+    @Primary
+    public ParticaoUsuarios particaoShard(EstrategiaShard estrategia, UsuarioRepository repository,
+                                          PlatformTransactionManager transactionManager) {
+        return new ParticaoShard(estrategia, repository, transactionManager);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer conexaoNoPrimeiroComando() {
+        return propriedades -> propriedades.put(AvailableSettings.CONNECTION_PROVIDER_DISABLES_AUTOCOMMIT, true);
+    }
+
+    /**
+     * Mesmo adaptador do Spring Boot, sem preparar a conexão no begin (o que a
+     * obteria antes de o shard ser conhecido).
+     */
+    @Bean
+    public JpaVendorAdapter jpaVendorAdapter(JpaProperties propriedades) {
+        HibernateJpaVendorAdapter adapter = new HibernateJpaVendorAdapter();
+        adapter.setShowSql(propriedades.isShowSql());
+        if (propriedades.getDatabase() != null) {
+            adapter.setDatabase(propriedades.getDatabase());
+        }
+        if (propriedades.getDatabasePlatform() != null) {
+            adapter.setDatabasePlatform(propriedades.getDatabasePlatform());
+        }
+        adapter.setGenerateDdl(propriedades.isGenerateDdl());
+        adapter.setPrepareConnection(false);
+        return adapter;
+    }
+
+    @Bean
+    public RoteamentoShardInterceptor roteamentoShardInterceptor(
+            EstrategiaShard estrategia,
+            ObjectProvider<PlatformTransactionManager> transactionManager,
+            @Value("${app.sharding.threads:0}") int threads) {
+        return new RoteamentoShardInterceptor(estrategia, transactionManager,
+                threads > 0 ? threads : 2 * estrategia.shards());
+    }
+
+    /**
+     * Coloca o interceptor à frente dos advices do proxy do UsuarioRepository,
+     * depois de conferir que todos os métodos do repositório podem ser roteados.
+     * Um @Aspect não serve: os métodos herdados (findById, save...) são casados
+     * contra o SimpleJpaRepository, que não implementa a interface.
+     */
+    @Bean
+    public static BeanPostProcessor roteamentoShardRepositorio(
+            ObjectProvider<RoteamentoShardInterceptor> interceptor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof UsuarioRepository && bean instanceof Advised proxy) {
+                    RoteamentoShardInterceptor.validar(UsuarioRepository.class);
+                    proxy.addAdvice(0, interceptor.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${spring.jpa.hibernate.ddl-auto:none}'.startsWith('create')")
+    public InicializadorShards inicializadorShards(EntityManagerFactory entityManagerFactory,
+                                                   EstrategiaShard estrategia) {
+        return new InicializadorShards(entityManagerFactory, estrategia);
+    }
+}
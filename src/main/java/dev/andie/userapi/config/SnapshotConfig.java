@@ -0,0 +1,32 @@
+package dev.andie.userapi.config;
+
+import dev.andie.userapi.sharding.EstrategiaShard;
+import dev.andie.userapi.snapshot.SnapshotUsuarios;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Path;
+
+/**
+ * Snapshot da tabela usuarios em disco ({@code app.snapshot.habilitado}): gravado
+ * periodicamente e no encerramento, restaurado antes de a aplicação ficar pronta.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.snapshot.habilitado", havingValue = "true")
+public class SnapshotConfig {
+
+    @Bean
+    public SnapshotUsuarios snapshotUsuarios(JdbcTemplate jdbc, ObjectProvider<EstrategiaShard> sharding,
+                                             MeterRegistry registry,
+                                             @Value("${app.snapshot.arquivo:snapshot/usuarios.snap}") Path arquivo,
+                                             @Value("${app.snapshot.lote:10000}") int lote) {
+        return new SnapshotUsuarios(jdbc, arquivo, sharding.getIfAvailable(), lote, registry);
+    }
+}
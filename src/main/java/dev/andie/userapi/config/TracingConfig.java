@@ -0,0 +1,33 @@
+package dev.andie.userapi.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.nio.file.Path;
+
+/**
+ * Spans por método anotado com {@code @Observed} (controller e serviço).
+ *
+ * Os spans HTTP e JDBC vêm da auto-configuração do Spring Boot e do
+ * datasource-micrometer. A exportação é OTLP quando
+ * {@code management.otlp.tracing.endpoint} está definido, e/ou para arquivo
+ * local quando {@code app.tracing.arquivo} está definido.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty("app.tracing.arquivo")
+    public ArquivoSpanExporter arquivoSpanExporter(Environment environment) {
+        return new ArquivoSpanExporter(Path.of(environment.getRequiredProperty("app.tracing.arquivo")));
+    }
+}
@@ -0,0 +1,51 @@
+package dev.andie.userapi.controller;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import dev.andie.userapi.dto.CampoUsuario;
+import dev.andie.userapi.dto.UsuarioDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Serializa respostas com {@code fields=}: um ObjectWriter pronto por conjunto de
+ * campos, criado na inicialização sobre uma cópia do ObjectMapper da aplicação
+ * em que o {@link UsuarioDTO} tem filtro de propriedades. Os serializers ficam em
+ * cache no ObjectMapper copiado, então a requisição só escolhe o writer pelo
+ * conjunto pedido. O ObjectMapper da aplicação não é alterado.
+ */
+@Component
+public class EscritorCampos {
+
+    static final String FILTRO = "camposUsuario";
+
+    private final ObjectWriter[] escritores = new ObjectWriter[1 << CampoUsuario.values().length];
+
+    public EscritorCampos(ObjectMapper objectMapper) {
+        ObjectMapper filtrado = objectMapper.copy().addMixIn(UsuarioDTO.class, ComFiltro.class);
+        for (int mascara = 0; mascara < escritores.length; mascara++) {
+            Set<String> propriedades = new HashSet<>();
+            for (CampoUsuario campo : CampoUsuario.values()) {
+                if ((mascara & 1 << campo.ordinal()) != 0) {
+                    propriedades.add(campo.propriedade());
+                }
+            }
+            escritores[mascara] = filtrado.writer(new SimpleFilterProvider()
+                    .addFilter(FILTRO, SimpleBeanPropertyFilter.filterOutAllExcept(propriedades)));
+        }
+    }
+
+    public byte[] escrever(Object valor, Set<CampoUsuario> campos) throws JsonProcessingException {
+        return escritores[CampoUsuario.mascara(campos)].writeValueAsBytes(valor);
+    }
+
+    @JsonFilter(FILTRO)
+    private interface ComFiltro {
+    }
+}
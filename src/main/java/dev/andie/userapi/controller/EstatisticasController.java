@@ -0,0 +1,22 @@
+package dev.andie.userapi.controller;
+
+import dev.andie.userapi.dto.EstatisticasDTO;
+import dev.andie.userapi.service.EstatisticasService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/usuarios/stats")
+@RequiredArgsConstructor
+public class EstatisticasController {
+
+    private final EstatisticasService service;
+
+    @GetMapping
+    public ResponseEntity<EstatisticasDTO> obterEstatisticas() {
+        return ResponseEntity.ok(service.obterEstatisticas());
+    }
+}
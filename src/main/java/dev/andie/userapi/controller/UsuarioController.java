@@ -1,34 +1,159 @@
 package dev.andie.userapi.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import dev.andie.userapi.dto.CampoUsuario;
+import dev.andie.userapi.dto.PaginaCursorDTO;
 import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.exception.ValidationException;
 import dev.andie.userapi.service.UsuarioService;
+import dev.andie.userapi.validation.ValidadorUsuario;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.*;
+import org.springframework.util.MultiValueMap;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Set;
+
 @RestController
 @RequestMapping("/api/usuarios")
 @RequiredArgsConstructor
+@Observed(name = "usuarios.controller")
 public class UsuarioController {
 
+    static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    // Campos aceitos em sort=, cada um com um índice na mesma ordem (ver Usuario)
+    static final Set<String> ORDENAVEIS = Set.of("id", "nome", "email", "dataCriacao");
+
     private final UsuarioService service;
+    private final ValidadorUsuario validador;
+    private final EscritorCampos escritorCampos;
+
+    /**
+     * O corpo de POST/PUT/PATCH é validado pelo {@link ValidadorUsuario} em vez do
+     * Bean Validation; os erros seguem como MethodArgumentNotValidException.
+     */
+    @InitBinder("usuarioDTO")
+    public void configurarValidacao(WebDataBinder binder) {
+        binder.setValidator(validador);
+    }
 
     @GetMapping
     public ResponseEntity<Page<UsuarioDTO>> listarTodos(
             @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
-        Page<UsuarioDTO> usuarios = service.listarTodos(pageable);
+        Page<UsuarioDTO> usuarios = service.listarTodos(ordenacaoIndexada(pageable));
+        return ResponseEntity.ok(usuarios);
+    }
+
+    /**
+     * Sparse fieldset: {@code fields=id,nome} lê do banco e devolve só esses campos
+     * de cada usuário (os metadados da página continuam completos).
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<byte[]> listarCampos(
+            @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable,
+            @RequestParam("fields") String fields) throws JsonProcessingException {
+        Set<CampoUsuario> campos = CampoUsuario.lista(fields);
+        Page<UsuarioDTO> usuarios = service.listarTodos(ordenacaoIndexada(pageable), campos);
+        return json(usuarios, campos);
+    }
+
+    /**
+     * Aceita só ordenações que o banco resolve percorrendo um índice: um campo de
+     * {@link #ORDENAVEIS}, opcionalmente seguido de {@code id} na mesma direção.
+     * Campos sem unicidade ganham o id como desempate, na direção do campo, para
+     * casar com o índice composto e deixar a ordem das páginas estável.
+     */
+    static Pageable ordenacaoIndexada(Pageable pageable) {
+        Iterator<Sort.Order> ordens = pageable.getSort().iterator();
+        if (!ordens.hasNext()) {
+            return pageable;
+        }
+        Sort.Order principal = validarOrdem(ordens.next());
+        if (ordens.hasNext()) {
+            Sort.Order desempate = validarOrdem(ordens.next());
+            if (!desempate.getProperty().equals("id") || desempate.getDirection() != principal.getDirection()
+                    || ordens.hasNext()) {
+                throw new ValidationException("sort aceita um campo, opcionalmente seguido de id na mesma direção");
+            }
+        }
+        if (principal.getProperty().equals("id") || principal.getProperty().equals("email")) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by(principal, new Sort.Order(principal.getDirection(), "id")));
+    }
+
+    private static Sort.Order validarOrdem(Sort.Order ordem) {
+        if (!ORDENAVEIS.contains(ordem.getProperty()) || ordem.isIgnoreCase()) {
+            throw new ValidationException("sort não suportado: " + ordem.getProperty()
+                    + " (use id, nome, email ou dataCriacao)");
+        }
+        return ordem;
+    }
+
+    /**
+     * Usuários criados em [createdFrom, createdTo), em ordem de criação.
+     * Para a próxima página, repita a chamada com o {@code nextCursor} recebido.
+     * A ordem é a do cursor e a resposta traz todos os campos: {@code sort} e
+     * {@code fields} são recusados em vez de ignorados.
+     */
+    @GetMapping(params = {"createdFrom", "createdTo"})
+    public ResponseEntity<PaginaCursorDTO<UsuarioDTO>> listarPorPeriodo(
+            @RequestParam("createdFrom") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam("createdTo") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam MultiValueMap<String, String> parametros) {
+        if (parametros.containsKey("sort") || parametros.containsKey("fields")) {
+            throw new ValidationException("createdFrom e createdTo não aceitam sort nem fields");
+        }
+        PaginaCursorDTO<UsuarioDTO> usuarios = service.listarPorPeriodo(inicio, fim, cursor, size);
         return ResponseEntity.ok(usuarios);
     }
 
+    /**
+     * Só um dos limites do período: sem estas rotas a requisição cairia na
+     * listagem comum, ignorando o filtro.
+     */
+    @GetMapping(params = {"createdFrom", "!createdTo"})
+    public ResponseEntity<PaginaCursorDTO<UsuarioDTO>> listarPorPeriodoSemFim() {
+        throw periodoIncompleto();
+    }
+
+    @GetMapping(params = {"!createdFrom", "createdTo"})
+    public ResponseEntity<PaginaCursorDTO<UsuarioDTO>> listarPorPeriodoSemInicio() {
+        throw periodoIncompleto();
+    }
+
+    private static ValidationException periodoIncompleto() {
+        return new ValidationException("createdFrom e createdTo devem ser informados juntos");
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UsuarioDTO> buscarPorId(@PathVariable Long id) {
         UsuarioDTO usuario = service.buscarPorId(id);
         return ResponseEntity.ok(usuario);
     }
 
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<byte[]> buscarCamposPorId(@PathVariable Long id, @RequestParam("fields") String fields)
+            throws JsonProcessingException {
+        Set<CampoUsuario> campos = CampoUsuario.lista(fields);
+        UsuarioDTO usuario = service.buscarPorId(id, campos);
+        return json(usuario, campos);
+    }
+
     @PostMapping
     public ResponseEntity<UsuarioDTO> criar(@Valid @RequestBody UsuarioDTO dto) {
         UsuarioDTO criado = service.criar(dto);
@@ -42,9 +167,32 @@ public class UsuarioController {
         return ResponseEntity.ok(atualizado);
     }
 
+    /**
+     * JSON Merge Patch (RFC 7396): altera só os campos enviados. Como nome e email
+     * são obrigatórios, {@code null} mantém o valor atual em vez de removê-lo.
+     * Com {@code versao} no corpo, a alteração só é aplicada se o usuário ainda
+     * estiver nessa versão (senão 409). Se a troca de email mudar o id do usuário
+     * (sharding), o novo endereço vai no Location.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> atualizarParcial(@PathVariable Long id,
+                                                 @Validated(UsuarioDTO.Parcial.class) @RequestBody UsuarioDTO dto) {
+        Long atual = service.atualizarParcial(id, dto);
+        if (!id.equals(atual)) {
+            return ResponseEntity.noContent().location(URI.create("/api/usuarios/" + atual)).build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletar(@PathVariable Long id) {
         service.deletar(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<byte[]> json(Object corpo, Set<CampoUsuario> campos) throws JsonProcessingException {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(escritorCampos.escrever(corpo, campos));
+    }
+}
@@ -0,0 +1,62 @@
+package dev.andie.userapi.datasource;
+
+import org.springframework.boot.jdbc.HikariCheckpointRestoreLifecycle;
+import org.springframework.context.Lifecycle;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fecha as conexões de todos os pools Hikari por trás de um roteamento (réplicas,
+ * shards) no checkpoint do CRaC e retoma os pools no restore. O Spring Boot faz
+ * isso sozinho apenas para o pool que o DataSource principal desembrulha.
+ *
+ * Os pools só ficam suspensos durante o checkpoint com
+ * {@code spring.datasource.hikari.allow-pool-suspension=true}; sem isso as conexões
+ * são fechadas, mas o pool pode abrir novas antes da imagem ser gravada.
+ */
+public class CheckpointPools implements Lifecycle {
+
+    private final List<HikariCheckpointRestoreLifecycle> pools;
+
+    public CheckpointPools(DataSource dataSource) {
+        this.pools = destinos(dataSource).stream()
+                .map(HikariCheckpointRestoreLifecycle::new)
+                .toList();
+    }
+
+    @Override
+    public void start() {
+        pools.forEach(HikariCheckpointRestoreLifecycle::start);
+    }
+
+    @Override
+    public void stop() {
+        pools.forEach(HikariCheckpointRestoreLifecycle::stop);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return pools.stream().anyMatch(HikariCheckpointRestoreLifecycle::isRunning);
+    }
+
+    private static Collection<DataSource> destinos(DataSource dataSource) {
+        try {
+            if (!dataSource.isWrapperFor(AbstractRoutingDataSource.class)) {
+                return List.of();
+            }
+            // Por identidade: o destino padrão (primário, shard 0) também está no mapa
+            Set<DataSource> destinos = Collections.newSetFromMap(new IdentityHashMap<>());
+            destinos.addAll(dataSource.unwrap(AbstractRoutingDataSource.class).getResolvedDataSources().values());
+            return destinos;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Não foi possível obter os pools do DataSource", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package dev.andie.userapi.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Identifica o cliente da requisição para a {@link LeituraPropria}: cabeçalho
+ * {@code X-Client-Id} ou, na falta dele, o endereço de origem. A mesma
+ * identificação delimita as chaves do {@code IdempotenciaFilter}.
+ */
+public class ClienteRequisicaoFilter extends OncePerRequestFilter {
+
+    static final String CABECALHO = "X-Client-Id";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        LeituraPropria.definirCliente(cliente(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            LeituraPropria.limparCliente();
+        }
+    }
+
+    /**
+     * Cliente da requisição: {@code X-Client-Id} ou o endereço de origem.
+     */
+    public static String cliente(HttpServletRequest request) {
+        String cliente = request.getHeader(CABECALHO);
+        return cliente != null ? cliente : request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,42 @@
+package dev.andie.userapi.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Réplicas de leitura disponíveis para o {@link RoteamentoDataSource}.
+ */
+public class ConjuntoReplicas implements AutoCloseable {
+
+    private final List<Replica> replicas;
+    private final SelecaoReplica selecao;
+    private final AtomicInteger contador = new AtomicInteger();
+
+    public ConjuntoReplicas(List<Replica> replicas, SelecaoReplica selecao) {
+        this.replicas = List.copyOf(replicas);
+        this.selecao = selecao;
+    }
+
+    public List<Replica> todas() {
+        return replicas;
+    }
+
+    /**
+     * Réplica para a próxima leitura, ou {@code null} se todas estiverem fora.
+     */
+    public Replica escolher() {
+        return replicas.isEmpty() ? null : selecao.escolher(replicas, contador);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.intervalo-verificacao:PT5S}")
+    public void verificar() {
+        replicas.forEach(Replica::verificar);
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(Replica::fechar);
+    }
+}
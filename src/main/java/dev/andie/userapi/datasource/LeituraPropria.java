@@ -0,0 +1,88 @@
+package dev.andie.userapi.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Janela de leitura das próprias escritas: depois que um cliente escreve, as
+ * leituras dele vão para o primário até a janela passar, cobrindo o atraso de
+ * replicação. O cliente da requisição atual é definido pelo
+ * {@link ClienteRequisicaoFilter}; fora de requisições não há janela.
+ *
+ * {@link #noPrimario} força o primário para um trecho inteiro, independente do
+ * cliente: usado por quem vai guardar o resultado (cache), onde um valor atrasado
+ * da réplica ficaria servido até a expiração.
+ */
+public class LeituraPropria {
+
+    private static final ThreadLocal<String> CLIENTE = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARIO = new ThreadLocal<>();
+
+    private final long janelaNanos;
+    private final ConcurrentHashMap<String, Long> ultimaEscrita = new ConcurrentHashMap<>();
+
+    public LeituraPropria(Duration janela) {
+        this.janelaNanos = janela.toNanos();
+    }
+
+    public static void definirCliente(String cliente) {
+        CLIENTE.set(cliente);
+    }
+
+    public static void limparCliente() {
+        CLIENTE.remove();
+    }
+
+    /**
+     * Executa {@code leitura} com as transações somente leitura indo ao primário.
+     */
+    public static <T> T noPrimario(Supplier<T> leitura) {
+        if (PRIMARIO.get() != null) {
+            return leitura.get();
+        }
+        PRIMARIO.set(Boolean.TRUE);
+        try {
+            return leitura.get();
+        } finally {
+            PRIMARIO.remove();
+        }
+    }
+
+    void registrarEscrita() {
+        String cliente = CLIENTE.get();
+        if (cliente != null && janelaNanos > 0) {
+            ultimaEscrita.put(cliente, System.nanoTime());
+        }
+    }
+
+    boolean dentroDaJanela() {
+        if (PRIMARIO.get() != null) {
+            return true;
+        }
+        String cliente = CLIENTE.get();
+        if (cliente == null) {
+            return false;
+        }
+        Long escrita = ultimaEscrita.get(cliente);
+        if (escrita == null) {
+            return false;
+        }
+        if (System.nanoTime() - escrita < janelaNanos) {
+            return true;
+        }
+        ultimaEscrita.remove(cliente, escrita);
+        return false;
+    }
+
+    /**
+     * Remove clientes cuja janela já passou e que não voltaram a ler.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.intervalo-verificacao:PT5S}")
+    public void limparExpirados() {
+        long agora = System.nanoTime();
+        ultimaEscrita.values().removeIf(escrita -> agora - escrita >= janelaNanos);
+    }
+}
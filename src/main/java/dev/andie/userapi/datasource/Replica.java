@@ -0,0 +1,65 @@
+package dev.andie.userapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Réplica de leitura e seu estado de saúde, atualizado pela verificação periódica.
+ */
+@Slf4j
+public final class Replica {
+
+    private static final int TIMEOUT_VERIFICACAO_SEGUNDOS = 2;
+
+    private final String nome;
+    private final DataSource dataSource;
+    private volatile boolean saudavel = true;
+
+    public Replica(String nome, DataSource dataSource) {
+        this.nome = nome;
+        this.dataSource = dataSource;
+    }
+
+    public String nome() {
+        return nome;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public boolean saudavel() {
+        return saudavel;
+    }
+
+    int conexoesAtivas() {
+        if (dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+        return 0;
+    }
+
+    void verificar() {
+        boolean estava = saudavel;
+        try (Connection conexao = dataSource.getConnection()) {
+            saudavel = conexao.isValid(TIMEOUT_VERIFICACAO_SEGUNDOS);
+        } catch (SQLException e) {
+            saudavel = false;
+        }
+        if (estava != saudavel) {
+            log.warn("Réplica {} {}", nome, saudavel ? "voltou a responder" : "fora do roteamento de leituras");
+        }
+    }
+
+    void fechar() {
+        if (dataSource instanceof HikariDataSource hikari) {
+            hikari.close();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package dev.andie.userapi.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Envia transações {@code readOnly} para uma réplica e o restante para o primário.
+ *
+ * A decisão é tomada quando a conexão é obtida, no início da transação, a partir
+ * do flag publicado pelo {@link RoteamentoTransactionManager}. Acessos sem
+ * transação vão para o primário.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARIO = "primario";
+
+    private final DataSource primario;
+    private final ConjuntoReplicas replicas;
+    private final LeituraPropria leituraPropria;
+    private final Counter paraPrimario;
+    private final Counter paraReplica;
+
+    public RoteamentoDataSource(DataSource primario, ConjuntoReplicas replicas,
+                                LeituraPropria leituraPropria, MeterRegistry registry) {
+        this.primario = primario;
+        this.replicas = replicas;
+        this.leituraPropria = leituraPropria;
+        this.paraPrimario = conexoes(registry, PRIMARIO);
+        this.paraReplica = conexoes(registry, "replica");
+
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(PRIMARIO, primario);
+        replicas.todas().forEach(replica -> destinos.put(replica.nome(), replica.dataSource()));
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Boolean somenteLeitura = RoteamentoTransactionManager.somenteLeitura();
+        if (!Boolean.TRUE.equals(somenteLeitura)) {
+            if (somenteLeitura != null) {
+                leituraPropria.registrarEscrita();
+            }
+            paraPrimario.increment();
+            return PRIMARIO;
+        }
+        Replica replica = leituraPropria.dentroDaJanela() ? null : replicas.escolher();
+        if (replica == null) {
+            paraPrimario.increment();
+            return PRIMARIO;
+        }
+        paraReplica.increment();
+        return replica.nome();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (primario instanceof AutoCloseable fechavel) {
+            fechavel.close();
+        }
+    }
+
+    private static Counter conexoes(MeterRegistry registry, String destino) {
+        return Counter.builder("usuarios.datasource.conexoes")
+                .description("Conexões obtidas pelo roteamento, por destino")
+                .tag("destino", destino)
+                .register(registry);
+    }
+}
@@ -0,0 +1,44 @@
+package dev.andie.userapi.datasource;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Expõe ao {@link RoteamentoDataSource} se a transação que está obtendo a conexão
+ * é somente leitura.
+ *
+ * O flag do TransactionSynchronizationManager só é marcado depois do doBegin, quando
+ * o Hibernate já pegou a conexão; e o proxy do datasource-micrometer lê os metadados
+ * da conexão assim que ela é obtida, o que anula um LazyConnectionDataSourceProxy.
+ * Por isso a decisão é registrada aqui, antes do begin.
+ */
+public class RoteamentoTransactionManager extends JpaTransactionManager {
+
+    private static final ThreadLocal<Boolean> SOMENTE_LEITURA = new ThreadLocal<>();
+
+    /**
+     * {@code null} fora do início de uma transação (acesso sem transação).
+     */
+    static Boolean somenteLeitura() {
+        return SOMENTE_LEITURA.get();
+    }
+
+    static void definirSomenteLeitura(Boolean somenteLeitura) {
+        if (somenteLeitura == null) {
+            SOMENTE_LEITURA.remove();
+        } else {
+            SOMENTE_LEITURA.set(somenteLeitura);
+        }
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        definirSomenteLeitura(definition.isReadOnly());
+        try {
+            super.doBegin(transaction, definition);
+        } finally {
+            // A conexão já foi obtida; transações internas (REQUIRES_NEW) definem a sua
+            definirSomenteLeitura(null);
+        }
+    }
+}
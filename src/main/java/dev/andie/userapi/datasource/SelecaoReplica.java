@@ -0,0 +1,49 @@
+package dev.andie.userapi.datasource;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Estratégia de escolha entre as réplicas saudáveis
+ * ({@code app.datasource.replicas.selecao}).
+ */
+public enum SelecaoReplica {
+
+    ROUND_ROBIN {
+        @Override
+        Replica escolher(List<Replica> replicas, AtomicInteger contador) {
+            int inicio = Math.floorMod(contador.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((inicio + i) % replicas.size());
+                if (replica.saudavel()) {
+                    return replica;
+                }
+            }
+            return null;
+        }
+    },
+
+    MENOS_CONEXOES {
+        @Override
+        Replica escolher(List<Replica> replicas, AtomicInteger contador) {
+            Replica escolhida = null;
+            int menor = Integer.MAX_VALUE;
+            for (Replica replica : replicas) {
+                if (!replica.saudavel()) {
+                    continue;
+                }
+                int ativas = replica.conexoesAtivas();
+                if (ativas < menor) {
+                    escolhida = replica;
+                    menor = ativas;
+                }
+            }
+            return escolhida;
+        }
+    };
+
+    /**
+     * Retorna {@code null} quando nenhuma réplica está saudável.
+     */
+    abstract Replica escolher(List<Replica> replicas, AtomicInteger contador);
+}
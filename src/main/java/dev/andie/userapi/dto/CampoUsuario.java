@@ -0,0 +1,60 @@
+package dev.andie.userapi.dto;
+
+import dev.andie.userapi.exception.ValidationException;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Campos do {@link UsuarioDTO} que podem ser pedidos em {@code fields=}. O nome
+ * é o mesmo da propriedade no JSON e no Usuario.
+ */
+public enum CampoUsuario {
+    ID("id"), NOME("nome"), EMAIL("email"), DATA_CRIACAO("dataCriacao"), VERSAO("versao");
+
+    private final String propriedade;
+
+    CampoUsuario(String propriedade) {
+        this.propriedade = propriedade;
+    }
+
+    public String propriedade() {
+        return propriedade;
+    }
+
+    public static CampoUsuario de(String propriedade) {
+        for (CampoUsuario campo : values()) {
+            if (campo.propriedade.equals(propriedade)) {
+                return campo;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lê a lista separada por vírgulas de {@code fields=}, ex.: {@code id,nome}.
+     */
+    public static Set<CampoUsuario> lista(String campos) {
+        EnumSet<CampoUsuario> selecionados = EnumSet.noneOf(CampoUsuario.class);
+        for (String nome : campos.split(",")) {
+            CampoUsuario campo = de(nome.trim());
+            if (campo == null) {
+                throw new ValidationException("fields não suportado: " + nome.trim()
+                        + " (use id, nome, email, dataCriacao ou versao)");
+            }
+            selecionados.add(campo);
+        }
+        return selecionados;
+    }
+
+    /**
+     * Um bit por campo, na ordem da enum: índice de tabelas pré-calculadas por conjunto.
+     */
+    public static int mascara(Set<CampoUsuario> campos) {
+        int mascara = 0;
+        for (CampoUsuario campo : campos) {
+            mascara |= 1 << campo.ordinal();
+        }
+        return mascara;
+    }
+}
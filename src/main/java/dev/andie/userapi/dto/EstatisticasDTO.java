@@ -0,0 +1,19 @@
+package dev.andie.userapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasDTO {
+    private long totalUsuarios;
+
+    private Map<LocalDate, Long> cadastrosPorDia;
+
+    private Map<String, Long> usuariosPorDominio;
+}
@@ -0,0 +1,19 @@
+package dev.andie.userapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de uma consulta por keyset. {@code nextCursor} é nulo na última página.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursorDTO<T> {
+    private List<T> content;
+
+    private String nextCursor;
+}
@@ -1,26 +1,50 @@
 package dev.andie.userapi.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.groups.Default;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+/**
+ * As constraints documentam as regras; quem as aplica nos endpoints é o
+ * {@link dev.andie.userapi.validation.ValidadorUsuario}.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class UsuarioDTO {
+    /**
+     * Id Snowflake, acima de 2^53: vai no JSON como texto para clientes JavaScript
+     * não perderem precisão. Na entrada, texto e número são aceitos.
+     */
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
 
     @NotBlank(message = "Nome é obrigatório")
     private String nome;
 
     @NotBlank(message = "Email é obrigatório")
-    @Email(message = "Email deve ser válido")
+    @Email(message = "Email deve ser válido", groups = {Default.class, Parcial.class})
     private String email;
 
     private LocalDateTime dataCriacao;
 
+    /**
+     * Versão lida pelo cliente. Quando enviada no PUT/PATCH, a alteração só é
+     * aplicada se o registro ainda estiver nessa versão (senão 409).
+     */
+    private Long versao;
+
+    /**
+     * Grupo de validação do PATCH: campos ausentes são mantidos, então só o
+     * formato do que foi enviado é validado.
+     */
+    public interface Parcial {}
+
 }
@@ -0,0 +1,59 @@
+package dev.andie.userapi.event;
+
+import dev.andie.userapi.model.Usuario;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Evento publicado pelo serviço a cada alteração de usuário, e pelo arquivamento
+ * a cada usuário que sai da tabela para o arquivo morto ({@link Tipo#ARQUIVADO}).
+ * Carrega uma cópia dos dados relevantes, já que a entidade pode
+ * ser alterada ou removida depois da publicação.
+ */
+public record UsuarioEvento(Tipo tipo,
+                            Long id,
+                            String nome,
+                            String email,
+                            String emailAnterior,
+                            LocalDateTime dataCriacao) {
+
+    public enum Tipo { CRIADO, ATUALIZADO, DELETADO, ARQUIVADO }
+
+    public static UsuarioEvento criado(Usuario usuario) {
+        return new UsuarioEvento(Tipo.CRIADO, usuario.getId(), usuario.getNome(),
+                usuario.getEmail(), null, usuario.getDataCriacao());
+    }
+
+    public static UsuarioEvento atualizado(Usuario usuario, String emailAnterior) {
+        return new UsuarioEvento(Tipo.ATUALIZADO, usuario.getId(), usuario.getNome(),
+                usuario.getEmail(), emailAnterior, usuario.getDataCriacao());
+    }
+
+    public static UsuarioEvento deletado(Usuario usuario) {
+        return new UsuarioEvento(Tipo.DELETADO, usuario.getId(), usuario.getNome(),
+                usuario.getEmail(), usuario.getEmail(), usuario.getDataCriacao());
+    }
+
+    /**
+     * Saída da tabela para o arquivo morto: para quem mantém estado a partir da
+     * tabela é uma remoção, mas o usuário continua legível por id e o email
+     * continua ocupado.
+     */
+    public static UsuarioEvento arquivado(Usuario usuario) {
+        return new UsuarioEvento(Tipo.ARQUIVADO, usuario.getId(), usuario.getNome(),
+                usuario.getEmail(), usuario.getEmail(), usuario.getDataCriacao());
+    }
+
+    /**
+     * Atualização parcial sem leitura prévia: só carrega os campos alterados
+     * (os demais ficam nulos).
+     */
+    public static UsuarioEvento atualizadoParcial(Long id, String nome, String email, String emailAnterior) {
+        return new UsuarioEvento(Tipo.ATUALIZADO, id, nome, email, emailAnterior, null);
+    }
+
+    public boolean emailAlterado() {
+        return tipo == Tipo.ATUALIZADO && email != null && !Objects.equals(email, emailAnterior);
+    }
+}
@@ -0,0 +1,7 @@
+package dev.andie.userapi.exception;
+
+public class ConflictException extends ErroEsperado {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package dev.andie.userapi.exception;
+
+/**
+ * Base dos erros de fluxo normal (id inexistente, email duplicado, versão
+ * desatualizada): viram 4xx no {@link GlobalExceptionHandler} e ninguém lê o
+ * stack trace, então ele não é capturado. Capturar o trace percorre todos os
+ * frames, inclusive os dos proxies do Spring, a cada lançamento.
+ *
+ * Para depurar, {@code app.erros.rastreio=true} volta a capturá-lo.
+ */
+public abstract class ErroEsperado extends RuntimeException {
+
+    private static volatile boolean rastreio;
+
+    protected ErroEsperado(String message) {
+        super(message, null, false, rastreio);
+    }
+
+    public static void configurarRastreio(boolean habilitado) {
+        rastreio = habilitado;
+    }
+}
@@ -1,49 +1,87 @@
 package dev.andie.userapi.exception;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-
+/**
+ * Erros no formato RFC 7807 (application/problem+json). O texto do erro vai em
+ * {@code detail} e também em {@code message}, o campo das respostas anteriores.
+ * Sem {@code timestamp}: o cabeçalho {@code Date} da resposta já traz o horário.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    // Cabeçalhos iguais para todo erro: montados uma vez e só lidos
+    private static final HttpHeaders PROBLEM_JSON = cabecalhosProblema();
+
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleResourceNotFound(ResourceNotFoundException ex) {
-        ErrorResponse error = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.NOT_FOUND.value(),
-                ex.getMessage()
-        );
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    public ResponseEntity<ProblemDetail> handleResourceNotFound(ResourceNotFoundException ex) {
+        return problema(HttpStatus.NOT_FOUND, ex.getMessage());
     }
 
     @ExceptionHandler(ValidationException.class)
-    public ResponseEntity<ErrorResponse> handleValidation(ValidationException ex) {
-        ErrorResponse error = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.BAD_REQUEST.value(),
-                ex.getMessage()
-        );
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    public ResponseEntity<ProblemDetail> handleValidation(ValidationException ex) {
+        return problema(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ProblemDetail> handleConflict(ConflictException ex) {
+        return problema(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    /**
+     * Outra transação alterou o usuário entre a leitura e o flush (@Version).
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ProblemDetail> handleOptimisticLocking(ObjectOptimisticLockingFailureException ex) {
+        return problema(HttpStatus.CONFLICT, "Usuário foi alterado por outra requisição");
     }
 
+    /**
+     * Garantia final contra duplicidade: duas requisições concorrentes podem passar
+     * pela verificação prévia e só a constraint do banco barra a segunda.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ProblemDetail> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        return problema(HttpStatus.CONFLICT, "Registro conflita com dados já cadastrados");
+    }
+
+    /**
+     * Cada campo inválido vira uma propriedade do problema com a sua mensagem
+     * (ex.: {@code "email": "Email deve ser válido"}).
+     */
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, String>> handleValidationErrors(MethodArgumentNotValidException ex) {
-        Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getAllErrors().forEach(error -> {
-            String fieldName = ((FieldError) error).getField();
-            String errorMessage = error.getDefaultMessage();
-            errors.put(fieldName, errorMessage);
-        });
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+    public ResponseEntity<ProblemDetail> handleValidationErrors(MethodArgumentNotValidException ex) {
+        ResponseEntity<ProblemDetail> resposta = problema(HttpStatus.BAD_REQUEST, "Dados inválidos");
+        for (FieldError erro : ex.getBindingResult().getFieldErrors()) {
+            resposta.getBody().setProperty(erro.getField(), erro.getDefaultMessage());
+        }
+        return resposta;
     }
 
-    record ErrorResponse(LocalDateTime timestamp, int status, String message) {}
+    /**
+     * O ProblemDetail é criado por resposta: o Spring MVC preenche o {@code instance}
+     * com o caminho da requisição, então uma instância compartilhada não serve.
+     */
+    private static ResponseEntity<ProblemDetail> problema(HttpStatus status, String mensagem) {
+        ProblemDetail problema = ProblemDetail.forStatusAndDetail(status, mensagem);
+        problema.setTitle(status.getReasonPhrase());
+        problema.setProperty("message", mensagem);
+        return new ResponseEntity<>(problema, PROBLEM_JSON, status);
+    }
+
+    private static HttpHeaders cabecalhosProblema() {
+        HttpHeaders cabecalhos = new HttpHeaders();
+        cabecalhos.setContentType(MediaType.APPLICATION_PROBLEM_JSON);
+        return HttpHeaders.readOnlyHttpHeaders(cabecalhos);
+    }
 }
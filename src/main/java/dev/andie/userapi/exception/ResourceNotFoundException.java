@@ -1,6 +1,6 @@
 package dev.andie.userapi.exception;
 
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends ErroEsperado {
     public ResourceNotFoundException(String message) {
         super(message);
     }
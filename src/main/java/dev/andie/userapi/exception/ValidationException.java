@@ -1,6 +1,6 @@
 package dev.andie.userapi.exception;
 
-public class ValidationException extends RuntimeException {
+public class ValidationException extends ErroEsperado {
     public ValidationException(String message) {
         super(message);
     }
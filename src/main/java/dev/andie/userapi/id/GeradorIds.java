@@ -0,0 +1,11 @@
+package dev.andie.userapi.id;
+
+/**
+ * Fonte dos ids usados pelo {@link GeradorSnowflake}. É um bean do Spring para que
+ * o nó (e, com sharding, o shard da entidade) venha da configuração.
+ */
+@FunctionalInterface
+public interface GeradorIds {
+
+    long proximo(Object entidade);
+}
@@ -0,0 +1,45 @@
+package dev.andie.userapi.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.resource.beans.container.spi.BeanContainer;
+import org.hibernate.resource.beans.internal.FallbackBeanInstanceProducer;
+import org.hibernate.resource.beans.spi.ManagedBeanRegistry;
+
+import java.lang.reflect.Member;
+
+/**
+ * IdentifierGenerator que delega ao bean {@link GeradorIds}, obtido pelo bean
+ * container do Spring registrado no Hibernate.
+ */
+public class GeradorSnowflake implements IdentifierGenerator {
+
+    // Busca o bean já registrado no contexto, em vez de criar uma instância nova (padrão JPA)
+    private static final BeanContainer.LifecycleOptions BEAN_DO_CONTEXTO = new BeanContainer.LifecycleOptions() {
+        @Override
+        public boolean canUseCachedReferences() {
+            return true;
+        }
+
+        @Override
+        public boolean useJpaCompliantCreation() {
+            return false;
+        }
+    };
+
+    private final GeradorIds geradorIds;
+
+    public GeradorSnowflake(IdSnowflake config, Member membro, CustomIdGeneratorCreationContext contexto) {
+        this.geradorIds = contexto.getServiceRegistry()
+                .getService(ManagedBeanRegistry.class)
+                .getBeanContainer()
+                .getBean(GeradorIds.class, BEAN_DO_CONTEXTO, FallbackBeanInstanceProducer.INSTANCE)
+                .getBeanInstance();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object entidade) {
+        return geradorIds.proximo(entidade);
+    }
+}
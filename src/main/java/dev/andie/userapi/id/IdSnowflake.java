@@ -0,0 +1,17 @@
+package dev.andie.userapi.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id gerado em memória pelo {@link GeradorSnowflake}, antes do INSERT.
+ */
+@IdGeneratorType(GeradorSnowflake.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface IdSnowflake {
+}
@@ -0,0 +1,63 @@
+package dev.andie.userapi.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Ids de 64 bits ordenados no tempo: 41 bits de milissegundos desde {@link #EPOCA},
+ * 10 bits de nó e 12 bits de sequência (4096 ids por milissegundo por nó).
+ *
+ * Sem locks: o último (milissegundo, sequência) emitido fica num único AtomicLong
+ * atualizado por CAS. Quando a sequência estoura, ou o relógio volta, o gerador
+ * avança para o milissegundo seguinte em vez de esperar, então os ids de um nó
+ * são sempre crescentes e a paginação por id continua válida.
+ */
+public final class Snowflake {
+
+    public static final long EPOCA = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    public static final int MAX_NO = 1023;
+
+    private static final int BITS_SEQUENCIA = 12;
+    private static final int BITS_NO = 10;
+    private static final long MASCARA_SEQUENCIA = (1L << BITS_SEQUENCIA) - 1;
+
+    private final long no;
+    private final LongSupplier relogio;
+    // (milissegundos desde a época << BITS_SEQUENCIA) | sequência do último id
+    private final AtomicLong ultimo = new AtomicLong();
+
+    public Snowflake(int no) {
+        this(no, System::currentTimeMillis);
+    }
+
+    Snowflake(int no, LongSupplier relogio) {
+        if (no < 0 || no > MAX_NO) {
+            throw new IllegalArgumentException("Nó deve estar entre 0 e " + MAX_NO + ": " + no);
+        }
+        this.no = no;
+        this.relogio = relogio;
+    }
+
+    public long proximo() {
+        long inicioMilissegundo = (relogio.getAsLong() - EPOCA) << BITS_SEQUENCIA;
+        while (true) {
+            long anterior = ultimo.get();
+            long atual = inicioMilissegundo > anterior ? inicioMilissegundo : anterior + 1;
+            if (ultimo.compareAndSet(anterior, atual)) {
+                long milissegundos = atual >>> BITS_SEQUENCIA;
+                return (milissegundos << (BITS_NO + BITS_SEQUENCIA))
+                        | (no << BITS_SEQUENCIA)
+                        | (atual & MASCARA_SEQUENCIA);
+            }
+        }
+    }
+
+    public static int no(long id) {
+        return (int) ((id >>> BITS_SEQUENCIA) & MAX_NO);
+    }
+
+    public static Instant instante(long id) {
+        return Instant.ofEpochMilli((id >>> (BITS_NO + BITS_SEQUENCIA)) + EPOCA);
+    }
+}
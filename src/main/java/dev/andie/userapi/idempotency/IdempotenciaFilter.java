@@ -0,0 +1,304 @@
+package dev.andie.userapi.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.andie.userapi.datasource.ClienteRequisicaoFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Suporte ao cabeçalho {@code Idempotency-Key} no POST: a primeira requisição com
+ * uma chave é executada e a sua resposta guardada; as repetições com a mesma chave
+ * e o mesmo corpo recebem a resposta guardada (com {@code Idempotent-Replayed: true})
+ * sem chegar ao controller. Repetições que chegam enquanto a primeira ainda roda
+ * esperam por ela em vez de disputar o cadastro.
+ *
+ * <ul>
+ *   <li>mesma chave com outro corpo: 422;</li>
+ *   <li>primeira ainda em andamento após {@code espera}: 409, o cliente tenta de novo;</li>
+ *   <li>respostas 5xx não são guardadas: a chave é liberada para uma nova tentativa.</li>
+ * </ul>
+ *
+ * A chave vale por cliente, método e caminho: clientes diferentes podem usar o
+ * mesmo valor sem receber a resposta um do outro. O cliente é o usuário
+ * autenticado da requisição; sem autenticação, é o {@code X-Client-Id} ou o
+ * endereço de origem, como em {@link ClienteRequisicaoFilter}. Nesse caso o
+ * cabeçalho precisa ser definido por um proxy confiável, que descarte o valor
+ * enviado pelo cliente: quem conhece o {@code X-Client-Id} e a chave de outro
+ * cliente recebe a resposta guardada para ele.
+ *
+ * As respostas ficam em memória, limitadas em quantidade e expiradas após
+ * {@code ttl}: com várias instâncias, as repetições precisam chegar à mesma
+ * instância. Requisições em andamento ficam num mapa à parte, fora do alcance
+ * do limite, para uma repetição nunca executar o cadastro de novo.
+ */
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    static final String CABECALHO = "Idempotency-Key";
+    static final String REPETIDA = "Idempotent-Replayed";
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private final Cache<Chave, Entrada> respostas;
+    private final ConcurrentHashMap<Chave, Entrada> emAndamento = new ConcurrentHashMap<>();
+    private final Duration espera;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+
+    public IdempotenciaFilter(long capacidade, Duration ttl, Duration espera, ObjectMapper objectMapper,
+                              MeterRegistry registry) {
+        this.respostas = Caffeine.newBuilder()
+                .maximumSize(capacidade)
+                .expireAfterWrite(ttl)
+                .build();
+        this.espera = espera;
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        Gauge.builder("idempotencia.chaves", respostas, Cache::estimatedSize)
+                .description("Chaves de idempotência guardadas")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || request.getHeader(CABECALHO) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String valor = request.getHeader(CABECALHO);
+        if (valor.isBlank() || valor.length() > TAMANHO_MAXIMO_CHAVE) {
+            problema(response, HttpStatus.BAD_REQUEST,
+                    CABECALHO + " deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+            return;
+        }
+        byte[] corpo = request.getInputStream().readAllBytes();
+        byte[] impressao = impressao(request.getRequestURI(), corpo);
+        Chave chave = new Chave(cliente(request), request.getMethod(),
+                request.getRequestURI(), valor);
+
+        while (true) {
+            Entrada existente = respostas.getIfPresent(chave);
+            if (existente == null) {
+                Entrada nova = new Entrada(impressao, new CompletableFuture<>());
+                existente = emAndamento.putIfAbsent(chave, nova);
+                if (existente == null) {
+                    // A anterior pode ter terminado entre a consulta e o registro
+                    Entrada concluida = respostas.getIfPresent(chave);
+                    if (concluida == null) {
+                        contar("executada");
+                        executar(new RequisicaoComCorpo(request, corpo), response, chain, chave, nova);
+                        return;
+                    }
+                    emAndamento.remove(chave, nova);
+                    nova.resposta().complete(null);
+                    existente = concluida;
+                }
+            }
+            if (!MessageDigest.isEqual(existente.impressao(), impressao)) {
+                contar("divergente");
+                problema(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        CABECALHO + " já usada com outra requisição");
+                return;
+            }
+            RespostaGravada gravada;
+            try {
+                gravada = existente.resposta().get(espera.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                contar("em_andamento");
+                problema(response, HttpStatus.CONFLICT,
+                        "Requisição com a mesma " + CABECALHO + " ainda em andamento");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            } catch (ExecutionException e) {
+                throw new ServletException(e.getCause());
+            }
+            // Sem resposta guardada (a primeira falhou): disputa a chave de novo
+            if (gravada != null) {
+                contar("repetida");
+                gravada.escrever(response);
+                return;
+            }
+        }
+    }
+
+    private void executar(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                          Chave chave, Entrada entrada) throws ServletException, IOException {
+        ContentCachingResponseWrapper resposta = new ContentCachingResponseWrapper(response);
+        RespostaGravada gravada = null;
+        try {
+            chain.doFilter(request, resposta);
+            if (resposta.getStatus() < 500) {
+                gravada = RespostaGravada.de(resposta);
+            }
+        } finally {
+            // Guardada antes de sair do mapa em andamento: a chave nunca fica sem nenhum dos dois
+            if (gravada != null) {
+                respostas.put(chave, entrada);
+            }
+            emAndamento.remove(chave, entrada);
+            entrada.resposta().complete(gravada);
+            resposta.copyBodyToResponse();
+        }
+    }
+
+    private void problema(HttpServletResponse response, HttpStatus status, String mensagem) throws IOException {
+        ProblemDetail problema = ProblemDetail.forStatusAndDetail(status, mensagem);
+        problema.setTitle(status.getReasonPhrase());
+        problema.setProperty("message", mensagem);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problema);
+    }
+
+    private static String cliente(HttpServletRequest request) {
+        Principal usuario = request.getUserPrincipal();
+        return usuario != null ? "usuario:" + usuario.getName() : ClienteRequisicaoFilter.cliente(request);
+    }
+
+    private void contar(String resultado) {
+        Counter.builder("idempotencia.requisicoes")
+                .description("Requisições com Idempotency-Key por resultado")
+                .tag("resultado", resultado)
+                .register(registry)
+                .increment();
+    }
+
+    private static byte[] impressao(String caminho, byte[] corpo) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(caminho.getBytes(StandardCharsets.UTF_8));
+            return sha256.digest(corpo);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Chave(String cliente, String metodo, String caminho, String valor) {
+    }
+
+    private record Entrada(byte[] impressao, CompletableFuture<RespostaGravada> resposta) {
+    }
+
+    /**
+     * Status, cabeçalhos e corpo de uma resposta já enviada.
+     */
+    record RespostaGravada(int status, Map<String, List<String>> cabecalhos, byte[] corpo) {
+
+        static RespostaGravada de(ContentCachingResponseWrapper resposta) {
+            Map<String, List<String>> cabecalhos = new LinkedHashMap<>();
+            for (String nome : resposta.getHeaderNames()) {
+                cabecalhos.put(nome, List.copyOf(resposta.getHeaders(nome)));
+            }
+            if (resposta.getContentType() != null) {
+                cabecalhos.put("Content-Type", List.of(resposta.getContentType()));
+            }
+            return new RespostaGravada(resposta.getStatus(), cabecalhos, resposta.getContentAsByteArray());
+        }
+
+        void escrever(HttpServletResponse response) throws IOException {
+            response.setStatus(status);
+            cabecalhos.forEach((nome, valores) -> valores.forEach(valor -> response.addHeader(nome, valor)));
+            response.setHeader(REPETIDA, "true");
+            response.setContentLength(corpo.length);
+            response.getOutputStream().write(corpo);
+        }
+    }
+
+    /**
+     * Requisição com o corpo já lido, para o controller lê-lo de novo.
+     */
+    private static final class RequisicaoComCorpo extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        RequisicaoComCorpo(HttpServletRequest request, byte[] corpo) {
+            super(request);
+            this.corpo = corpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * O corpo já está todo em memória: os dados estão disponíveis de
+                 * imediato e a leitura termina sem bloquear.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String codificacao = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    codificacao != null ? Charset.forName(codificacao) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package dev.andie.userapi.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Evento de usuário aguardando envio aos sistemas externos. Gravado na mesma
+ * transação da alteração em {@code usuarios} e marcado como enviado pelo relay.
+ */
+// Sem índice em enviado_em: no H2, o SKIP LOCKED por um índice secundário para na
+// primeira linha bloqueada e não devolve nada. A reserva percorre a chave primária,
+// e a retenção mantém a tabela pequena.
+@Entity
+@Table(name = "outbox_usuarios")
+@Data
+@NoArgsConstructor
+public class EventoOutbox {
+
+    // Sequencial por banco: define a ordem de envio
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 20)
+    private String tipo;
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(name = "criado_em", nullable = false, updatable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "enviado_em")
+    private LocalDateTime enviadoEm;
+
+    public EventoOutbox(String tipo, Long usuarioId, String payload) {
+        this.tipo = tipo;
+        this.usuarioId = usuarioId;
+        this.payload = payload;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        criadoEm = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
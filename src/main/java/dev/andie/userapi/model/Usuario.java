@@ -1,23 +1,36 @@
 package dev.andie.userapi.model;
 
+import dev.andie.userapi.id.IdSnowflake;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "usuarios")
+// Um índice por ordenação aceita na listagem (UsuarioController.ORDENAVEIS)
+@Table(name = "usuarios", indexes = {
+        @Index(name = "idx_usuarios_data_criacao_id", columnList = "data_criacao, id"),
+        @Index(name = "idx_usuarios_nome_id", columnList = "nome, id"),
+        @Index(name = "idx_usuarios_email", columnList = "email", unique = true)
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuarios")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Usuario {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdSnowflake
     private Long id;
 
     @NotBlank(message = "Nome é obrigatório")
@@ -26,14 +39,20 @@ public class Usuario {
 
     @NotBlank(message = "Email é obrigatório")
     @Email(message = "Email deve ser válido")
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @Column(name = "data_criacao", nullable = false, updatable = false)
     private LocalDateTime dataCriacao;
 
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     @PrePersist
     protected void onCreate() {
-        dataCriacao = LocalDateTime.now();
+        // Já preenchida quando o usuário é regravado em outro shard (ParticaoShard). Mesma
+        // precisão da coluna, para o valor em memória (e no cache) coincidir com o gravado
+        dataCriacao = (dataCriacao != null ? dataCriacao : LocalDateTime.now()).truncatedTo(ChronoUnit.MICROS);
     }
 }
\ No newline at end of file
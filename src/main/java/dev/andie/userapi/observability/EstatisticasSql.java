@@ -0,0 +1,115 @@
+package dev.andie.userapi.observability;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Acumula os comandos SQL executados pela thread corrente dentro de uma
+ * unidade de trabalho (uma requisição HTTP ou um bloco medido em teste).
+ * Tarefas que a unidade dispara em outras threads entram na mesma contagem
+ * por {@link #propagar(Callable)}.
+ */
+public final class EstatisticasSql {
+
+    private static final ThreadLocal<EstatisticasSql> ATUAL = new ThreadLocal<>();
+
+    private final List<String> comandosExecutados;
+    private int comandos;
+    private long tempoNanos;
+    private long linhas;
+    private long inicioComando;
+
+    private EstatisticasSql(boolean guardarComandos) {
+        this.comandosExecutados = guardarComandos ? new ArrayList<>() : null;
+    }
+
+    public static EstatisticasSql iniciar() {
+        return iniciar(false);
+    }
+
+    /**
+     * @param guardarComandos guarda o texto de cada SQL (útil para mensagens de teste)
+     */
+    public static EstatisticasSql iniciar(boolean guardarComandos) {
+        EstatisticasSql estatisticas = new EstatisticasSql(guardarComandos);
+        ATUAL.set(estatisticas);
+        return estatisticas;
+    }
+
+    public static EstatisticasSql atual() {
+        return ATUAL.get();
+    }
+
+    public static void encerrar() {
+        ATUAL.remove();
+    }
+
+    /**
+     * Envolve uma tarefa que vai rodar em outra thread para que os comandos dela
+     * contem na coleta corrente desta thread. A tarefa conta numa coleta própria,
+     * somada ao terminar: várias podem rodar em paralelo sem disputar os campos.
+     * Sem coleta corrente, devolve a tarefa como está.
+     */
+    public static <T> Callable<T> propagar(Callable<T> tarefa) {
+        EstatisticasSql coleta = ATUAL.get();
+        if (coleta == null) {
+            return tarefa;
+        }
+        return () -> {
+            EstatisticasSql parcial = new EstatisticasSql(coleta.comandosExecutados != null);
+            ATUAL.set(parcial);
+            try {
+                return tarefa.call();
+            } finally {
+                ATUAL.remove();
+                coleta.somar(parcial);
+            }
+        };
+    }
+
+    private synchronized void somar(EstatisticasSql parcial) {
+        comandos += parcial.comandos;
+        tempoNanos += parcial.tempoNanos;
+        linhas += parcial.linhas;
+        if (comandosExecutados != null) {
+            comandosExecutados.addAll(parcial.comandosExecutados);
+        }
+    }
+
+    void antesDoComando() {
+        inicioComando = System.nanoTime();
+    }
+
+    void depoisDoComando(List<String> sql) {
+        tempoNanos += System.nanoTime() - inicioComando;
+        comandos += sql.size();
+        if (comandosExecutados != null) {
+            comandosExecutados.addAll(sql);
+        }
+    }
+
+    void linhaLida() {
+        linhas++;
+    }
+
+    public int getComandos() {
+        return comandos;
+    }
+
+    public long getTempoNanos() {
+        return tempoNanos;
+    }
+
+    public double getTempoMillis() {
+        return tempoNanos / 1_000_000.0;
+    }
+
+    public long getLinhas() {
+        return linhas;
+    }
+
+    public List<String> getComandosExecutados() {
+        return comandosExecutados == null ? List.of() : List.copyOf(comandosExecutados);
+    }
+}
@@ -0,0 +1,148 @@
+package dev.andie.userapi.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o SQL executado por requisição: quantidade de comandos, tempo total de
+ * JDBC e linhas lidas. Publica métricas por rota, avisa quando o orçamento de
+ * comandos ou de tempo é estourado e devolve o tempo de banco no cabeçalho
+ * {@code Server-Timing}.
+ */
+@Slf4j
+public class EstatisticasSqlFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final MeterRegistry registry;
+    private final int orcamentoComandos;
+    private final Duration orcamentoTempo;
+
+    public EstatisticasSqlFilter(MeterRegistry registry, int orcamentoComandos, Duration orcamentoTempo) {
+        this.registry = registry;
+        this.orcamentoComandos = orcamentoComandos;
+        this.orcamentoTempo = orcamentoTempo;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EstatisticasSql estatisticas = EstatisticasSql.iniciar();
+        RespostaComServerTiming resposta = new RespostaComServerTiming(response, estatisticas);
+        try {
+            chain.doFilter(request, resposta);
+            // Respostas sem corpo (ex.: 204) ainda não foram confirmadas aqui
+            resposta.adicionarServerTiming();
+        } finally {
+            EstatisticasSql.encerrar();
+            registrar(request, estatisticas);
+        }
+    }
+
+    private void registrar(HttpServletRequest request, EstatisticasSql estatisticas) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = padrao != null ? padrao.toString() : "UNKNOWN";
+        String metodo = request.getMethod();
+
+        DistributionSummary.builder("http.server.requests.sql.comandos")
+                .description("Comandos SQL por requisição")
+                .tags("method", metodo, "uri", uri)
+                .register(registry)
+                .record(estatisticas.getComandos());
+        Timer.builder("http.server.requests.sql.tempo")
+                .description("Tempo de JDBC por requisição")
+                .tags("method", metodo, "uri", uri)
+                .register(registry)
+                .record(estatisticas.getTempoNanos(), TimeUnit.NANOSECONDS);
+
+        boolean excedeuComandos = estatisticas.getComandos() > orcamentoComandos;
+        boolean excedeuTempo = estatisticas.getTempoNanos() > orcamentoTempo.toNanos();
+        if (excedeuComandos || excedeuTempo) {
+            Counter.builder("http.server.requests.sql.orcamento.excedido")
+                    .description("Requisições acima do orçamento de SQL")
+                    .tags("method", metodo, "uri", uri)
+                    .register(registry)
+                    .increment();
+            log.warn("Orçamento de SQL excedido em {} {}: {} comandos (máx. {}), {} ms de JDBC (máx. {} ms), {} linhas",
+                    metodo, uri, estatisticas.getComandos(), orcamentoComandos,
+                    String.format(Locale.ROOT, "%.3f", estatisticas.getTempoMillis()),
+                    orcamentoTempo.toMillis(), estatisticas.getLinhas());
+        }
+    }
+
+    /**
+     * Insere o Server-Timing no último momento possível: antes de o corpo
+     * começar a ser escrito, quando o trabalho de banco já terminou.
+     */
+    private static final class RespostaComServerTiming extends HttpServletResponseWrapper {
+
+        private final EstatisticasSql estatisticas;
+        private boolean adicionado;
+
+        RespostaComServerTiming(HttpServletResponse response, EstatisticasSql estatisticas) {
+            super(response);
+            this.estatisticas = estatisticas;
+        }
+
+        void adicionarServerTiming() {
+            if (!adicionado && !isCommitted()) {
+                adicionado = true;
+                setHeader(SERVER_TIMING, String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d queries, %d rows\"",
+                        estatisticas.getTempoMillis(), estatisticas.getComandos(), estatisticas.getLinhas()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            adicionarServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            adicionarServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            adicionarServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            adicionarServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            adicionarServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            adicionarServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
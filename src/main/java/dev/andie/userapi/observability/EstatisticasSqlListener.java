@@ -0,0 +1,48 @@
+package dev.andie.userapi.observability;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Listener do datasource-proxy que alimenta o {@link EstatisticasSql} da
+ * thread corrente. Sem unidade de trabalho ativa, não faz nada.
+ */
+public class EstatisticasSqlListener implements QueryExecutionListener, MethodExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        EstatisticasSql estatisticas = EstatisticasSql.atual();
+        if (estatisticas != null) {
+            estatisticas.antesDoComando();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        EstatisticasSql estatisticas = EstatisticasSql.atual();
+        if (estatisticas != null) {
+            estatisticas.depoisDoComando(queryInfoList.stream().map(QueryInfo::getQuery).toList());
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        EstatisticasSql estatisticas = EstatisticasSql.atual();
+        if (estatisticas != null
+                && executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            estatisticas.linhaLida();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package dev.andie.userapi.observability;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Relatório de onde vai o tempo de inicialização, a partir dos passos registrados
+ * pelo {@link BufferingApplicationStartup}: bean a bean, refresh do contexto,
+ * bootstrap do JPA etc. Cada passo conta só o tempo próprio (descontados os passos
+ * filhos), então a soma não repete o tempo de beans aninhados.
+ *
+ * Liga com {@code -Dapp.inicializacao.relatorio=true} ou {@code APP_INICIALIZACAO_RELATORIO=true}:
+ * o ApplicationStartup é definido antes do contexto existir, fora do alcance das
+ * properties. Com ele ligado, /actuator/startup também fica disponível.
+ */
+@Slf4j
+public class RelatorioInicializacao implements ApplicationListener<ApplicationReadyEvent> {
+
+    static final String PROPRIEDADE = "app.inicializacao.relatorio";
+    private static final int CAPACIDADE = 20_000;
+    private static final int MAIS_LENTOS = 15;
+
+    private final BufferingApplicationStartup startup;
+
+    RelatorioInicializacao(BufferingApplicationStartup startup) {
+        this.startup = startup;
+    }
+
+    public static void configurar(SpringApplication aplicacao) {
+        String valor = System.getProperty(PROPRIEDADE, System.getenv("APP_INICIALIZACAO_RELATORIO"));
+        if (Boolean.parseBoolean(valor)) {
+            BufferingApplicationStartup startup = new BufferingApplicationStartup(CAPACIDADE);
+            aplicacao.setApplicationStartup(startup);
+            aplicacao.addListeners(new RelatorioInicializacao(startup));
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent evento) {
+        log.info("Inicialização em {} ms\n{}", evento.getTimeTaken().toMillis(),
+                formatar(passos(startup.getBufferedTimeline())));
+    }
+
+    /**
+     * Tempo próprio de cada passo: a duração menos a dos filhos diretos.
+     */
+    static List<Passo> passos(StartupTimeline linhaDoTempo) {
+        List<StartupTimeline.TimelineEvent> eventos = linhaDoTempo.getEvents();
+        Map<Long, Duration> filhos = new HashMap<>();
+        for (StartupTimeline.TimelineEvent evento : eventos) {
+            Long pai = evento.getStartupStep().getParentId();
+            if (pai != null) {
+                filhos.merge(pai, evento.getDuration(), Duration::plus);
+            }
+        }
+        return eventos.stream()
+                .map(evento -> new Passo(evento.getStartupStep().getName(), descricao(evento.getStartupStep()),
+                        evento.getDuration().minus(filhos.getOrDefault(evento.getStartupStep().getId(), Duration.ZERO))))
+                .sorted(Comparator.comparing(Passo::proprio).reversed())
+                .toList();
+    }
+
+    static String formatar(List<Passo> passos) {
+        StringBuilder relatorio = new StringBuilder("Tempo próprio por tipo de passo:\n");
+        passos.stream()
+                .collect(Collectors.groupingBy(Passo::nome, Collectors.reducing(Duration.ZERO, Passo::proprio, Duration::plus)))
+                .entrySet().stream()
+                .sorted(Map.Entry.<String, Duration>comparingByValue().reversed())
+                .forEach(tipo -> relatorio.append(String.format("  %7d ms  %s%n", tipo.getValue().toMillis(), tipo.getKey())));
+        relatorio.append("Passos mais lentos:\n");
+        passos.stream().limit(MAIS_LENTOS).forEach(passo -> relatorio.append(
+                String.format("  %7d ms  %s %s%n", passo.proprio().toMillis(), passo.nome(), passo.descricao())));
+        return relatorio.toString();
+    }
+
+    private static String descricao(StartupStep passo) {
+        List<String> tags = new ArrayList<>();
+        passo.getTags().forEach(tag -> tags.add(tag.getKey() + "=" + tag.getValue()));
+        return tags.isEmpty() ? "" : tags.toString();
+    }
+
+    record Passo(String nome, String descricao, Duration proprio) {
+    }
+}
@@ -0,0 +1,52 @@
+package dev.andie.userapi.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Grava cada evento como JSON, um por linha, num arquivo local.
+ */
+public class DestinoArquivo implements DestinoEventos, AutoCloseable {
+
+    private final ObjectMapper objectMapper;
+    private final Writer writer;
+
+    public DestinoArquivo(Path arquivo, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        try {
+            if (arquivo.getParent() != null) {
+                Files.createDirectories(arquivo.getParent());
+            }
+            this.writer = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o arquivo de eventos: " + arquivo, e);
+        }
+    }
+
+    @Override
+    public synchronized void enviar(MensagemOutbox mensagem) {
+        try {
+            writer.write(objectMapper.writeValueAsString(mensagem));
+            writer.write('\n');
+            writer.flush();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Evento " + mensagem.id() + " não serializável", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o evento " + mensagem.id(), e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
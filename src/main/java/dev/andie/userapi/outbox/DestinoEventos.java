@@ -0,0 +1,11 @@
+package dev.andie.userapi.outbox;
+
+/**
+ * Para onde o relay envia os eventos do outbox. Uma exceção interrompe o lote:
+ * o evento e os seguintes ficam pendentes e são reenviados no próximo ciclo,
+ * então o destino precisa tolerar duplicatas (entrega ao menos uma vez).
+ */
+public interface DestinoEventos {
+
+    void enviar(MensagemOutbox mensagem);
+}
@@ -0,0 +1,25 @@
+package dev.andie.userapi.outbox;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Destino em memória, para rodar localmente e nos testes.
+ */
+public class DestinoMemoria implements DestinoEventos {
+
+    private final List<MensagemOutbox> recebidas = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void enviar(MensagemOutbox mensagem) {
+        recebidas.add(mensagem);
+    }
+
+    public List<MensagemOutbox> recebidas() {
+        return List.copyOf(recebidas);
+    }
+
+    public void limpar() {
+        recebidas.clear();
+    }
+}
@@ -0,0 +1,31 @@
+package dev.andie.userapi.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.andie.userapi.event.UsuarioEvento;
+import dev.andie.userapi.model.EventoOutbox;
+import dev.andie.userapi.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Grava cada evento de usuário no outbox antes do commit, na transação da
+ * alteração: ou os dois são confirmados, ou nenhum. O envio fica com o
+ * {@link RelayOutbox}, fora da requisição.
+ */
+@RequiredArgsConstructor
+public class GravadorOutbox {
+
+    private final OutboxRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void aoAlterarUsuario(UsuarioEvento evento) {
+        try {
+            repository.save(new EventoOutbox(evento.tipo().name(), evento.id(), objectMapper.writeValueAsString(evento)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Evento do usuário " + evento.id() + " não serializável", e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package dev.andie.userapi.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import dev.andie.userapi.model.EventoOutbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento entregue ao destino. O {@code id} é crescente por banco e serve para
+ * o consumidor descartar duplicatas.
+ */
+public record MensagemOutbox(Long id, String tipo, Long usuarioId, @JsonRawValue String payload,
+                             LocalDateTime criadoEm) {
+
+    static MensagemOutbox de(EventoOutbox evento) {
+        return new MensagemOutbox(evento.getId(), evento.getTipo(), evento.getUsuarioId(),
+                evento.getPayload(), evento.getCriadoEm());
+    }
+}
@@ -0,0 +1,131 @@
+package dev.andie.userapi.outbox;
+
+import dev.andie.userapi.model.EventoOutbox;
+import dev.andie.userapi.repository.OutboxRepository;
+import dev.andie.userapi.sharding.ContextoShard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Envia os eventos pendentes do outbox ao {@link DestinoEventos}, em lotes e em
+ * ordem de gravação. Cada lote é reservado com SELECT ... FOR UPDATE SKIP LOCKED,
+ * enviado e marcado como enviado na mesma transação; um ciclo repete enquanto
+ * os lotes vêm cheios. Com várias instâncias, cada uma reserva linhas diferentes,
+ * mas a ordem entre eventos do mesmo usuário só é garantida com um relay.
+ *
+ * Com sharding, cada shard tem o seu outbox e é percorrido em sequência.
+ *
+ * Métricas: {@code outbox.pendentes}, {@code outbox.atraso} (idade do pendente
+ * mais antigo, medida ao fim de cada ciclo), {@code outbox.entrega} (da gravação
+ * ao envio), {@code outbox.enviados} e {@code outbox.falhas}.
+ */
+@Slf4j
+public class RelayOutbox {
+
+    private final OutboxRepository repository;
+    private final DestinoEventos destino;
+    private final TransactionTemplate transacao;
+    private final int lote;
+    private final Duration retencao;
+    private final int shards;
+
+    private final Counter enviados;
+    private final Counter falhas;
+    private final Timer entrega;
+    private volatile long pendentes;
+    private volatile double atrasoSegundos;
+
+    public RelayOutbox(OutboxRepository repository, DestinoEventos destino, TransactionTemplate transacao,
+                       MeterRegistry registry, int lote, Duration retencao, int shards) {
+        this.repository = repository;
+        this.destino = destino;
+        this.transacao = transacao;
+        this.lote = lote;
+        this.retencao = retencao;
+        this.shards = shards;
+        this.enviados = Counter.builder("outbox.enviados")
+                .description("Eventos do outbox entregues ao destino")
+                .register(registry);
+        this.falhas = Counter.builder("outbox.falhas")
+                .description("Envios ao destino que falharam e serão repetidos")
+                .register(registry);
+        this.entrega = Timer.builder("outbox.entrega")
+                .description("Tempo entre a gravação do evento e o envio")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        Gauge.builder("outbox.pendentes", this, RelayOutbox::pendentes)
+                .description("Eventos aguardando envio")
+                .register(registry);
+        Gauge.builder("outbox.atraso", this, relay -> relay.atrasoSegundos)
+                .description("Idade do evento pendente mais antigo")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.intervalo:PT1S}")
+    public void executar() {
+        long totalPendentes = 0;
+        LocalDateTime maisAntigo = null;
+        for (int shard = 0; shard < shards; shard++) {
+            // Sem sharding o contexto de shard é ignorado pelo DataSource
+            Object[] resumo = ContextoShard.executar(shard, () -> {
+                while (enviarLote() == lote) {
+                    // lote cheio: pode haver mais pendentes
+                }
+                transacao.executeWithoutResult(status ->
+                        repository.removerEnviadosAntesDe(LocalDateTime.now().minus(retencao)));
+                return transacao.execute(status -> repository.resumirPendentes().get(0));
+            });
+            totalPendentes += (Long) resumo[0];
+            LocalDateTime criadoEm = (LocalDateTime) resumo[1];
+            if (criadoEm != null && (maisAntigo == null || criadoEm.isBefore(maisAntigo))) {
+                maisAntigo = criadoEm;
+            }
+        }
+        pendentes = totalPendentes;
+        atrasoSegundos = maisAntigo == null ? 0 : Duration.between(maisAntigo, LocalDateTime.now()).toMillis() / 1000.0;
+    }
+
+    public long pendentes() {
+        return pendentes;
+    }
+
+    /**
+     * Envia um lote e devolve quantos eventos foram entregues. Uma falha no
+     * destino encerra o lote: os já entregues são marcados, o restante fica
+     * para o próximo ciclo.
+     */
+    int enviarLote() {
+        Integer entregues = transacao.execute(status -> {
+            List<EventoOutbox> eventos = repository.reservarPendentes(lote);
+            List<Long> ids = new ArrayList<>(eventos.size());
+            for (EventoOutbox evento : eventos) {
+                try {
+                    destino.enviar(MensagemOutbox.de(evento));
+                } catch (RuntimeException e) {
+                    falhas.increment();
+                    log.warn("Falha ao enviar o evento {} do outbox; nova tentativa no próximo ciclo", evento.getId(), e);
+                    break;
+                }
+                ids.add(evento.getId());
+                entrega.record(Duration.between(evento.getCriadoEm(), LocalDateTime.now()));
+            }
+            if (!ids.isEmpty()) {
+                repository.marcarEnviados(ids, LocalDateTime.now());
+            }
+            return ids.size();
+        });
+        enviados.increment(entregues);
+        return entregues;
+    }
+}
@@ -0,0 +1,38 @@
+package dev.andie.userapi.repository;
+
+import dev.andie.userapi.model.EventoOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    /**
+     * Próximos eventos pendentes, bloqueados até o fim da transação. Linhas já
+     * bloqueadas por outro relay são puladas em vez de esperadas, então várias
+     * instâncias dividem a fila sem enviar o mesmo evento duas vezes.
+     */
+    @Query(value = "select * from outbox_usuarios where enviado_em is null order by id " +
+            "limit :limite for update skip locked", nativeQuery = true)
+    List<EventoOutbox> reservarPendentes(int limite);
+
+    @Modifying
+    @Query("update EventoOutbox e set e.enviadoEm = :enviadoEm where e.id in :ids")
+    int marcarEnviados(Collection<Long> ids, LocalDateTime enviadoEm);
+
+    /**
+     * Quantidade de pendentes e criação do mais antigo deles.
+     */
+    @Query("select count(e), min(e.criadoEm) from EventoOutbox e where e.enviadoEm is null")
+    List<Object[]> resumirPendentes();
+
+    @Modifying
+    @Query("delete from EventoOutbox e where e.enviadoEm < :limite")
+    int removerEnviadosAntesDe(LocalDateTime limite);
+}
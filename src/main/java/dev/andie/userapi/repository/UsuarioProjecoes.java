@@ -0,0 +1,26 @@
+package dev.andie.userapi.repository;
+
+import dev.andie.userapi.dto.CampoUsuario;
+import dev.andie.userapi.model.Usuario;
+import dev.andie.userapi.sharding.ChaveShard;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Consultas que leem só as colunas pedidas em {@code fields=}. Os usuários
+ * devolvidos são montados pelo construtor, fora do contexto de persistência, com
+ * os demais campos nulos: servem só para leitura.
+ */
+public interface UsuarioProjecoes {
+
+    /**
+     * Além dos campos pedidos, lê o id e os campos da ordenação, usados no merge
+     * das páginas quando há sharding.
+     */
+    Page<Usuario> listarCampos(Pageable pageable, Set<CampoUsuario> campos);
+
+    Optional<Usuario> buscarCampos(@ChaveShard Long id, Set<CampoUsuario> campos);
+}
@@ -0,0 +1,95 @@
+package dev.andie.userapi.repository;
+
+import dev.andie.userapi.dto.CampoUsuario;
+import dev.andie.userapi.exception.ValidationException;
+import dev.andie.userapi.model.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * O JPQL de cada conjunto de campos é montado uma vez; com o texto sempre igual,
+ * o Hibernate reaproveita a interpretação da consulta do seu cache de planos.
+ */
+class UsuarioProjecoesImpl implements UsuarioProjecoes {
+
+    private static final String[] SELECOES = new String[1 << CampoUsuario.values().length];
+    private static final String CONTAGEM = "select count(u) from Usuario u";
+
+    static {
+        for (int mascara = 0; mascara < SELECOES.length; mascara++) {
+            SELECOES[mascara] = selecao(mascara);
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Usuario> listarCampos(Pageable pageable, Set<CampoUsuario> campos) {
+        EnumSet<CampoUsuario> colunas = EnumSet.of(CampoUsuario.ID);
+        colunas.addAll(campos);
+        for (Sort.Order ordem : pageable.getSort()) {
+            CampoUsuario campo = CampoUsuario.de(ordem.getProperty());
+            if (campo == null) {
+                throw new ValidationException("Ordenação não suportada: " + ordem.getProperty());
+            }
+            colunas.add(campo);
+        }
+
+        String jpql = QueryUtils.applySorting(SELECOES[CampoUsuario.mascara(colunas)], pageable.getSort(), "u");
+        TypedQuery<Usuario> consulta = entityManager.createQuery(jpql, Usuario.class);
+        if (pageable.isPaged()) {
+            consulta.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            consulta.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(consulta.getResultList(), pageable,
+                () -> entityManager.createQuery(CONTAGEM, Long.class).getSingleResult());
+    }
+
+    @Override
+    public Optional<Usuario> buscarCampos(Long id, Set<CampoUsuario> campos) {
+        EnumSet<CampoUsuario> colunas = EnumSet.of(CampoUsuario.ID);
+        colunas.addAll(campos);
+        return entityManager.createQuery(SELECOES[CampoUsuario.mascara(colunas)] + " where u.id = :id", Usuario.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Ex.: {@code select new Usuario(u.id, u.nome, cast(null as String), ...) from Usuario u},
+     * na ordem do construtor do Usuario, que é a ordem da enum.
+     */
+    private static String selecao(int mascara) {
+        StringBuilder jpql = new StringBuilder("select new ").append(Usuario.class.getName()).append('(');
+        for (CampoUsuario campo : CampoUsuario.values()) {
+            if (campo.ordinal() > 0) {
+                jpql.append(", ");
+            }
+            if ((mascara & 1 << campo.ordinal()) != 0) {
+                jpql.append("u.").append(campo.propriedade());
+            } else {
+                jpql.append("cast(null as ").append(tipo(campo)).append(')');
+            }
+        }
+        return jpql.append(") from Usuario u").toString();
+    }
+
+    private static String tipo(CampoUsuario campo) {
+        return switch (campo) {
+            case ID, VERSAO -> "Long";
+            case NOME, EMAIL -> "String";
+            case DATA_CRIACAO -> "LocalDateTime";
+        };
+    }
+}
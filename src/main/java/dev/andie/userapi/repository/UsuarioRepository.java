@@ -2,16 +2,90 @@ package dev.andie.userapi.repository;
 
 
 import dev.andie.userapi.model.Usuario;
+import dev.andie.userapi.sharding.ChaveShard;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
-    Optional<Usuario> findByEmail(String email);
-    boolean existsByEmail(String email);
+public interface UsuarioRepository extends JpaRepository<Usuario, Long>, UsuarioProjecoes {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Usuario> findByEmail(@ChaveShard String email);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    boolean existsByEmail(@ChaveShard String email);
+
     Page<Usuario> findAll(Pageable pageable);
+
+    /*
+     * Atualizações parciais (PATCH) em um único comando, sem carregar a entidade,
+     * tocando só as colunas enviadas. Com {@code versao} informada, só alteram se
+     * o registro ainda estiver nela. Retornam as linhas afetadas (0 ou 1).
+     */
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Usuario u set u.nome = :nome, u.versao = u.versao + 1 " +
+            "where u.id = :id and (cast(:versao as Long) is null or u.versao = :versao)")
+    int atualizarNome(@ChaveShard Long id, Long versao, String nome);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Usuario u set u.email = :email, u.versao = u.versao + 1 " +
+            "where u.id = :id and (cast(:versao as Long) is null or u.versao = :versao)")
+    int atualizarEmail(@ChaveShard Long id, Long versao, String email);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Usuario u set u.nome = :nome, u.email = :email, u.versao = u.versao + 1 " +
+            "where u.id = :id and (cast(:versao as Long) is null or u.versao = :versao)")
+    int atualizarNomeEmail(@ChaveShard Long id, Long versao, String nome, String email);
+
+    /**
+     * Primeira página de uma janela [inicio, fim), percorrendo o índice (data_criacao, id).
+     */
+    @Query("select u from Usuario u where u.dataCriacao >= :inicio and u.dataCriacao < :fim " +
+            "order by u.dataCriacao, u.id")
+    List<Usuario> findPorPeriodo(LocalDateTime inicio, LocalDateTime fim, Limit limit);
+
+    /**
+     * Páginas seguintes: continua a partir da chave (data, id) da última linha entregue,
+     * sem OFFSET, de modo que o custo é proporcional ao tamanho da página.
+     */
+    @Query("select u from Usuario u where u.dataCriacao >= :data and u.dataCriacao < :fim " +
+            "and (u.dataCriacao > :data or u.id > :id) " +
+            "order by u.dataCriacao, u.id")
+    List<Usuario> findPorPeriodoApos(LocalDateTime data, Long id, LocalDateTime fim, Limit limit);
+
+    /**
+     * Lote de usuários criados antes do corte, bloqueados até o fim da transação
+     * do arquivamento. Percorre o índice (data_criacao, id).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from Usuario u where u.dataCriacao < :corte order by u.dataCriacao, u.id")
+    List<Usuario> findParaArquivar(LocalDateTime corte, Limit limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Usuario u where u.id in :ids")
+    int removerArquivados(Collection<Long> ids);
+
+    /**
+     * Varredura completa em streaming. Deve ser consumida dentro de uma
+     * transação e fechada ao final (try-with-resources).
+     */
+    @Query("select new dev.andie.userapi.repository.UsuarioResumo(u.id, u.email, u.dataCriacao) from Usuario u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<UsuarioResumo> streamResumos();
 }
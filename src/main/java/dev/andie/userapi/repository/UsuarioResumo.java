@@ -0,0 +1,11 @@
+package dev.andie.userapi.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção enxuta usada nas varreduras completas da tabela (carga de
+ * agregados e índices em memória). Por não ser uma entidade, não fica
+ * retida no contexto de persistência durante o stream.
+ */
+public record UsuarioResumo(Long id, String email, LocalDateTime dataCriacao) {
+}
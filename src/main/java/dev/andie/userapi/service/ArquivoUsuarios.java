@@ -0,0 +1,22 @@
+package dev.andie.userapi.service;
+
+import dev.andie.userapi.dto.UsuarioDTO;
+
+import java.util.Optional;
+
+/**
+ * Usuários antigos que saíram da tabela usuarios para o arquivo morto,
+ * consultado pelo buscarPorId quando o id não está mais na tabela. O arquivo é
+ * só de leitura: atualizar e deletar continuam valendo só para a tabela, mas o
+ * email de um arquivado continua ocupado para criar e atualizar.
+ */
+public interface ArquivoUsuarios {
+
+    ArquivoUsuarios NENHUM = id -> Optional.empty();
+
+    Optional<UsuarioDTO> buscar(Long id);
+
+    default boolean contemEmail(String email) {
+        return false;
+    }
+}
@@ -0,0 +1,8 @@
+package dev.andie.userapi.service;
+
+import dev.andie.userapi.dto.EstatisticasDTO;
+
+public interface EstatisticasService {
+
+    EstatisticasDTO obterEstatisticas();
+}
@@ -0,0 +1,25 @@
+package dev.andie.userapi.service;
+
+import java.util.OptionalLong;
+
+/**
+ * Pré-verificação de existência de email, consultada antes do existsByEmail.
+ *
+ * Uma resposta {@code false} garante que o email não está cadastrado e dispensa
+ * a ida ao banco; {@code true} apenas indica que ele pode existir e precisa ser
+ * confirmado. A constraint unique da coluna continua sendo a garantia final.
+ */
+public interface FiltroEmail {
+
+    FiltroEmail NENHUM = email -> true;
+
+    boolean podeExistir(String email);
+
+    /**
+     * Id do usuário que provavelmente tem o email, quando o filtro o conhece: o
+     * serviço confere esse usuário pela chave primária antes de buscar pelo email.
+     */
+    default OptionalLong idProvavel(String email) {
+        return OptionalLong.empty();
+    }
+}
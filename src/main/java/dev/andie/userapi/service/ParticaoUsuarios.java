@@ -0,0 +1,37 @@
+package dev.andie.userapi.service;
+
+import dev.andie.userapi.model.Usuario;
+
+/**
+ * Partição (shard) em que cada usuário é gravado. Com sharding, o usuário fica no
+ * shard do hash do email e o id carrega esse shard, então uma troca de email que
+ * cai em outro shard não pode ser um UPDATE: o usuário é gravado de novo lá, com
+ * outro id, e o serviço remove o atual.
+ */
+public interface ParticaoUsuarios {
+
+    ParticaoUsuarios UNICA = new ParticaoUsuarios() {
+        @Override
+        public boolean outraParticao(Long id, String email) {
+            return false;
+        }
+
+        @Override
+        public Usuario mover(Usuario usuario, String nome, String email) {
+            throw new UnsupportedOperationException("Partição única: não há para onde mover");
+        }
+    };
+
+    /**
+     * Se o usuário com este id precisa mudar de partição para ficar com este email.
+     */
+    boolean outraParticao(Long id, String email);
+
+    /**
+     * Grava, já confirmada na partição do email novo, a cópia do usuário com nome
+     * e email novos, e a desfaz se a transação corrente (que remove o usuário
+     * atual) não confirmar. Um email já cadastrado lá sai como
+     * DataIntegrityViolationException.
+     */
+    Usuario mover(Usuario usuario, String nome, String email);
+}
@@ -1,17 +1,38 @@
 package dev.andie.userapi.service;
 
+import dev.andie.userapi.dto.CampoUsuario;
+import dev.andie.userapi.dto.PaginaCursorDTO;
 import dev.andie.userapi.dto.UsuarioDTO;
 import org.springframework.data.domain.*;
 
+import java.time.LocalDateTime;
+import java.util.Set;
+
 public interface UsuarioService {
 
     Page<UsuarioDTO> listarTodos(Pageable pageable);
 
+    /**
+     * Como {@link #listarTodos(Pageable)}, lendo do banco só os campos pedidos
+     * (mais o id e os da ordenação); os demais ficam nulos.
+     */
+    Page<UsuarioDTO> listarTodos(Pageable pageable, Set<CampoUsuario> campos);
+
+    PaginaCursorDTO<UsuarioDTO> listarPorPeriodo(LocalDateTime inicio, LocalDateTime fim, String cursor, int tamanho);
+
     UsuarioDTO buscarPorId(Long id);
 
+    UsuarioDTO buscarPorId(Long id, Set<CampoUsuario> campos);
+
     UsuarioDTO criar(UsuarioDTO dto);
 
     UsuarioDTO atualizar(Long id, UsuarioDTO dto);
 
+    /**
+     * Devolve o id do usuário depois da alteração: com sharding, um email que cai
+     * em outro shard o regrava lá com outro id.
+     */
+    Long atualizarParcial(Long id, UsuarioDTO dto);
+
     void deletar(Long id);
 }
@@ -0,0 +1,140 @@
+package dev.andie.userapi.service.impl;
+
+import dev.andie.userapi.dto.EstatisticasDTO;
+import dev.andie.userapi.event.UsuarioEvento;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.repository.UsuarioResumo;
+import dev.andie.userapi.service.EstatisticasService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Agregado de estatísticas mantido em memória.
+ *
+ * É construído uma única vez na inicialização, com uma varredura em streaming,
+ * e depois atualizado de forma incremental pelos eventos de usuário confirmados.
+ * A leitura só percorre os contadores (dias e domínios distintos), nunca o banco.
+ *
+ * A varredura roda na partida do ciclo de vida, antes de o servidor web aceitar
+ * conexões: uma escrita confirmada durante a varredura seria contada por ela e
+ * também pelo evento. Fica depois da restauração do snapshot, que usa uma fase
+ * menor.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EstatisticasServiceImpl implements EstatisticasService, SmartLifecycle {
+
+    // Entre a restauração do snapshot (SMART_LIFECYCLE_PHASE - 2048) e o servidor web (- 1024)
+    private static final int FASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1536;
+
+    private final UsuarioRepository repository;
+
+    private final LongAdder totalUsuarios = new LongAdder();
+    private final ConcurrentHashMap<LocalDate, LongAdder> cadastrosPorDia = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> usuariosPorDominio = new ConcurrentHashMap<>();
+    private volatile boolean carregado;
+
+    /**
+     * Carrega só na primeira partida: um restore do CRaC chama start() de novo, e
+     * os contadores continuam valendo.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void start() {
+        if (!carregado) {
+            carregar();
+            carregado = true;
+        }
+    }
+
+    @Override
+    public void stop() {
+    }
+
+    @Override
+    public boolean isRunning() {
+        return carregado;
+    }
+
+    @Override
+    public int getPhase() {
+        return FASE;
+    }
+
+    @Transactional(readOnly = true)
+    public void carregar() {
+        long inicio = System.nanoTime();
+        try (Stream<UsuarioResumo> usuarios = repository.streamResumos()) {
+            usuarios.forEach(usuario -> incrementar(usuario.email(), usuario.dataCriacao(), 1));
+        }
+        log.info("Estatísticas de usuários carregadas: {} usuários em {} ms",
+                totalUsuarios.sum(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarUsuario(UsuarioEvento evento) {
+        switch (evento.tipo()) {
+            case CRIADO -> incrementar(evento.email(), evento.dataCriacao(), 1);
+            // Como na carga, que lê só a tabela: arquivados saem das contagens
+            case DELETADO, ARQUIVADO -> incrementar(evento.email(), evento.dataCriacao(), -1);
+            case ATUALIZADO -> {
+                if (evento.emailAlterado()) {
+                    contador(usuariosPorDominio, dominio(evento.emailAnterior())).decrement();
+                    contador(usuariosPorDominio, dominio(evento.email())).increment();
+                }
+            }
+        }
+    }
+
+    @Override
+    public EstatisticasDTO obterEstatisticas() {
+        return new EstatisticasDTO(
+                totalUsuarios.sum(),
+                snapshot(cadastrosPorDia),
+                snapshot(usuariosPorDominio)
+        );
+    }
+
+    private void incrementar(String email, LocalDateTime dataCriacao, long delta) {
+        totalUsuarios.add(delta);
+        if (dataCriacao != null) {
+            contador(cadastrosPorDia, dataCriacao.toLocalDate()).add(delta);
+        }
+        contador(usuariosPorDominio, dominio(email)).add(delta);
+    }
+
+    private static <K> LongAdder contador(ConcurrentHashMap<K, LongAdder> contadores, K chave) {
+        return contadores.computeIfAbsent(chave, k -> new LongAdder());
+    }
+
+    private static <K> Map<K, Long> snapshot(Map<K, LongAdder> contadores) {
+        Map<K, Long> resultado = new TreeMap<>();
+        contadores.forEach((chave, contador) -> {
+            long valor = contador.sum();
+            if (valor > 0) {
+                resultado.put(chave, valor);
+            }
+        });
+        return resultado;
+    }
+
+    static String dominio(String email) {
+        int arroba = email.lastIndexOf('@');
+        return arroba < 0 ? "" : email.substring(arroba + 1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,284 @@
+package dev.andie.userapi.service.impl;
+
+import dev.andie.userapi.event.UsuarioEvento;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.repository.UsuarioResumo;
+import dev.andie.userapi.service.FiltroEmail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Filtro de Bloom escalável sobre os emails cadastrados.
+ *
+ * Quando o filtro corrente atinge a capacidade, um novo é criado com o dobro
+ * da capacidade e metade da taxa de falso positivo, mantendo a taxa total
+ * limitada a {@code 2 * taxaFalsoPositivo}. Remoções não são suportadas por um
+ * filtro de Bloom: exclusões em massa só deixam de pesar após {@link #reconstruir()}.
+ *
+ * A primeira construção roda na partida do ciclo de vida, na fase das
+ * estatísticas: depois da restauração do snapshot e antes de o servidor web
+ * aceitar conexões.
+ */
+@Slf4j
+public class FiltroBloomEmail implements FiltroEmail, SmartLifecycle {
+
+    private static final double LN2 = Math.log(2);
+    // Mesma fase das estatísticas (EstatisticasServiceImpl)
+    private static final int FASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1536;
+
+    private final UsuarioRepository repository;
+    private final int capacidadeInicial;
+    private final double taxaFalsoPositivo;
+    private final Counter consultasEvitadas;
+    private final Counter consultasVerificadas;
+
+    private volatile Cadeia cadeia;
+    private volatile Cadeia emConstrucao;
+
+    public FiltroBloomEmail(UsuarioRepository repository, MeterRegistry registry,
+                            int capacidadeInicial, double taxaFalsoPositivo) {
+        if (capacidadeInicial < 1 || taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva e taxa de falso positivo entre 0 e 1");
+        }
+        this.repository = repository;
+        this.capacidadeInicial = capacidadeInicial;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.consultasEvitadas = Counter.builder("usuarios.email.consultas.evitadas")
+                .description("Verificações de email resolvidas sem consultar o banco")
+                .tag("filtro", "bloom")
+                .register(registry);
+        this.consultasVerificadas = Counter.builder("usuarios.email.consultas.verificadas")
+                .description("Verificações de email que precisaram ir ao banco")
+                .tag("filtro", "bloom")
+                .register(registry);
+        Gauge.builder("usuarios.email.bloom.memoria", this, FiltroBloomEmail::bytesOcupados)
+                .description("Memória ocupada pelos vetores de bits do filtro")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Constrói só na primeira partida: um restore do CRaC chama start() de novo,
+     * e o filtro continua valendo.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void start() {
+        if (cadeia == null) {
+            construir();
+        }
+    }
+
+    @Override
+    public void stop() {
+    }
+
+    @Override
+    public boolean isRunning() {
+        return cadeia != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return FASE;
+    }
+
+    /**
+     * Reconstrói o filtro a partir de uma varredura da tabela e troca de uma vez.
+     * Emails registrados durante a varredura entram nas duas cadeias. A nova
+     * cadeia é publicada antes de deixar de receber registros em paralelo (ver
+     * {@link #registrar(String)}).
+     */
+    @Transactional(readOnly = true)
+    public Resumo reconstruir() {
+        return construir();
+    }
+
+    private synchronized Resumo construir() {
+        long inicio = System.nanoTime();
+        Cadeia nova = new Cadeia();
+        emConstrucao = nova;
+        try (Stream<UsuarioResumo> usuarios = repository.streamResumos()) {
+            usuarios.forEach(usuario -> nova.adicionar(HashEmail.hash64(usuario.email())));
+            cadeia = nova;
+        } finally {
+            emConstrucao = null;
+        }
+        Resumo resumo = resumo();
+        log.info("Filtro de Bloom de emails construído: {} emails, {} filtros, {} KiB em {} ms",
+                resumo.emails(), resumo.filtros(), resumo.bytes() / 1024, (System.nanoTime() - inicio) / 1_000_000);
+        return resumo;
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarUsuario(UsuarioEvento evento) {
+        if (evento.tipo() == UsuarioEvento.Tipo.CRIADO || evento.emailAlterado()) {
+            registrar(evento.email());
+        }
+    }
+
+    /**
+     * Lê a cadeia em construção antes da corrente, na ordem inversa da troca em
+     * {@link #reconstruir()}: se já não há construção, a troca terminou e a cadeia
+     * corrente é a nova; se a construção ainda não começou, a varredura vai
+     * encontrar o email, já confirmado no banco.
+     */
+    public void registrar(String email) {
+        long hash = HashEmail.hash64(email);
+        Cadeia nova = emConstrucao;
+        Cadeia atual = cadeia;
+        if (nova != null) {
+            nova.adicionar(hash);
+        }
+        if (atual != null && atual != nova) {
+            atual.adicionar(hash);
+        }
+    }
+
+    @Override
+    public boolean podeExistir(String email) {
+        Cadeia atual = cadeia;
+        // Antes da primeira carga o filtro não sabe nada: vai ao banco
+        if (atual == null || atual.podeConter(HashEmail.hash64(email))) {
+            consultasVerificadas.increment();
+            return true;
+        }
+        consultasEvitadas.increment();
+        return false;
+    }
+
+    public long bytesOcupados() {
+        Cadeia atual = cadeia;
+        return atual == null ? 0 : atual.bytes();
+    }
+
+    public Resumo resumo() {
+        Cadeia atual = cadeia;
+        if (atual == null) {
+            return new Resumo(0, 0, 0, 0);
+        }
+        return new Resumo(atual.emails(), atual.filtros.size(), atual.bytes(), atual.taxaEstimada());
+    }
+
+    public record Resumo(long emails, int filtros, long bytes, double taxaFalsoPositivoEstimada) {}
+
+    private final class Cadeia {
+
+        private volatile List<Bloom> filtros = List.of(new Bloom(capacidadeInicial, taxaFalsoPositivo / 2));
+
+        void adicionar(long hash) {
+            Bloom ultimo = filtros.get(filtros.size() - 1);
+            if (ultimo.cheio()) {
+                ultimo = crescer(ultimo);
+            }
+            ultimo.adicionar(hash);
+        }
+
+        boolean podeConter(long hash) {
+            for (Bloom filtro : filtros) {
+                if (filtro.podeConter(hash)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private synchronized Bloom crescer(Bloom cheio) {
+            Bloom ultimo = filtros.get(filtros.size() - 1);
+            if (ultimo != cheio) {
+                return ultimo;
+            }
+            Bloom novo = new Bloom(cheio.capacidade * 2, cheio.taxa / 2);
+            List<Bloom> novos = new ArrayList<>(filtros);
+            novos.add(novo);
+            filtros = List.copyOf(novos);
+            return novo;
+        }
+
+        long emails() {
+            return filtros.stream().mapToLong(filtro -> filtro.inseridos.get()).sum();
+        }
+
+        long bytes() {
+            return filtros.stream().mapToLong(filtro -> (long) filtro.bits.length() * Long.BYTES).sum();
+        }
+
+        double taxaEstimada() {
+            double naoFalso = 1;
+            for (Bloom filtro : filtros) {
+                naoFalso *= 1 - filtro.taxaEstimada();
+            }
+            return 1 - naoFalso;
+        }
+    }
+
+    private static final class Bloom {
+
+        private final long capacidade;
+        private final double taxa;
+        private final long numeroBits;
+        private final int numeroHashes;
+        private final AtomicLongArray bits;
+        private final AtomicLong inseridos = new AtomicLong();
+
+        Bloom(long capacidade, double taxa) {
+            this.capacidade = capacidade;
+            this.taxa = taxa;
+            long m = (long) Math.ceil(-capacidade * Math.log(taxa) / (LN2 * LN2));
+            this.numeroBits = Math.max(64, (m + 63) / 64 * 64);
+            this.numeroHashes = Math.max(1, (int) Math.round((double) numeroBits / capacidade * LN2));
+            this.bits = new AtomicLongArray((int) (numeroBits / 64));
+        }
+
+        boolean cheio() {
+            return inseridos.get() >= capacidade;
+        }
+
+        /** Duplo hashing (Kirsch-Mitzenmacher) a partir das metades do hash de 64 bits. */
+        void adicionar(long hash) {
+            long h1 = hash & 0xffffffffL;
+            long h2 = hash >>> 32;
+            for (int i = 0; i < numeroHashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, numeroBits);
+                int palavra = (int) (bit >>> 6);
+                long mascara = 1L << bit;
+                long atual;
+                do {
+                    atual = bits.get(palavra);
+                    if ((atual & mascara) != 0) {
+                        break;
+                    }
+                } while (!bits.compareAndSet(palavra, atual, atual | mascara));
+            }
+            inseridos.incrementAndGet();
+        }
+
+        boolean podeConter(long hash) {
+            long h1 = hash & 0xffffffffL;
+            long h2 = hash >>> 32;
+            for (int i = 0; i < numeroHashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, numeroBits);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double taxaEstimada() {
+            return Math.pow(1 - Math.exp(-numeroHashes * (double) inseridos.get() / numeroBits), numeroHashes);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package dev.andie.userapi.service.impl;
+
+/**
+ * Hash de 64 bits para emails, calculado direto sobre os caracteres
+ * (sem gerar o array de bytes). FNV-1a seguido do finalizador do MurmurHash3
+ * para espalhar bem os bits altos e baixos. Nunca retorna 0.
+ */
+public final class HashEmail {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private HashEmail() {
+    }
+
+    public static long hash64(String email) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < email.length(); i++) {
+            h ^= email.charAt(i);
+            h *= FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+}
@@ -0,0 +1,281 @@
+package dev.andie.userapi.service.impl;
+
+import dev.andie.userapi.event.UsuarioEvento;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.repository.UsuarioResumo;
+import dev.andie.userapi.service.FiltroEmail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice em memória de hash(email) para id de usuário.
+ *
+ * Tabela de endereçamento aberto com sondagem linear sobre dois {@code long[]} e
+ * um {@code int[]} (20 bytes por posição, sem objetos por entrada). A chave 0
+ * marca posição vazia. Uma ausência é definitiva. Um acerto traz o id do usuário
+ * ({@link #idProvavel}), que o serviço confirma pela chave primária, em geral no
+ * cache de segundo nível, em vez de buscar pelo email: só o hash é guardado, e o
+ * acerto pode ser colisão ou um evento ainda não aplicado.
+ *
+ * Cada posição conta registros menos remoções, e o email existe com contagem
+ * positiva. Os eventos de dois commits seguidos no mesmo usuário podem chegar
+ * fora de ordem (cada um na thread da sua transação); com contagens, a troca
+ * X→A seguida de A→B termina com só B presente em qualquer ordem de aplicação,
+ * enquanto um conjunto guardaria A de volta se o primeiro evento chegasse por último.
+ *
+ * A carga roda na partida do ciclo de vida, na fase das estatísticas: depois da
+ * restauração do snapshot e antes de o servidor web aceitar conexões.
+ */
+@Slf4j
+public class IndiceEmail implements FiltroEmail, SmartLifecycle {
+
+    // Mesma fase das estatísticas (EstatisticasServiceImpl)
+    private static final int FASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1536;
+
+    private static final int CAPACIDADE_MINIMA = 16;
+
+    private final UsuarioRepository repository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Counter consultasEvitadas;
+
+    private long[] chaves;
+    private long[] ids;
+    private int[] contagens;
+    private int tamanho;
+    private volatile boolean pronto;
+
+    public IndiceEmail(UsuarioRepository repository, MeterRegistry registry, int capacidadeInicial) {
+        this.repository = repository;
+        int capacidade = Integer.highestOneBit(Math.max(CAPACIDADE_MINIMA, capacidadeInicial) * 2 - 1);
+        this.chaves = new long[capacidade];
+        this.ids = new long[capacidade];
+        this.contagens = new int[capacidade];
+        this.consultasEvitadas = Counter.builder("usuarios.email.consultas.evitadas")
+                .description("Verificações de email resolvidas sem consultar o banco")
+                .tag("filtro", "indice")
+                .register(registry);
+        Gauge.builder("usuarios.email.indice.memoria", this, IndiceEmail::bytesOcupados)
+                .description("Memória ocupada pelas tabelas do índice de emails")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("usuarios.email.indice.tamanho", this, IndiceEmail::tamanho)
+                .description("Emails presentes no índice")
+                .register(registry);
+    }
+
+    /**
+     * Carrega só na primeira partida: um restore do CRaC chama start() de novo, e
+     * o índice continua valendo.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void start() {
+        if (!pronto) {
+            carregar();
+        }
+    }
+
+    @Override
+    public void stop() {
+    }
+
+    @Override
+    public boolean isRunning() {
+        return pronto;
+    }
+
+    @Override
+    public int getPhase() {
+        return FASE;
+    }
+
+    /**
+     * Varredura da tabela; precisa da transação aberta por {@link #start()}.
+     */
+    public void carregar() {
+        long inicio = System.nanoTime();
+        try (Stream<UsuarioResumo> usuarios = repository.streamResumos()) {
+            usuarios.forEach(usuario -> garantir(usuario.email(), usuario.id()));
+        }
+        pronto = true;
+        log.info("Índice de emails carregado: {} emails, {} KiB em {} ms",
+                tamanho(), bytesOcupados() / 1024, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarUsuario(UsuarioEvento evento) {
+        switch (evento.tipo()) {
+            case CRIADO -> registrar(evento.email(), evento.id());
+            // O email de um arquivado continua ocupado, mas quem responde por ele é o arquivo morto
+            case DELETADO, ARQUIVADO -> remover(evento.email(), evento.id());
+            case ATUALIZADO -> {
+                if (evento.emailAlterado()) {
+                    remover(evento.emailAnterior(), evento.id());
+                    registrar(evento.email(), evento.id());
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean podeExistir(String email) {
+        // Enquanto a carga inicial não termina, toda verificação vai ao banco
+        if (!pronto) {
+            return true;
+        }
+        if (buscarId(email).isPresent()) {
+            return true;
+        }
+        consultasEvitadas.increment();
+        return false;
+    }
+
+    @Override
+    public OptionalLong idProvavel(String email) {
+        return pronto ? buscarId(email) : OptionalLong.empty();
+    }
+
+    public OptionalLong buscarId(String email) {
+        long chave = HashEmail.hash64(email);
+        lock.readLock().lock();
+        try {
+            int mascara = chaves.length - 1;
+            for (int i = posicao(chave, mascara); chaves[i] != 0; i = (i + 1) & mascara) {
+                if (chaves[i] == chave) {
+                    return contagens[i] > 0 ? OptionalLong.of(ids[i]) : OptionalLong.empty();
+                }
+            }
+            return OptionalLong.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void registrar(String email, long id) {
+        ajustar(email, id, 1, false);
+    }
+
+    public void remover(String email, long id) {
+        ajustar(email, id, -1, false);
+    }
+
+    /**
+     * Carga inicial: eventos aplicados antes dela já podem ter contado o email.
+     * Uma contagem positiva fica como está; uma remoção adiantada (negativa) é
+     * compensada.
+     */
+    private void garantir(String email, long id) {
+        ajustar(email, id, 1, true);
+    }
+
+    private void ajustar(String email, long id, int delta, boolean seAusente) {
+        long chave = HashEmail.hash64(email);
+        lock.writeLock().lock();
+        try {
+            int mascara = chaves.length - 1;
+            int i = posicao(chave, mascara);
+            while (chaves[i] != 0 && chaves[i] != chave) {
+                i = (i + 1) & mascara;
+            }
+            if (chaves[i] == 0) {
+                if ((tamanho + 1) * 2 > chaves.length) {
+                    redimensionar(chaves.length * 2);
+                }
+                inserir(chaves, ids, contagens, chave, id, delta);
+                tamanho++;
+                return;
+            }
+            if (seAusente && contagens[i] > 0) {
+                return;
+            }
+            contagens[i] += delta;
+            if (delta > 0) {
+                ids[i] = id;
+            }
+            if (contagens[i] == 0) {
+                chaves[i] = 0;
+                ids[i] = 0;
+                tamanho--;
+                reposicionarSequencia(i, mascara);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return tamanho;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long bytesOcupados() {
+        lock.readLock().lock();
+        try {
+            return (long) chaves.length * (Long.BYTES * 2 + Integer.BYTES);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remoção por deslocamento para trás: reinsere as entradas seguintes da
+     * mesma sequência para não deixar buracos que interromperiam uma busca.
+     */
+    private void reposicionarSequencia(int vazia, int mascara) {
+        for (int i = (vazia + 1) & mascara; chaves[i] != 0; i = (i + 1) & mascara) {
+            long chave = chaves[i];
+            long id = ids[i];
+            int contagem = contagens[i];
+            chaves[i] = 0;
+            ids[i] = 0;
+            contagens[i] = 0;
+            inserir(chaves, ids, contagens, chave, id, contagem);
+        }
+    }
+
+    private void redimensionar(int novaCapacidade) {
+        long[] novasChaves = new long[novaCapacidade];
+        long[] novosIds = new long[novaCapacidade];
+        int[] novasContagens = new int[novaCapacidade];
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != 0) {
+                inserir(novasChaves, novosIds, novasContagens, chaves[i], ids[i], contagens[i]);
+            }
+        }
+        chaves = novasChaves;
+        ids = novosIds;
+        contagens = novasContagens;
+    }
+
+    /**
+     * Insere uma chave que não está na tabela.
+     */
+    private static void inserir(long[] chaves, long[] ids, int[] contagens, long chave, long id, int contagem) {
+        int mascara = chaves.length - 1;
+        int i = posicao(chave, mascara);
+        while (chaves[i] != 0) {
+            i = (i + 1) & mascara;
+        }
+        chaves[i] = chave;
+        ids[i] = id;
+        contagens[i] = contagem;
+    }
+
+    private static int posicao(long chave, int mascara) {
+        return (int) (chave ^ (chave >>> 32)) & mascara;
+    }
+}
@@ -0,0 +1,79 @@
+package dev.andie.userapi.service.impl;
+
+import dev.andie.userapi.cache.CacheUsuarios;
+import dev.andie.userapi.datasource.LeituraPropria;
+import dev.andie.userapi.dto.CampoUsuario;
+import dev.andie.userapi.dto.PaginaCursorDTO;
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.service.UsuarioService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Busca por id pelo {@link CacheUsuarios}, fora de transação: um acerto não
+ * pega conexão. As escritas seguem direto para o serviço, e o cache é
+ * invalidado pelos eventos delas.
+ *
+ * A busca com {@code fields=} também sai do cache, que guarda o usuário inteiro:
+ * o recorte fica só na resposta.
+ *
+ * A carga de uma ausência vai ao primário ({@link LeituraPropria#noPrimario}):
+ * lida de uma réplica atrasada, a versão antiga iria para o nível compartilhado
+ * depois da invalidação e ficaria lá até expirar.
+ */
+@RequiredArgsConstructor
+public class UsuarioServiceComCache implements UsuarioService {
+
+    private final UsuarioService service;
+    private final CacheUsuarios cache;
+
+    @Override
+    public Page<UsuarioDTO> listarTodos(Pageable pageable) {
+        return service.listarTodos(pageable);
+    }
+
+    @Override
+    public Page<UsuarioDTO> listarTodos(Pageable pageable, Set<CampoUsuario> campos) {
+        return service.listarTodos(pageable, campos);
+    }
+
+    @Override
+    public PaginaCursorDTO<UsuarioDTO> listarPorPeriodo(LocalDateTime inicio, LocalDateTime fim,
+                                                        String cursor, int tamanho) {
+        return service.listarPorPeriodo(inicio, fim, cursor, tamanho);
+    }
+
+    @Override
+    public UsuarioDTO buscarPorId(Long id) {
+        return cache.buscar(id, chave -> LeituraPropria.noPrimario(() -> service.buscarPorId(chave)));
+    }
+
+    @Override
+    public UsuarioDTO buscarPorId(Long id, Set<CampoUsuario> campos) {
+        return buscarPorId(id);
+    }
+
+    @Override
+    public UsuarioDTO criar(UsuarioDTO dto) {
+        return service.criar(dto);
+    }
+
+    @Override
+    public UsuarioDTO atualizar(Long id, UsuarioDTO dto) {
+        return service.atualizar(id, dto);
+    }
+
+    @Override
+    public Long atualizarParcial(Long id, UsuarioDTO dto) {
+        return service.atualizarParcial(id, dto);
+    }
+
+    @Override
+    public void deletar(Long id) {
+        service.deletar(id);
+    }
+}
@@ -1,21 +1,47 @@
 package dev.andie.userapi.service.impl;
 
+import dev.andie.userapi.dto.CampoUsuario;
+import dev.andie.userapi.dto.PaginaCursorDTO;
 import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.event.UsuarioEvento;
+import dev.andie.userapi.exception.ConflictException;
 import dev.andie.userapi.exception.ResourceNotFoundException;
 import dev.andie.userapi.exception.ValidationException;
 import dev.andie.userapi.model.Usuario;
 import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.service.ArquivoUsuarios;
+import dev.andie.userapi.service.FiltroEmail;
+import dev.andie.userapi.service.ParticaoUsuarios;
 import dev.andie.userapi.service.UsuarioService;
+import dev.andie.userapi.validation.ValidadorUsuario;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
+@Observed(name = "usuarios.service")
 public class UsuarioServiceImpl implements UsuarioService {
 
+    private static final int TAMANHO_MAXIMO_PERIODO = 1000;
+
     private final UsuarioRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FiltroEmail filtroEmail;
+    private final ArquivoUsuarios arquivo;
+    private final ParticaoUsuarios particao;
 
     @Override
     @Transactional(readOnly = true)
@@ -23,12 +49,60 @@ public class UsuarioServiceImpl implements UsuarioService {
         return repository.findAll(pageable).map(this::toDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UsuarioDTO> listarTodos(Pageable pageable, Set<CampoUsuario> campos) {
+        return repository.listarCampos(pageable, campos).map(this::toDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<UsuarioDTO> listarPorPeriodo(LocalDateTime inicio, LocalDateTime fim,
+                                                        String cursor, int tamanho) {
+        if (!inicio.isBefore(fim)) {
+            throw new ValidationException("createdFrom deve ser anterior a createdTo");
+        }
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_PERIODO) {
+            throw new ValidationException("size deve estar entre 1 e " + TAMANHO_MAXIMO_PERIODO);
+        }
+
+        // Busca uma linha a mais só para saber se existe próxima página
+        Limit limite = Limit.of(tamanho + 1);
+        List<Usuario> usuarios;
+        if (cursor == null) {
+            usuarios = repository.findPorPeriodo(inicio, fim, limite);
+        } else {
+            Cursor posicao = decodificarCursor(cursor);
+            if (posicao.dataCriacao().isBefore(inicio)) {
+                throw new ValidationException("Cursor fora do período informado");
+            }
+            usuarios = repository.findPorPeriodoApos(posicao.dataCriacao(), posicao.id(), fim, limite);
+        }
+
+        String proximoCursor = null;
+        if (usuarios.size() > tamanho) {
+            usuarios = usuarios.subList(0, tamanho);
+            proximoCursor = codificarCursor(usuarios.get(tamanho - 1));
+        }
+        return new PaginaCursorDTO<>(usuarios.stream().map(this::toDTO).toList(), proximoCursor);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public UsuarioDTO buscarPorId(Long id) {
-        Usuario usuario = repository.findById(id)
+        return repository.findById(id)
+                .map(this::toDTO)
+                .or(() -> arquivo.buscar(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UsuarioDTO buscarPorId(Long id, Set<CampoUsuario> campos) {
+        return repository.buscarCampos(id, campos)
+                .map(this::toDTO)
+                .or(() -> arquivo.buscar(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + id));
-        return toDTO(usuario);
     }
 
     @Override
@@ -36,12 +110,20 @@ public class UsuarioServiceImpl implements UsuarioService {
     public UsuarioDTO criar(UsuarioDTO dto) {
         validarUsuario(dto, null);
 
-        if (repository.existsByEmail(dto.getEmail())) {
+        if (emailJaCadastrado(dto.getEmail())) {
             throw new ValidationException("Email já cadastrado: " + dto.getEmail());
         }
 
         Usuario usuario = toEntity(dto);
-        usuario = repository.save(usuario);
+        try {
+            // Flush aqui para a constraint unique barrar, dentro do try, um email que
+            // passou pela pré-verificação (ex.: criado em outro nó)
+            usuario = repository.save(usuario);
+            repository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new ValidationException("Email já cadastrado: " + dto.getEmail());
+        }
+        eventPublisher.publishEvent(UsuarioEvento.criado(usuario));
         return toDTO(usuario);
     }
 
@@ -51,40 +133,197 @@ public class UsuarioServiceImpl implements UsuarioService {
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + id));
 
         validarUsuario(dto, id);
+        verificarVersao(usuario, dto.getVersao());
 
-        if (!usuario.getEmail().equals(dto.getEmail()) && repository.existsByEmail(dto.getEmail())) {
+        boolean trocaEmail = !usuario.getEmail().equals(dto.getEmail());
+        if (trocaEmail && particao.outraParticao(id, dto.getEmail())) {
+            return toDTO(mover(usuario, dto.getNome(), dto.getEmail()));
+        }
+        if (trocaEmail && emailJaCadastrado(dto.getEmail())) {
             throw new ValidationException("Email já cadastrado: " + dto.getEmail());
         }
 
+        String emailAnterior = usuario.getEmail();
         usuario.setNome(dto.getNome());
         usuario.setEmail(dto.getEmail());
-        usuario = repository.save(usuario);
+        try {
+            usuario = repository.save(usuario);
+            // Antecipa o UPDATE (que sairia no commit) para a resposta já trazer a versão
+            // nova e para a constraint unique responder como no criar
+            repository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new ValidationException("Email já cadastrado: " + dto.getEmail());
+        }
+        eventPublisher.publishEvent(UsuarioEvento.atualizado(usuario, emailAnterior));
         return toDTO(usuario);
     }
 
+    /**
+     * Atualiza só os campos informados (JSON Merge Patch: campo nulo mantém o valor
+     * atual) com um único UPDATE das colunas alteradas, condicionado à versão.
+     * Só nome: sem leitura prévia. Troca de email lê o usuário antes, para o
+     * evento levar o email anterior aos consumidores (índice, estatísticas).
+     * Devolve o id do usuário, que só muda quando o email novo o leva a outra
+     * partição.
+     */
+    @Override
+    @Transactional
+    public Long atualizarParcial(Long id, UsuarioDTO dto) {
+        String nome = textoInformado(dto.getNome(), "Nome");
+        String email = textoInformado(dto.getEmail(), "Email");
+        if (nome == null && email == null) {
+            throw new ValidationException("Informe ao menos um campo para atualizar");
+        }
+        validarEmail(email);
+
+        String emailAnterior = null;
+        Long versao = dto.getVersao();
+        if (email != null) {
+            Usuario usuario = repository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + id));
+            verificarVersao(usuario, versao);
+            emailAnterior = usuario.getEmail();
+            if (!email.equals(emailAnterior) && particao.outraParticao(id, email)) {
+                return mover(usuario, nome != null ? nome : usuario.getNome(), email).getId();
+            }
+            if (!email.equals(emailAnterior) && emailJaCadastrado(email)) {
+                throw new ValidationException("Email já cadastrado: " + email);
+            }
+            // O UPDATE fica condicionado à versão lida: uma troca concorrente no meio
+            // tornaria emailAnterior obsoleto e desviaria o evento
+            versao = usuario.getVersao();
+        }
+
+        int alterados;
+        try {
+            alterados = aplicarParcial(id, versao, nome, email);
+        } catch (DataIntegrityViolationException e) {
+            throw new ValidationException("Email já cadastrado: " + email);
+        }
+        if (alterados == 0) {
+            if (!repository.existsById(id)) {
+                throw new ResourceNotFoundException("Usuário não encontrado com ID: " + id);
+            }
+            throw new ConflictException("Usuário " + id + " foi alterado por outra requisição");
+        }
+        eventPublisher.publishEvent(UsuarioEvento.atualizadoParcial(id, nome, email, emailAnterior));
+        return id;
+    }
+
     @Transactional
     public void deletar(Long id) {
-        if (!repository.existsById(id)) {
-            throw new ResourceNotFoundException("Usuário não encontrado com ID: " + id);
+        Usuario usuario = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + id));
+        repository.delete(usuario);
+        eventPublisher.publishEvent(UsuarioEvento.deletado(usuario));
+    }
+
+    /**
+     * Troca de email para outra partição: a cópia com outro id já está gravada lá
+     * quando o usuário atual é removido aqui (condicionado à versão lida). Para os
+     * consumidores dos eventos é uma remoção seguida de uma criação.
+     */
+    private Usuario mover(Usuario usuario, String nome, String email) {
+        if (arquivo.contemEmail(email)) {
+            throw new ValidationException("Email já cadastrado: " + email);
+        }
+        Usuario movido;
+        try {
+            movido = particao.mover(usuario, nome, email);
+        } catch (DataIntegrityViolationException e) {
+            throw new ValidationException("Email já cadastrado: " + email);
         }
-        repository.deleteById(id);
+        repository.delete(usuario);
+        repository.flush();
+        eventPublisher.publishEvent(UsuarioEvento.deletado(usuario));
+        eventPublisher.publishEvent(UsuarioEvento.criado(movido));
+        return movido;
+    }
+
+    private boolean emailJaCadastrado(String email) {
+        if (arquivo.contemEmail(email)) {
+            return true;
+        }
+        if (!filtroEmail.podeExistir(email)) {
+            return false;
+        }
+        // Pela chave primária o usuário costuma vir do cache de segundo nível, sem SQL
+        OptionalLong id = filtroEmail.idProvavel(email);
+        if (id.isPresent() && repository.findById(id.getAsLong())
+                .filter(usuario -> email.equals(usuario.getEmail())).isPresent()) {
+            return true;
+        }
+        return repository.existsByEmail(email);
+    }
+
+    private int aplicarParcial(Long id, Long versao, String nome, String email) {
+        if (email == null) {
+            return repository.atualizarNome(id, versao, nome);
+        }
+        if (nome == null) {
+            return repository.atualizarEmail(id, versao, email);
+        }
+        return repository.atualizarNomeEmail(id, versao, nome, email);
+    }
+
+    private void verificarVersao(Usuario usuario, Long versao) {
+        // O @Version cobre a corrida entre a leitura e o flush; aqui barramos
+        // o cliente que já partiu de uma versão desatualizada
+        if (versao != null && !versao.equals(usuario.getVersao())) {
+            throw new ConflictException("Usuário " + usuario.getId() + " foi alterado por outra requisição");
+        }
+    }
+
+    private String textoInformado(String valor, String campo) {
+        if (valor != null && ValidadorUsuario.emBranco(valor)) {
+            throw new ValidationException(campo + " não pode ser vazio");
+        }
+        return valor;
     }
 
     private void validarUsuario(UsuarioDTO dto, Long id) {
-        if (dto.getNome() == null || dto.getNome().trim().isEmpty()) {
+        if (ValidadorUsuario.emBranco(dto.getNome())) {
             throw new ValidationException("Nome é obrigatório");
         }
-        if (dto.getEmail() == null || dto.getEmail().trim().isEmpty()) {
+        if (ValidadorUsuario.emBranco(dto.getEmail())) {
             throw new ValidationException("Email é obrigatório");
         }
+        validarEmail(dto.getEmail());
+    }
+
+    // Sem validação na persistência (jakarta.persistence.validation.mode=none), o
+    // formato é conferido aqui também para quem chama o serviço fora do controller
+    private void validarEmail(String email) {
+        if (!ValidadorUsuario.emailValido(email)) {
+            throw new ValidationException("Email deve ser válido");
+        }
+    }
+
+    private String codificarCursor(Usuario ultimo) {
+        String chave = ultimo.getDataCriacao() + "," + ultimo.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(chave.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Cursor decodificarCursor(String cursor) {
+        try {
+            String chave = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = chave.indexOf(',');
+            return new Cursor(LocalDateTime.parse(chave.substring(0, separador)),
+                    Long.parseLong(chave.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new ValidationException("Cursor inválido: " + cursor);
+        }
     }
 
+    private record Cursor(LocalDateTime dataCriacao, Long id) {}
+
     private UsuarioDTO toDTO(Usuario usuario) {
         return new UsuarioDTO(
                 usuario.getId(),
                 usuario.getNome(),
                 usuario.getEmail(),
-                usuario.getDataCriacao()
+                usuario.getDataCriacao(),
+                usuario.getVersao()
         );
     }
 
@@ -0,0 +1,15 @@
+package dev.andie.userapi.sharding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca o parâmetro de um método do repositório que decide o shard: um
+ * {@code Long} é tratado como id e uma {@code String} como email.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ChaveShard {
+}
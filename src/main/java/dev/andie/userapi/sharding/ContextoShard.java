@@ -0,0 +1,41 @@
+package dev.andie.userapi.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard usado pela thread atual. Definido pelo {@link RoteamentoShardInterceptor} e lido
+ * pelo {@link ShardDataSource} quando o Hibernate obtém a conexão.
+ */
+public final class ContextoShard {
+
+    private static final ThreadLocal<Integer> ATUAL = new ThreadLocal<>();
+
+    private ContextoShard() {
+    }
+
+    public static Integer atual() {
+        return ATUAL.get();
+    }
+
+    static void definir(int shard) {
+        ATUAL.set(shard);
+    }
+
+    static void limpar() {
+        ATUAL.remove();
+    }
+
+    public static <T> T executar(int shard, Supplier<T> acao) {
+        Integer anterior = ATUAL.get();
+        ATUAL.set(shard);
+        try {
+            return acao.get();
+        } finally {
+            if (anterior == null) {
+                ATUAL.remove();
+            } else {
+                ATUAL.set(anterior);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package dev.andie.userapi.sharding;
+
+import dev.andie.userapi.id.Snowflake;
+import dev.andie.userapi.service.impl.HashEmail;
+
+/**
+ * O usuário fica no shard do hash do seu email, e o id gerado para ele carrega o
+ * mesmo shard no campo de nó do Snowflake ({@code no % shards}). Assim findById e
+ * existsByEmail vão direto ao shard certo.
+ */
+public final class EstrategiaShard {
+
+    private final int shards;
+
+    public EstrategiaShard(int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("Quantidade de shards deve ser positiva: " + shards);
+        }
+        this.shards = shards;
+    }
+
+    public int shards() {
+        return shards;
+    }
+
+    public int porId(long id) {
+        return Snowflake.no(id) % shards;
+    }
+
+    public int porEmail(String email) {
+        return (int) Math.floorMod(HashEmail.hash64(email), (long) shards);
+    }
+
+    /**
+     * Nó do Snowflake que a instância {@code instancia} usa para ids do shard.
+     */
+    public int no(int instancia, int shard) {
+        return instancia * shards + shard;
+    }
+}
@@ -0,0 +1,32 @@
+package dev.andie.userapi.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+/**
+ * Com schema gerado pelo Hibernate (ddl-auto create/create-drop), cria as tabelas
+ * também nos shards além do 0.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class InicializadorShards implements SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EstrategiaShard estrategia;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        // O shard 0 é o padrão do ShardDataSource e já foi criado pelo Hibernate
+        for (int shard = 1; shard < estrategia.shards(); shard++) {
+            ContextoShard.executar(shard, () -> {
+                sessionFactory.getSchemaManager().exportMappedObjects(true);
+                return null;
+            });
+        }
+        log.info("Schema criado em {} shards", estrategia.shards());
+    }
+}
@@ -0,0 +1,69 @@
+package dev.andie.userapi.sharding;
+
+import dev.andie.userapi.model.Usuario;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.service.ParticaoUsuarios;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Troca de email entre shards: o usuário é inserido no shard do email novo, numa
+ * transação própria, e removido do atual pela transação do serviço. Sem transação
+ * distribuída, entre as duas o usuário aparece nos dois shards; se a remoção não
+ * confirmar, a cópia é apagada depois do rollback. A constraint unique do shard
+ * de destino continua barrando email repetido.
+ */
+@Slf4j
+public class ParticaoShard implements ParticaoUsuarios {
+
+    private final EstrategiaShard estrategia;
+    private final UsuarioRepository repository;
+    private final TransactionTemplate transacao;
+
+    public ParticaoShard(EstrategiaShard estrategia, UsuarioRepository repository,
+                         PlatformTransactionManager transactionManager) {
+        this.estrategia = estrategia;
+        this.repository = repository;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.transacao.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public boolean outraParticao(Long id, String email) {
+        return estrategia.porId(id) != estrategia.porEmail(email);
+    }
+
+    @Override
+    public Usuario mover(Usuario usuario, String nome, String email) {
+        int destino = estrategia.porEmail(email);
+        // Mantém a data de criação: o usuário continua na mesma posição da listagem por período
+        Usuario copia = new Usuario(null, nome, email, usuario.getDataCriacao(), null);
+        Usuario movido = ContextoShard.executar(destino,
+                () -> transacao.execute(status -> repository.saveAndFlush(copia)));
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    desfazer(destino, movido.getId(), usuario.getId());
+                }
+            }
+        });
+        return movido;
+    }
+
+    private void desfazer(int destino, Long id, Long original) {
+        try {
+            ContextoShard.executar(destino, () -> {
+                transacao.executeWithoutResult(status -> repository.deleteById(id));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.error("Usuário {} ficou duplicado como {} no shard {}: a cópia precisa ser removida",
+                    original, id, destino, e);
+        }
+    }
+}
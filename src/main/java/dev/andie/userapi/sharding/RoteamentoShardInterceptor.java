@@ -0,0 +1,422 @@
+package dev.andie.userapi.sharding;
+
+import dev.andie.userapi.exception.ValidationException;
+import dev.andie.userapi.model.Usuario;
+import dev.andie.userapi.observability.EstatisticasSql;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Camada de sharding abaixo do UsuarioRepository, registrada como primeiro advice
+ * do proxy do repositório (antes da transação do Spring Data).
+ *
+ * Métodos com chave ({@link ChaveShard}, findById/existsById/deleteById e
+ * save/delete da entidade) vão a um único shard, que fica preso à transação
+ * corrente até o fim dela. O Hibernate só obtém a conexão no primeiro comando,
+ * então o shard já está definido quando isso acontece.
+ *
+ * Métodos sem chave são executados em paralelo em todos os shards, cada um na
+ * própria transação, e os resultados são combinados pelo tipo de retorno. Páginas
+ * são mescladas (merge-sort) pela ordenação pedida, com o id como desempate.
+ * Streams são a exceção: os shards são lidos em sequência, sem juntar nada em
+ * memória (ver {@link #encadear}).
+ * Os métodos declarados no repositório são conferidos na partida por
+ * {@link #validar(Class)}: um método sem chave cujo retorno não sabemos combinar
+ * impede a aplicação de subir.
+ */
+public class RoteamentoShardInterceptor implements MethodInterceptor, AutoCloseable {
+
+    private static final Map<String, Comparator<Usuario>> ORDENACOES = Map.of(
+            "id", Comparator.comparing(Usuario::getId),
+            "nome", Comparator.comparing(Usuario::getNome),
+            "email", Comparator.comparing(Usuario::getEmail),
+            "dataCriacao", Comparator.comparing(Usuario::getDataCriacao));
+
+    // Única ordem usada pelas consultas com Limit (janela por período)
+    private static final Comparator<Usuario> POR_CRIACAO =
+            Comparator.comparing(Usuario::getDataCriacao).thenComparing(Usuario::getId);
+
+    private final EstrategiaShard estrategia;
+    private final ObjectProvider<PlatformTransactionManager> transactionManager;
+    private final ExecutorService executor;
+
+    public RoteamentoShardInterceptor(EstrategiaShard estrategia,
+                                 ObjectProvider<PlatformTransactionManager> transactionManager,
+                                 int threads) {
+        this.estrategia = estrategia;
+        this.transactionManager = transactionManager;
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, tarefa -> {
+            Thread thread = new Thread(tarefa, "shard-consulta-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocacao) throws Throwable {
+        Method metodo = invocacao.getMethod();
+        Object[] args = invocacao.getArguments();
+        Integer shard = chave(metodo, args);
+        Integer atual = ContextoShard.atual();
+
+        if (atual != null) {
+            if (shard != null && !shard.equals(atual)) {
+                throw entreShards(metodo, args);
+            }
+            return invocacao.proceed();
+        }
+        if (shard == null) {
+            if ("flush".equals(metodo.getName())) {
+                return invocacao.proceed();
+            }
+            Object repositorio = ((ProxyMethodInvocation) invocacao).getProxy();
+            return Stream.class.isAssignableFrom(metodo.getReturnType())
+                    ? encadear(repositorio, metodo, args)
+                    : espalhar(repositorio, metodo, args);
+        }
+
+        ContextoShard.definir(shard);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ContextoShard.limpar();
+                }
+            });
+            return invocacao.proceed();
+        }
+        try {
+            return invocacao.proceed();
+        } finally {
+            ContextoShard.limpar();
+        }
+    }
+
+    /**
+     * Confere os métodos declarados pela aplicação no repositório (os herdados do
+     * Spring Data ficam de fora): cada um precisa de uma chave de shard ou de um
+     * retorno que {@link #combinar} saiba juntar.
+     */
+    public static void validar(Class<?> repositorio) {
+        for (Method metodo : repositorio.getMethods()) {
+            if (metodo.isDefault() || metodo.getDeclaringClass().getName().startsWith("org.springframework.")) {
+                continue;
+            }
+            if (!temChave(metodo) && !combinavel(metodo.getReturnType())) {
+                throw semCombinacao(metodo);
+            }
+        }
+    }
+
+    private static boolean temChave(Method metodo) {
+        for (Annotation[] anotacoes : metodo.getParameterAnnotations()) {
+            for (Annotation anotacao : anotacoes) {
+                if (anotacao instanceof ChaveShard) {
+                    return true;
+                }
+            }
+        }
+        return switch (metodo.getName()) {
+            case "findById", "existsById", "deleteById", "save", "saveAndFlush", "delete" -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean combinavel(Class<?> tipo) {
+        return tipo == void.class || Page.class.isAssignableFrom(tipo) || Stream.class.isAssignableFrom(tipo)
+                || List.class.isAssignableFrom(tipo) || tipo == long.class || tipo == Long.class
+                || tipo == int.class || tipo == Integer.class || tipo == boolean.class || tipo == Boolean.class
+                || tipo == Optional.class;
+    }
+
+    private static IllegalStateException semCombinacao(Method metodo) {
+        return new IllegalStateException("Método " + metodo.getDeclaringClass().getSimpleName() + "."
+                + metodo.getName() + " não tem chave de shard e o retorno "
+                + metodo.getReturnType().getSimpleName() + " não pode ser combinado entre shards");
+    }
+
+    private Integer chave(Method metodo, Object[] args) {
+        Annotation[][] anotacoes = metodo.getParameterAnnotations();
+        for (int i = 0; i < anotacoes.length; i++) {
+            for (Annotation anotacao : anotacoes[i]) {
+                if (anotacao instanceof ChaveShard) {
+                    return chaveDe(args[i]);
+                }
+            }
+        }
+        return switch (metodo.getName()) {
+            case "findById", "existsById", "deleteById" -> chaveDe(args[0]);
+            case "save", "saveAndFlush", "delete" -> args[0] instanceof Usuario usuario
+                    ? (usuario.getId() != null ? chaveDe(usuario.getId()) : chaveDe(usuario.getEmail()))
+                    : null;
+            default -> null;
+        };
+    }
+
+    private Integer chaveDe(Object valor) {
+        if (valor instanceof Long id) {
+            return estrategia.porId(id);
+        }
+        if (valor instanceof String email) {
+            return estrategia.porEmail(email);
+        }
+        return null;
+    }
+
+    private RuntimeException entreShards(Method metodo, Object[] args) {
+        // Troca de email para outro shard não chega aqui: vira uma mudança de partição (ParticaoShard)
+        return new IllegalStateException("Operação entre shards na mesma transação: " + metodo.getName()
+                + Arrays.toString(args));
+    }
+
+    private Object espalhar(Object repositorio, Method metodo, Object[] args) throws Throwable {
+        Object[] argsShard = argumentosPorShard(args);
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager.getObject());
+        transacao.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+
+        List<Future<Object>> futuros = new ArrayList<>(estrategia.shards());
+        for (int i = 0; i < estrategia.shards(); i++) {
+            int shard = i;
+            // Comandos dos shards contam nas estatísticas de SQL da requisição
+            futuros.add(executor.submit(EstatisticasSql.propagar(() -> ContextoShard.executar(shard,
+                    () -> transacao.execute(status -> invocar(repositorio, metodo, argsShard))))));
+        }
+
+        List<Object> parciais = new ArrayList<>(futuros.size());
+        try {
+            for (Future<Object> futuro : futuros) {
+                parciais.add(futuro.get());
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futuros.forEach(futuro -> futuro.cancel(true));
+            throw e;
+        }
+        return combinar(metodo, args, parciais);
+    }
+
+    /**
+     * Concatena os streams dos shards sem materializá-los: cada shard é aberto
+     * quando o consumo chega nele, na thread de quem consome e numa transação
+     * própria, que fica aberta até ele se esgotar ou o stream devolvido ser
+     * fechado. Enquanto isso o shard fica preso à thread, e um acesso a outro
+     * shard dentro do consumo falha em vez de ir ao banco errado. (Um flatMap não
+     * serviria: pelo iterator ele carrega o shard inteiro de uma vez.)
+     */
+    private Stream<?> encadear(Object repositorio, Method metodo, Object[] args) {
+        EmSequencia shards = new EmSequencia(transactionManager.getObject(), repositorio, metodo, args);
+        return StreamSupport.stream(shards, false).onClose(shards::fechar);
+    }
+
+    private final class EmSequencia extends Spliterators.AbstractSpliterator<Object> {
+
+        private final PlatformTransactionManager gerenciador;
+        private final Object repositorio;
+        private final Method metodo;
+        private final Object[] args;
+        private int proximo;
+        private Stream<?> atual;
+        private Spliterator<?> restante;
+
+        EmSequencia(PlatformTransactionManager gerenciador, Object repositorio, Method metodo, Object[] args) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.gerenciador = gerenciador;
+            this.repositorio = repositorio;
+            this.metodo = metodo;
+            this.args = args;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super Object> acao) {
+            while (restante == null || !((Spliterator<Object>) restante).tryAdvance(acao)) {
+                fechar();
+                if (proximo == estrategia.shards()) {
+                    return false;
+                }
+                atual = abrir(gerenciador, proximo++, repositorio, metodo, args);
+                restante = atual.spliterator();
+            }
+            return true;
+        }
+
+        void fechar() {
+            if (atual != null) {
+                Stream<?> aberto = atual;
+                atual = null;
+                restante = null;
+                aberto.close();
+            }
+        }
+    }
+
+    private static Stream<?> abrir(PlatformTransactionManager gerenciador, int shard,
+                                   Object repositorio, Method metodo, Object[] args) {
+        DefaultTransactionDefinition definicao =
+                new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        definicao.setReadOnly(true);
+        TransactionStatus status = gerenciador.getTransaction(definicao);
+        ContextoShard.definir(shard);
+        try {
+            return ((Stream<?>) invocar(repositorio, metodo, args)).onClose(() -> {
+                try {
+                    gerenciador.commit(status);
+                } finally {
+                    ContextoShard.limpar();
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            try {
+                gerenciador.rollback(status);
+            } finally {
+                ContextoShard.limpar();
+            }
+            throw e;
+        }
+    }
+
+    private static Object invocar(Object repositorio, Method metodo, Object[] args) {
+        try {
+            return metodo.invoke(repositorio, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Cada shard precisa devolver tudo até o fim da página pedida para o merge.
+     */
+    private static Object[] argumentosPorShard(Object[] args) {
+        Object[] copia = args.clone();
+        for (int i = 0; i < copia.length; i++) {
+            if (copia[i] instanceof Pageable pageable && pageable.isPaged()) {
+                copia[i] = PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()),
+                        pageable.getSort());
+            }
+        }
+        return copia;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object combinar(Method metodo, Object[] args, List<Object> parciais) {
+        Class<?> tipo = metodo.getReturnType();
+        if (tipo == void.class) {
+            return null;
+        }
+        if (Page.class.isAssignableFrom(tipo)) {
+            return mesclarPaginas(argumento(args, Pageable.class), (List<Page<Usuario>>) (List<?>) parciais);
+        }
+        if (List.class.isAssignableFrom(tipo)) {
+            List<Object> todos = new ArrayList<>();
+            parciais.forEach(parcial -> todos.addAll((List<?>) parcial));
+            Limit limite = argumento(args, Limit.class);
+            if (limite != null && limite.isLimited()) {
+                ((List<Usuario>) (List<?>) todos).sort(POR_CRIACAO);
+                return new ArrayList<>(todos.subList(0, Math.min(limite.max(), todos.size())));
+            }
+            return todos;
+        }
+        if (tipo == long.class || tipo == Long.class) {
+            return parciais.stream().mapToLong(parcial -> ((Number) parcial).longValue()).sum();
+        }
+        if (tipo == int.class || tipo == Integer.class) {
+            return parciais.stream().mapToInt(parcial -> ((Number) parcial).intValue()).sum();
+        }
+        if (tipo == boolean.class || tipo == Boolean.class) {
+            return parciais.stream().anyMatch(Boolean.TRUE::equals);
+        }
+        if (tipo == Optional.class) {
+            return parciais.stream().map(parcial -> (Optional<?>) parcial)
+                    .filter(Optional::isPresent).findFirst().orElse(Optional.empty());
+        }
+        throw semCombinacao(metodo);
+    }
+
+    private static Page<Usuario> mesclarPaginas(Pageable pageable, List<Page<Usuario>> paginas) {
+        long total = paginas.stream().mapToLong(Page::getTotalElements).sum();
+        List<List<Usuario>> listas = paginas.stream().map(Page::getContent).toList();
+        Comparator<Usuario> ordem = comparador(pageable.getSort());
+
+        int[] posicao = new int[listas.size()];
+        PriorityQueue<Integer> fila = new PriorityQueue<>(Math.max(1, listas.size()),
+                (a, b) -> ordem.compare(listas.get(a).get(posicao[a]), listas.get(b).get(posicao[b])));
+        for (int i = 0; i < listas.size(); i++) {
+            if (!listas.get(i).isEmpty()) {
+                fila.add(i);
+            }
+        }
+
+        long pular = pageable.isPaged() ? pageable.getOffset() : 0;
+        int tamanho = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        List<Usuario> conteudo = new ArrayList<>(Math.min(tamanho, 1024));
+        while (!fila.isEmpty() && conteudo.size() < tamanho) {
+            int lista = fila.poll();
+            Usuario usuario = listas.get(lista).get(posicao[lista]++);
+            if (pular > 0) {
+                pular--;
+            } else {
+                conteudo.add(usuario);
+            }
+            if (posicao[lista] < listas.get(lista).size()) {
+                fila.add(lista);
+            }
+        }
+        return new PageImpl<>(conteudo, pageable, total);
+    }
+
+    private static Comparator<Usuario> comparador(Sort sort) {
+        Comparator<Usuario> ordem = null;
+        for (Sort.Order order : sort) {
+            Comparator<Usuario> campo = ORDENACOES.get(order.getProperty());
+            if (campo == null) {
+                throw new ValidationException("Ordenação não suportada: " + order.getProperty());
+            }
+            campo = order.isDescending() ? campo.reversed() : campo;
+            ordem = ordem == null ? campo : ordem.thenComparing(campo);
+        }
+        Comparator<Usuario> porId = ORDENACOES.get("id");
+        return ordem == null ? porId : ordem.thenComparing(porId);
+    }
+
+    private static <T> T argumento(Object[] args, Class<T> tipo) {
+        for (Object arg : args) {
+            if (tipo.isInstance(arg)) {
+                return tipo.cast(arg);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
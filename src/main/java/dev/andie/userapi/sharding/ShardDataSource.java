@@ -0,0 +1,43 @@
+package dev.andie.userapi.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entrega a conexão do shard definido em {@link ContextoShard}. Sem shard definido
+ * (inicialização do Hibernate, por exemplo) usa o shard 0.
+ */
+public class ShardDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final List<DataSource> shards;
+
+    public ShardDataSource(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> destinos = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            destinos.put(i, shards.get(i));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ContextoShard.atual();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable fechavel) {
+                fechavel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package dev.andie.userapi.snapshot;
+
+import dev.andie.userapi.model.Usuario;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Arquivo binário do snapshot da tabela usuarios, escrito e lido por janelas
+ * mapeadas em memória.
+ *
+ * Layout: cabeçalho de {@value #CABECALHO} bytes (magic "USNP", versão, usuários,
+ * tamanho dos dados e CRC32C dos dados) seguido de um registro por usuário: id,
+ * data de criação em microssegundos e versão (long cada), nome e email (tamanho
+ * em 2 bytes + UTF-8). O cabeçalho é gravado por último, e o arquivo só substitui
+ * o anterior depois de sincronizado com o disco.
+ */
+final class ArquivoSnapshot implements AutoCloseable {
+
+    static final int CABECALHO = 32;
+    private static final int MAGIC = 0x55534E50;
+    private static final int VERSAO = 1;
+    private static final long JANELA = 16L << 20;
+    // Maior registro possível: três longs e dois textos de até 65535 bytes
+    private static final int MAIOR_REGISTRO = 3 * 8 + 2 * (2 + 0xFFFF);
+
+    private final Path destino;
+    private final Path temporario;
+    private final long tamanhoJanela;
+    private final FileChannel canal;
+    private final CRC32C crc = new CRC32C();
+    private MappedByteBuffer janela;
+    private long inicioJanela;
+    private long usuarios;
+    private boolean concluido;
+
+    private ArquivoSnapshot(Path destino, long tamanhoJanela) throws IOException {
+        this.destino = destino;
+        this.tamanhoJanela = tamanhoJanela;
+        this.temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        this.canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.inicioJanela = CABECALHO;
+        this.janela = canal.map(FileChannel.MapMode.READ_WRITE, inicioJanela, tamanhoJanela);
+    }
+
+    static ArquivoSnapshot criar(Path destino) throws IOException {
+        return criar(destino, JANELA);
+    }
+
+    static ArquivoSnapshot criar(Path destino, long tamanhoJanela) throws IOException {
+        Path diretorio = destino.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        return new ArquivoSnapshot(destino, tamanhoJanela);
+    }
+
+    void escrever(long id, String nome, String email, LocalDateTime dataCriacao, long versao) throws IOException {
+        byte[] bytesNome = texto(nome);
+        byte[] bytesEmail = texto(email);
+        int tamanho = 3 * 8 + 2 + bytesNome.length + 2 + bytesEmail.length;
+        if (janela.remaining() < tamanho) {
+            avancarJanela();
+        }
+        janela.putLong(id);
+        janela.putLong(micros(dataCriacao));
+        janela.putLong(versao);
+        janela.putShort((short) bytesNome.length);
+        janela.put(bytesNome);
+        janela.putShort((short) bytesEmail.length);
+        janela.put(bytesEmail);
+        usuarios++;
+    }
+
+    /**
+     * Grava o cabeçalho, sincroniza e troca o snapshot anterior por este.
+     * Devolve o tamanho do arquivo em bytes.
+     */
+    long concluir() throws IOException {
+        crc.update(janela.duplicate().flip());
+        long tamanho = inicioJanela + janela.position();
+        janela.force();
+        janela = null;
+        MappedByteBuffer cabecalho = canal.map(FileChannel.MapMode.READ_WRITE, 0, CABECALHO);
+        cabecalho.putInt(MAGIC).putInt(VERSAO).putLong(usuarios).putLong(tamanho - CABECALHO).putLong(crc.getValue());
+        cabecalho.force();
+        canal.truncate(tamanho);
+        canal.force(true);
+        canal.close();
+        Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        concluido = true;
+        return tamanho;
+    }
+
+    long usuarios() {
+        return usuarios;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!concluido) {
+            canal.close();
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    /**
+     * Confere o CRC dos dados e entrega cada usuário ao consumidor, na ordem
+     * gravada. Devolve quantos foram lidos.
+     */
+    static long ler(Path arquivo, Consumer<Usuario> consumidor) throws IOException {
+        return ler(arquivo, JANELA, consumidor);
+    }
+
+    static long ler(Path arquivo, long tamanhoJanela, Consumer<Usuario> consumidor) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanhoArquivo = canal.size();
+            if (tamanhoArquivo < CABECALHO) {
+                throw new SnapshotInvalidoException("Snapshot truncado: " + arquivo);
+            }
+            MappedByteBuffer cabecalho = canal.map(FileChannel.MapMode.READ_ONLY, 0, CABECALHO);
+            if (cabecalho.getInt() != MAGIC || cabecalho.getInt() != VERSAO) {
+                throw new SnapshotInvalidoException("Arquivo não é um snapshot de usuários: " + arquivo);
+            }
+            long usuarios = cabecalho.getLong();
+            long tamanhoDados = cabecalho.getLong();
+            long crcEsperado = cabecalho.getLong();
+            if (tamanhoDados != tamanhoArquivo - CABECALHO) {
+                throw new SnapshotInvalidoException("Snapshot truncado: " + arquivo);
+            }
+
+            CRC32C crc = new CRC32C();
+            for (long posicao = CABECALHO; posicao < tamanhoArquivo; posicao += tamanhoJanela) {
+                crc.update(canal.map(FileChannel.MapMode.READ_ONLY, posicao,
+                        Math.min(tamanhoJanela, tamanhoArquivo - posicao)));
+            }
+            if (crc.getValue() != crcEsperado) {
+                throw new SnapshotInvalidoException("CRC do snapshot não confere: " + arquivo);
+            }
+
+            long inicio = CABECALHO;
+            MappedByteBuffer janela = canal.map(FileChannel.MapMode.READ_ONLY, inicio,
+                    Math.min(tamanhoJanela, tamanhoArquivo - inicio));
+            for (long lidos = 0; lidos < usuarios; lidos++) {
+                long fimJanela = inicio + janela.limit();
+                if (janela.remaining() < MAIOR_REGISTRO && fimJanela < tamanhoArquivo) {
+                    inicio += janela.position();
+                    janela = canal.map(FileChannel.MapMode.READ_ONLY, inicio,
+                            Math.min(tamanhoJanela, tamanhoArquivo - inicio));
+                }
+                long id = janela.getLong();
+                LocalDateTime dataCriacao = data(janela.getLong());
+                long versao = janela.getLong();
+                String nome = texto(janela);
+                String email = texto(janela);
+                consumidor.accept(new Usuario(id, nome, email, dataCriacao, versao));
+            }
+            return usuarios;
+        }
+    }
+
+    private void avancarJanela() throws IOException {
+        crc.update(janela.duplicate().flip());
+        janela.force();
+        inicioJanela += janela.position();
+        janela = canal.map(FileChannel.MapMode.READ_WRITE, inicioJanela, tamanhoJanela);
+    }
+
+    private static byte[] texto(String valor) {
+        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Texto com mais de 65535 bytes não cabe no snapshot");
+        }
+        return bytes;
+    }
+
+    private static String texto(MappedByteBuffer janela) {
+        byte[] bytes = new byte[Short.toUnsignedInt(janela.getShort())];
+        janela.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long micros(LocalDateTime data) {
+        return data.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + data.getNano() / 1_000;
+    }
+
+    private static LocalDateTime data(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Arquivo que não passou na verificação (magic, tamanho ou CRC).
+     */
+    static class SnapshotInvalidoException extends IOException {
+
+        SnapshotInvalidoException(String mensagem) {
+            super(mensagem);
+        }
+    }
+}
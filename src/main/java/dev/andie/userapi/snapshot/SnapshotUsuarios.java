@@ -0,0 +1,266 @@
+package dev.andie.userapi.snapshot;
+
+import dev.andie.userapi.model.Usuario;
+import dev.andie.userapi.sharding.ContextoShard;
+import dev.andie.userapi.sharding.EstrategiaShard;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snapshot da tabela usuarios em {@code app.snapshot.arquivo}, para o banco em
+ * memória sobreviver a um restart: gravado a cada {@code app.snapshot.intervalo}
+ * e no encerramento, e carregado na subida. Duração, tamanho e usuários vão para
+ * o log e para as métricas snapshot.*; a restauração loga a vazão.
+ *
+ * Restauração e último snapshot acompanham o ciclo de vida, numa fase logo abaixo
+ * da do servidor web. Na subida, a restauração roda com os schemas dos shards já
+ * criados e antes de o servidor web aceitar conexões e das cargas a partir da
+ * tabela (estatísticas, numa fase seguinte; índice de emails e filtro de Bloom,
+ * no ApplicationReadyEvent). No encerramento, o snapshot é gravado depois de o servidor web
+ * parar e antes de os pools serem suspensos (perfil crac) e de o Hibernate
+ * descartar o schema. As linhas entram por INSERT em lote via JDBC, com os ids
+ * originais, cada uma no shard do seu id.
+ *
+ * Um snapshot que não confere (CRC, tamanho) é renomeado para {@code .invalido} e a
+ * aplicação sobe vazia: o próximo snapshot não sobrescreve o arquivo danificado.
+ * Com a tabela já populada (banco persistente) a restauração é ignorada.
+ */
+@Slf4j
+public class SnapshotUsuarios implements SmartLifecycle {
+
+    private static final String SELECT = "select id, nome, email, data_criacao, versao from usuarios";
+    private static final String INSERT = "insert into usuarios (id, nome, email, data_criacao, versao) values (?, ?, ?, ?, ?)";
+    private static final int FETCH_SIZE = 1_000;
+    // Abaixo do início/parada do servidor web (SMART_LIFECYCLE_PHASE - 1024)
+    static final int FASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+    private final JdbcTemplate jdbc;
+    private final Path arquivo;
+    private final EstrategiaShard estrategia;
+    private final int lote;
+    private final Timer gravacao;
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong usuarios = new AtomicLong();
+    private volatile boolean restaurado;
+    private volatile boolean rodando;
+
+    /**
+     * @param estrategia {@code null} sem sharding
+     */
+    public SnapshotUsuarios(JdbcTemplate jdbc, Path arquivo, EstrategiaShard estrategia, int lote,
+                            MeterRegistry registry) {
+        this.jdbc = jdbc;
+        this.arquivo = arquivo;
+        this.estrategia = estrategia;
+        this.lote = lote;
+        this.gravacao = Timer.builder("snapshot.gravacao")
+                .description("Tempo de gravação do snapshot da tabela usuarios")
+                .register(registry);
+        Gauge.builder("snapshot.bytes", bytes, AtomicLong::get)
+                .description("Tamanho do último snapshot gravado ou restaurado")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("snapshot.usuarios", usuarios, AtomicLong::get)
+                .description("Usuários no último snapshot gravado ou restaurado")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.snapshot.intervalo:PT5M}",
+            initialDelayString = "${app.snapshot.intervalo:PT5M}")
+    public void gravarPeriodicamente() {
+        gravar();
+    }
+
+    /**
+     * Restaura só na primeira partida: um restore do CRaC chama start() de novo
+     * com a tabela já em memória.
+     */
+    @Override
+    public void start() {
+        if (!restaurado) {
+            restaurar();
+            restaurado = true;
+        }
+        rodando = true;
+    }
+
+    /**
+     * Último snapshot, no encerramento (e no checkpoint do CRaC).
+     */
+    @Override
+    public void stop() {
+        if (rodando) {
+            gravar();
+            rodando = false;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return rodando;
+    }
+
+    @Override
+    public int getPhase() {
+        return FASE;
+    }
+
+    /**
+     * Grava o snapshot de todos os shards num arquivo só. Cada shard é lido por um
+     * único SELECT, que o H2 responde com uma visão consistente da tabela.
+     */
+    public synchronized void gravar() {
+        long inicio = System.nanoTime();
+        long tamanho;
+        long gravados;
+        try (ArquivoSnapshot snapshot = ArquivoSnapshot.criar(arquivo)) {
+            for (int shard = 0; shard < shards(); shard++) {
+                // Sem sharding o contexto de shard é ignorado pelo DataSource
+                ContextoShard.executar(shard, () -> {
+                    jdbc.query(conexao -> {
+                        var comando = conexao.prepareStatement(SELECT);
+                        comando.setFetchSize(FETCH_SIZE);
+                        return comando;
+                    }, linha -> {
+                        try {
+                            snapshot.escrever(linha.getLong(1), linha.getString(2), linha.getString(3),
+                                    linha.getObject(4, LocalDateTime.class), linha.getLong(5));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    return null;
+                });
+            }
+            tamanho = snapshot.concluir();
+            gravados = snapshot.usuarios();
+        } catch (IOException | RuntimeException e) {
+            // Inclui falhas de banco: uma exceção aqui sairia do stop() e o Spring
+            // esperaria o timeout da fase inteira no encerramento
+            log.error("Falha ao gravar o snapshot em {}", arquivo, e);
+            return;
+        }
+        long nanos = System.nanoTime() - inicio;
+        gravacao.record(nanos, TimeUnit.NANOSECONDS);
+        bytes.set(tamanho);
+        usuarios.set(gravados);
+        log.info("Snapshot gravado em {}: {} usuários, {} em {} ms", arquivo, gravados, megabytes(tamanho),
+                nanos / 1_000_000);
+    }
+
+    public void restaurar() {
+        if (!Files.exists(arquivo)) {
+            log.info("Sem snapshot em {}: subindo com a tabela vazia", arquivo);
+            return;
+        }
+        if (!tabelaVazia()) {
+            log.warn("Tabela usuarios já tem dados: snapshot {} ignorado", arquivo);
+            return;
+        }
+        long inicio = System.nanoTime();
+        long restaurados;
+        try {
+            restaurados = carregar();
+        } catch (ArquivoSnapshot.SnapshotInvalidoException e) {
+            descartar(e);
+            return;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o snapshot " + arquivo, e);
+        }
+        long nanos = Math.max(System.nanoTime() - inicio, 1);
+        long tamanho = tamanho();
+        usuarios.set(restaurados);
+        bytes.set(tamanho);
+        double segundos = nanos / 1e9;
+        log.info("Snapshot {} restaurado: {} usuários, {} em {} ms ({} usuários/s, {}/s)", arquivo, restaurados,
+                megabytes(tamanho), nanos / 1_000_000, Math.round(restaurados / segundos),
+                megabytes(Math.round(tamanho / segundos)));
+    }
+
+    private long carregar() throws IOException {
+        List<List<Object[]>> pendentes = new ArrayList<>();
+        for (int shard = 0; shard < shards(); shard++) {
+            pendentes.add(new ArrayList<>(lote));
+        }
+        long restaurados = ArquivoSnapshot.ler(arquivo, usuario -> {
+            int shard = estrategia == null ? 0 : estrategia.porId(usuario.getId());
+            List<Object[]> linhas = pendentes.get(shard);
+            linhas.add(linha(usuario));
+            if (linhas.size() == lote) {
+                inserir(shard, linhas);
+            }
+        });
+        for (int shard = 0; shard < pendentes.size(); shard++) {
+            inserir(shard, pendentes.get(shard));
+        }
+        return restaurados;
+    }
+
+    private void inserir(int shard, List<Object[]> linhas) {
+        if (linhas.isEmpty()) {
+            return;
+        }
+        ContextoShard.executar(shard, () -> jdbc.batchUpdate(INSERT, linhas));
+        linhas.clear();
+    }
+
+    private boolean tabelaVazia() {
+        for (int shard = 0; shard < shards(); shard++) {
+            Boolean vazia = ContextoShard.executar(shard,
+                    () -> jdbc.queryForList("select id from usuarios limit 1", Long.class).isEmpty());
+            if (!vazia) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void descartar(IOException e) {
+        Path invalido = arquivo.resolveSibling(arquivo.getFileName() + ".invalido");
+        try {
+            Files.move(arquivo, invalido, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException erro) {
+            e.addSuppressed(erro);
+        }
+        log.error("Snapshot descartado e movido para {}: subindo com a tabela vazia", invalido, e);
+    }
+
+    private long tamanho() {
+        try {
+            return Files.size(arquivo);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private int shards() {
+        return estrategia == null ? 1 : estrategia.shards();
+    }
+
+    private static Object[] linha(Usuario usuario) {
+        return new Object[]{usuario.getId(), usuario.getNome(), usuario.getEmail(),
+                Timestamp.valueOf(usuario.getDataCriacao()), usuario.getVersao()};
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,175 @@
+package dev.andie.userapi.validation;
+
+import dev.andie.userapi.dto.UsuarioDTO;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Email;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+/**
+ * Validação do {@link UsuarioDTO} numa única passada, sem alocar quando o DTO é
+ * válido: substitui o Bean Validation no controller e é a mesma regra que o
+ * serviço usa. As anotações do DTO continuam descrevendo as regras; a equivalência
+ * com o Hibernate Validator é coberta por testes.
+ *
+ * Com o hint {@link UsuarioDTO.Parcial} (PATCH), só o formato do email enviado é
+ * verificado.
+ */
+@Component
+public class ValidadorUsuario implements SmartValidator {
+
+    private static final int MAX_PARTE_LOCAL = 64;
+    private static final int MAX_ROTULO = 63;
+    private static final int MAX_DOMINIO = 255;
+
+    // Caracteres ASCII aceitos pelo @Email fora de aspas, além de letras e dígitos
+    private static final boolean[] ATOMO = tabela("!#$%&'*+/=?^_`{|}~-");
+    private static final boolean[] DOMINIO = tabela("!#$%&'*+/=?^_`{|}~");
+
+    @Override
+    public boolean supports(Class<?> tipo) {
+        return UsuarioDTO.class.isAssignableFrom(tipo);
+    }
+
+    @Override
+    public void validate(Object alvo, Errors erros) {
+        validar((UsuarioDTO) alvo, false, erros);
+    }
+
+    @Override
+    public void validate(Object alvo, Errors erros, Object... hints) {
+        boolean parcial = false;
+        for (Object hint : hints) {
+            parcial |= hint == UsuarioDTO.Parcial.class;
+        }
+        validar((UsuarioDTO) alvo, parcial, erros);
+    }
+
+    private static void validar(UsuarioDTO dto, boolean parcial, Errors erros) {
+        if (!parcial && emBranco(dto.getNome())) {
+            erros.rejectValue("nome", "NotBlank", "Nome é obrigatório");
+        }
+        if (!parcial && emBranco(dto.getEmail())) {
+            erros.rejectValue("email", "NotBlank", "Email é obrigatório");
+        }
+        if (!emailValido(dto.getEmail())) {
+            erros.rejectValue("email", "Email", "Email deve ser válido");
+        }
+    }
+
+    /**
+     * Mesmo critério do {@code @NotBlank}: nulo ou só caracteres removidos por {@link String#trim()}.
+     */
+    public static boolean emBranco(CharSequence valor) {
+        if (valor == null) {
+            return true;
+        }
+        for (int i = 0; i < valor.length(); i++) {
+            if (valor.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Mesmo critério do {@code @Email} do Hibernate Validator: nulo e vazio são válidos
+     * (a obrigatoriedade é do {@code @NotBlank}); a parte local é uma sequência de
+     * átomos separados por ponto, com até 64 caracteres; o domínio, rótulos separados
+     * por ponto que não começam nem terminam com hífen, até 63 caracteres cada.
+     */
+    public static boolean emailValido(CharSequence email) {
+        if (email == null || email.length() == 0) {
+            return true;
+        }
+        int arroba = -1;
+        for (int i = email.length() - 1; i >= 0; i--) {
+            char c = email.charAt(i);
+            if (c >= 0x80 || c == '"') {
+                return Referencia.emailValido(email);
+            }
+            if (arroba < 0 && c == '@') {
+                arroba = i;
+            }
+        }
+        if (arroba < 0) {
+            return false;
+        }
+        if (arroba + 1 < email.length() && email.charAt(arroba + 1) == '[') {
+            return Referencia.emailValido(email);
+        }
+        return parteLocalValida(email, arroba) && dominioValido(email, arroba + 1, email.length());
+    }
+
+    private static boolean parteLocalValida(CharSequence email, int fim) {
+        if (fim == 0 || fim > MAX_PARTE_LOCAL) {
+            return false;
+        }
+        boolean inicioDeAtomo = true;
+        for (int i = 0; i < fim; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (inicioDeAtomo) {
+                    return false;
+                }
+                inicioDeAtomo = true;
+            } else if (letraOuDigito(c) || ATOMO[c]) {
+                inicioDeAtomo = false;
+            } else {
+                return false;
+            }
+        }
+        return !inicioDeAtomo;
+    }
+
+    private static boolean dominioValido(CharSequence email, int inicio, int fim) {
+        if (fim == inicio || fim - inicio > MAX_DOMINIO) {
+            return false;
+        }
+        int inicioRotulo = inicio;
+        for (int i = inicio; i <= fim; i++) {
+            if (i == fim || email.charAt(i) == '.') {
+                if (i == inicioRotulo || i - inicioRotulo > MAX_ROTULO
+                        || email.charAt(inicioRotulo) == '-' || email.charAt(i - 1) == '-') {
+                    return false;
+                }
+                inicioRotulo = i + 1;
+            } else {
+                char c = email.charAt(i);
+                if (!letraOuDigito(c) && c != '-' && !DOMINIO[c]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean letraOuDigito(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    /**
+     * Casos raros (aspas, IP literal, não ASCII) ficam com o próprio {@code @Email}
+     * do DTO, pela API pública do Bean Validation. O validador só é criado no
+     * primeiro desses casos.
+     */
+    private static final class Referencia {
+
+        private static final Validator VALIDADOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+        static boolean emailValido(CharSequence email) {
+            return VALIDADOR.validateValue(UsuarioDTO.class, "email", email.toString()).stream()
+                    .noneMatch(violacao -> violacao.getConstraintDescriptor().getAnnotation() instanceof Email);
+        }
+    }
+
+    private static boolean[] tabela(String caracteres) {
+        boolean[] tabela = new boolean[0x80];
+        for (int i = 0; i < caracteres.length(); i++) {
+            tabela[caracteres.charAt(i)] = true;
+        }
+        return tabela;
+    }
+}
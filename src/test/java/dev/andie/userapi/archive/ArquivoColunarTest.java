@@ -0,0 +1,112 @@
+package dev.andie.userapi.archive;
+
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.model.Usuario;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do ArquivoColunar")
+class ArquivoColunarTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2023, 1, 31, 23, 59, 59, 123_456_000);
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve encontrar cada usuário arquivado depois de reabrir os segmentos")
+    void deveEncontrarUsuariosDepoisDeReabrir() throws Exception {
+        // Arrange - ids espaçados, fora de ordem e atravessando dois meses e vários blocos
+        List<Usuario> usuarios = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            long id = 1_000_000L + (i * 7_919L) % 1000 * 3;
+            usuarios.add(new Usuario(id, "Usuário " + i, "usuario" + i + "@email.com",
+                    INICIO.plusSeconds(i % 2 == 0 ? i : -i), (long) i % 5));
+        }
+        new ArquivoColunar(diretorio, new SimpleMeterRegistry()).arquivar(usuarios);
+
+        // Act
+        ArquivoColunar reaberto = new ArquivoColunar(diretorio, new SimpleMeterRegistry());
+
+        // Assert
+        assertThat(reaberto.usuarios()).isEqualTo(1000);
+        for (Usuario usuario : usuarios) {
+            assertThat(reaberto.buscar(usuario.getId())).contains(new UsuarioDTO(usuario.getId(), usuario.getNome(),
+                    usuario.getEmail(), usuario.getDataCriacao(), usuario.getVersao()));
+            assertThat(reaberto.contemEmail(usuario.getEmail())).isTrue();
+        }
+        assertThat(reaberto.contemEmail("usuario1000@email.com")).isFalse();
+        assertThat(reaberto.buscar(1_000_001L)).isEmpty();
+        assertThat(reaberto.buscar(999_999L)).isEmpty();
+        assertThat(reaberto.buscar(2_000_000L)).isEmpty();
+        try (Stream<Path> particoes = Files.list(diretorio)) {
+            assertThat(particoes.map(particao -> particao.getFileName().toString()))
+                    .containsExactlyInAnyOrder("2023-01", "2023-02");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ler a cópia mais recente de um usuário arquivado duas vezes")
+    void deveLerCopiaMaisRecente() {
+        // Arrange
+        ArquivoColunar arquivo = new ArquivoColunar(diretorio, new SimpleMeterRegistry());
+        arquivo.arquivar(List.of(new Usuario(10L, "Antigo", "antigo@email.com", INICIO, 0L)));
+        arquivo.arquivar(List.of(new Usuario(10L, "Novo", "novo@email.com", INICIO, 1L)));
+
+        // Act
+        ArquivoColunar reaberto = new ArquivoColunar(diretorio, new SimpleMeterRegistry());
+
+        // Assert
+        assertThat(arquivo.buscar(10L)).map(UsuarioDTO::getNome).contains("Novo");
+        assertThat(reaberto.buscar(10L)).map(UsuarioDTO::getNome).contains("Novo");
+    }
+
+    @Test
+    @DisplayName("Deve publicar os segmentos só no commit e apagá-los no rollback")
+    void devePublicarSegmentosSoNoCommit() throws Exception {
+        // Arrange
+        ArquivoColunar arquivo = new ArquivoColunar(diretorio, new SimpleMeterRegistry());
+
+        // Act & Assert - commit
+        List<TransactionSynchronization> confirmada = emTransacao(() ->
+                arquivo.arquivar(List.of(new Usuario(10L, "Confirmado", "confirmado@email.com", INICIO, 0L))));
+        assertThat(arquivo.buscar(10L)).isEmpty();
+        assertThat(arquivo.contemEmail("confirmado@email.com")).isFalse();
+        confirmada.forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(arquivo.buscar(10L)).map(UsuarioDTO::getNome).contains("Confirmado");
+        assertThat(arquivo.contemEmail("confirmado@email.com")).isTrue();
+
+        // Act & Assert - rollback
+        List<TransactionSynchronization> desfeita = emTransacao(() ->
+                arquivo.arquivar(List.of(new Usuario(20L, "Desfeito", "desfeito@email.com", INICIO, 0L))));
+        desfeita.forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertThat(arquivo.buscar(20L)).isEmpty();
+        assertThat(new ArquivoColunar(diretorio, new SimpleMeterRegistry()).usuarios()).isEqualTo(1);
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            assertThat(arquivos.filter(Files::isRegularFile)).hasSize(1);
+        }
+    }
+
+    private static List<TransactionSynchronization> emTransacao(Runnable acao) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            acao.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
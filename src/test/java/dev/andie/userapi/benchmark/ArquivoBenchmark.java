@@ -0,0 +1,106 @@
+package dev.andie.userapi.benchmark;
+
+import dev.andie.userapi.archive.ArquivoColunar;
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.model.Usuario;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Busca por id no arquivo morto com 1 milhão de usuários arquivados em lotes de
+ * 10 mil, como o job faz com o lote padrão: ids crescentes com a data de criação
+ * (como os do Snowflake), espalhados por 24 meses. Mede um id arquivado sorteado e
+ * um id ausente dentro do intervalo arquivado (percorre o índice esparso e
+ * descomprime o bloco), e imprime o tamanho do arquivo por usuário.
+ *
+ * O fork do JMH precisa do classpath na linha de comando, então executar com exec:exec:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath dev.andie.userapi.benchmark.ArquivoBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArquivoBenchmark {
+
+    private static final int USUARIOS = 1_000_000;
+    private static final int LOTE = 10_000;
+    // Ids com intervalos, para existirem ids ausentes dentro de cada bloco
+    private static final long PASSO = 2;
+
+    private Path diretorio;
+    private ArquivoColunar arquivo;
+
+    @Setup
+    public void preparar() throws IOException {
+        diretorio = Files.createTempDirectory("arquivo-benchmark");
+        arquivo = new ArquivoColunar(diretorio, new SimpleMeterRegistry());
+        LocalDateTime inicio = LocalDateTime.of(2022, 1, 1, 0, 0);
+        long segundosPorUsuario = 24L * 30 * 24 * 3600 / USUARIOS;
+        List<Usuario> lote = new ArrayList<>(LOTE);
+        for (int i = 0; i < USUARIOS; i++) {
+            lote.add(new Usuario(id(i), "Usuario " + i, "usuario" + i + "@email.com",
+                    inicio.plusSeconds(i * segundosPorUsuario), (long) i % 3));
+            if (lote.size() == LOTE) {
+                arquivo.arquivar(lote);
+                lote.clear();
+            }
+        }
+        long bytes;
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            bytes = arquivos.filter(Files::isRegularFile).mapToLong(caminho -> caminho.toFile().length()).sum();
+        }
+        System.out.printf("%n%d usuários, %d bytes no disco (%.1f bytes/usuário)%n", USUARIOS, bytes,
+                (double) bytes / USUARIOS);
+    }
+
+    @TearDown
+    public void encerrar() throws IOException {
+        try (Stream<Path> caminhos = Files.walk(diretorio)) {
+            for (Path caminho : caminhos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(caminho);
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<UsuarioDTO> buscarArquivado() {
+        return arquivo.buscar(id(ThreadLocalRandom.current().nextInt(USUARIOS)));
+    }
+
+    @Benchmark
+    public Optional<UsuarioDTO> buscarAusente() {
+        return arquivo.buscar(id(ThreadLocalRandom.current().nextInt(USUARIOS)) + 1);
+    }
+
+    private static long id(int indice) {
+        return 1_000_000_000L + indice * PASSO;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ArquivoBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
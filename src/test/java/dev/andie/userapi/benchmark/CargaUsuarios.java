@@ -0,0 +1,252 @@
+package dev.andie.userapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.andie.userapi.UserApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Driver de carga para /api/usuarios com mistura de leituras e escritas:
+ * 70% GET por id, 15% listagem paginada, 10% PATCH do nome e 5% POST.
+ * Cada usuário virtual é uma thread em laço fechado (sem pausa entre requisições).
+ * Ao final imprime RPS e percentis de latência por operação.
+ *
+ * Sem {@code -Dcarga.url} sobe a aplicação embarcada com o perfil alta-vazao em
+ * porta aleatória. Executar com:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=dev.andie.userapi.benchmark.CargaUsuarios \
+ *     -Dcarga.usuarios=64 -Dcarga.duracao=PT60S
+ * </pre>
+ *
+ * Propriedades: carga.url, carga.usuarios (32), carga.aquecimento (PT10S),
+ * carga.duracao (PT30S), carga.massa (1000 usuários criados antes da medição),
+ * carga.protocolo (HTTP_2, com h2c sobre http://, ou HTTP_1_1 para comparar).
+ */
+public final class CargaUsuarios {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final double[] PERCENTIS = {50, 90, 99, 99.9};
+
+    enum Operacao {
+        BUSCAR(70), LISTAR(15), ATUALIZAR(10), CRIAR(5);
+
+        private final int peso;
+
+        Operacao(int peso) {
+            this.peso = peso;
+        }
+
+        static Operacao sortear(int valor) {
+            for (Operacao operacao : values()) {
+                if (valor < operacao.peso) {
+                    return operacao;
+                }
+                valor -= operacao.peso;
+            }
+            throw new IllegalArgumentException("Valor fora de 0..99: " + valor);
+        }
+    }
+
+    private final URI base;
+    private final int usuarios;
+    private final HttpClient cliente;
+    // Prefixo dos emails gerados, para execuções seguidas contra o mesmo banco não colidirem
+    private final String execucao = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequenciaEmail = new AtomicLong();
+    private final List<Long> ids = new CopyOnWriteArrayList<>();
+
+    CargaUsuarios(URI base, int usuarios, HttpClient.Version versao) {
+        this.base = base;
+        this.usuarios = usuarios;
+        this.cliente = HttpClient.newBuilder()
+                .version(versao)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int usuarios = Integer.getInteger("carga.usuarios", 32);
+        Duration aquecimento = Duration.parse(System.getProperty("carga.aquecimento", "PT10S"));
+        Duration duracao = Duration.parse(System.getProperty("carga.duracao", "PT30S"));
+        int massa = Integer.getInteger("carga.massa", 1000);
+        String url = System.getProperty("carga.url");
+        HttpClient.Version versao = HttpClient.Version.valueOf(System.getProperty("carga.protocolo", "HTTP_2"));
+
+        ConfigurableApplicationContext aplicacao = null;
+        if (url == null) {
+            aplicacao = new SpringApplicationBuilder(UserApiApplication.class)
+                    .profiles("alta-vazao")
+                    .run("--server.port=0");
+            url = "http://localhost:" + aplicacao.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            CargaUsuarios carga = new CargaUsuarios(URI.create(url + "/api/usuarios"), usuarios, versao);
+            carga.popular(massa);
+            carga.executar(aquecimento);
+            Resultado resultado = carga.executar(duracao);
+            resultado.imprimir(System.out, url, usuarios, carga.protocolo());
+        } finally {
+            if (aplicacao != null) {
+                aplicacao.close();
+            }
+        }
+    }
+
+    void popular(int quantidade) throws IOException, InterruptedException {
+        for (int i = 0; i < quantidade; i++) {
+            if (executar(Operacao.CRIAR, ThreadLocalRandom.current()) >= 300) {
+                throw new IllegalStateException("Falha ao criar a massa inicial em " + base);
+            }
+        }
+    }
+
+    Resultado executar(Duration duracao) throws InterruptedException {
+        long fim = System.nanoTime() + duracao.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(usuarios);
+        List<Future<Map<Operacao, Amostras>>> tarefas = new ArrayList<>();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < usuarios; i++) {
+            tarefas.add(executor.submit(() -> usuarioVirtual(fim)));
+        }
+
+        Map<Operacao, Amostras> total = new EnumMap<>(Operacao.class);
+        try {
+            for (Future<Map<Operacao, Amostras>> tarefa : tarefas) {
+                tarefa.get().forEach((operacao, amostras) ->
+                        total.computeIfAbsent(operacao, o -> new Amostras()).juntar(amostras));
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Usuário virtual falhou", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Resultado(total, System.nanoTime() - inicio);
+    }
+
+    private Map<Operacao, Amostras> usuarioVirtual(long fim) throws IOException, InterruptedException {
+        Map<Operacao, Amostras> amostras = new EnumMap<>(Operacao.class);
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        while (System.nanoTime() < fim) {
+            Operacao operacao = Operacao.sortear(aleatorio.nextInt(100));
+            long inicio = System.nanoTime();
+            int status = executar(operacao, aleatorio);
+            amostras.computeIfAbsent(operacao, o -> new Amostras()).registrar(System.nanoTime() - inicio, status);
+        }
+        return amostras;
+    }
+
+    private int executar(Operacao operacao, Random aleatorio) throws IOException, InterruptedException {
+        HttpRequest requisicao = switch (operacao) {
+            case BUSCAR -> HttpRequest.newBuilder(URI.create(base + "/" + idAleatorio(aleatorio))).GET().build();
+            case LISTAR -> HttpRequest.newBuilder(URI.create(base + "?page=" + aleatorio.nextInt(10) + "&size=20"))
+                    .GET().build();
+            case ATUALIZAR -> HttpRequest.newBuilder(URI.create(base + "/" + idAleatorio(aleatorio)))
+                    .header("Content-Type", "application/merge-patch+json")
+                    .method("PATCH", corpo(Map.of("nome", "Carga " + aleatorio.nextInt(1_000_000))))
+                    .build();
+            case CRIAR -> {
+                long n = sequenciaEmail.incrementAndGet();
+                yield HttpRequest.newBuilder(base)
+                        .header("Content-Type", "application/json")
+                        .POST(corpo(Map.of("nome", "Carga " + n, "email", "carga-" + execucao + "-" + n + "@email.com")))
+                        .build();
+            }
+        };
+        HttpResponse<String> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+        if (operacao == Operacao.CRIAR && resposta.statusCode() == 201) {
+            ids.add(JSON.readTree(resposta.body()).get("id").asLong());
+        }
+        return resposta.statusCode();
+    }
+
+    private long idAleatorio(Random aleatorio) {
+        return ids.get(aleatorio.nextInt(ids.size()));
+    }
+
+    private HttpRequest.BodyPublisher corpo(Map<String, String> valores) throws IOException {
+        return HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(valores));
+    }
+
+    private HttpClient.Version protocolo() throws IOException, InterruptedException {
+        return cliente.send(HttpRequest.newBuilder(base).GET().build(), HttpResponse.BodyHandlers.discarding()).version();
+    }
+
+    /**
+     * Latências (ns) das respostas 2xx de uma operação; as demais contam como erro.
+     */
+    static final class Amostras {
+
+        private long[] latencias = new long[1024];
+        private int tamanho;
+        private long erros;
+
+        void registrar(long nanos, int status) {
+            if (status < 200 || status >= 300) {
+                erros++;
+                return;
+            }
+            if (tamanho == latencias.length) {
+                latencias = Arrays.copyOf(latencias, tamanho * 2);
+            }
+            latencias[tamanho++] = nanos;
+        }
+
+        void juntar(Amostras outras) {
+            for (int i = 0; i < outras.tamanho; i++) {
+                registrar(outras.latencias[i], 200);
+            }
+            erros += outras.erros;
+        }
+
+        long[] ordenadas() {
+            long[] copia = Arrays.copyOf(latencias, tamanho);
+            Arrays.sort(copia);
+            return copia;
+        }
+    }
+
+    record Resultado(Map<Operacao, Amostras> porOperacao, long duracaoNanos) {
+
+        void imprimir(PrintStream saida, String url, int usuarios, HttpClient.Version protocolo) {
+            double segundos = duracaoNanos / 1e9;
+            saida.printf("%nAlvo: %s (%s), %d usuários virtuais, %.1f s%n", url, protocolo, usuarios, segundos);
+            saida.printf("%-10s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                    "operacao", "ok", "erros", "rps", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            Amostras todas = new Amostras();
+            porOperacao.forEach((operacao, amostras) -> {
+                linha(saida, operacao.name(), amostras, segundos);
+                todas.juntar(amostras);
+            });
+            linha(saida, "TOTAL", todas, segundos);
+        }
+
+        private static void linha(PrintStream saida, String nome, Amostras amostras, double segundos) {
+            long[] ordenadas = amostras.ordenadas();
+            saida.printf("%-10s %9d %7d %9.1f", nome, ordenadas.length, amostras.erros, ordenadas.length / segundos);
+            for (double percentil : PERCENTIS) {
+                saida.printf(" %9.2f", percentil(ordenadas, percentil) / 1e6);
+            }
+            saida.printf(" %9.2f%n", ordenadas.length == 0 ? 0 : ordenadas[ordenadas.length - 1] / 1e6);
+        }
+
+        private static double percentil(long[] ordenadas, double percentil) {
+            if (ordenadas.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(percentil / 100 * ordenadas.length) - 1;
+            return ordenadas[Math.max(0, indice)];
+        }
+    }
+}
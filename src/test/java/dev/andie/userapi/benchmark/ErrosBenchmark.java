@@ -0,0 +1,102 @@
+package dev.andie.userapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.andie.userapi.controller.EscritorCampos;
+import dev.andie.userapi.controller.UsuarioController;
+import dev.andie.userapi.exception.ErroEsperado;
+import dev.andie.userapi.exception.GlobalExceptionHandler;
+import dev.andie.userapi.exception.ResourceNotFoundException;
+import dev.andie.userapi.service.UsuarioService;
+import dev.andie.userapi.validation.ValidadorUsuario;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Custo de um 404 (GET de id inexistente), com e sem stack trace nos erros esperados:
+ * <ul>
+ *   <li>{@code lancarETratar}: lança o ResourceNotFoundException a {@code profundidade}
+ *   frames do handler, como atrás dos filtros e proxies de uma requisição real, e monta
+ *   a resposta no GlobalExceptionHandler;</li>
+ *   <li>{@code buscarInexistente}: a requisição inteira pelo Spring MVC (MockMvc), com
+ *   serialização do problem+json.</li>
+ * </ul>
+ * Executar com:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath dev.andie.userapi.benchmark.ErrosBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrosBenchmark {
+
+    @Param({"false", "true"})
+    private boolean rastreio;
+
+    @Param("120")
+    private int profundidade;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private MockMvc mockMvc;
+    private long id;
+
+    @Setup
+    public void preparar() {
+        ErroEsperado.configurarRastreio(rastreio);
+        // stubOnly: sem registrar as chamadas, que cresceriam a cada iteração
+        UsuarioService service = mock(UsuarioService.class, withSettings().stubOnly());
+        when(service.buscarPorId(anyLong())).thenAnswer(chamada -> {
+            throw new ResourceNotFoundException("Usuário não encontrado com ID: " + chamada.getArgument(0));
+        });
+        mockMvc = MockMvcBuilders.standaloneSetup(new UsuarioController(service, new ValidadorUsuario(),
+                        new EscritorCampos(new ObjectMapper())))
+                .setControllerAdvice(handler)
+                .build();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> lancarETratar() {
+        try {
+            return buscar(profundidade, ++id);
+        } catch (ResourceNotFoundException e) {
+            return handler.handleResourceNotFound(e);
+        }
+    }
+
+    @Benchmark
+    public int buscarInexistente() throws Exception {
+        return mockMvc.perform(get("/api/usuarios/{id}", ++id)).andReturn().getResponse().getStatus();
+    }
+
+    private static ResponseEntity<?> buscar(int profundidade, long id) {
+        if (profundidade == 0) {
+            throw new ResourceNotFoundException("Usuário não encontrado com ID: " + id);
+        }
+        return buscar(profundidade - 1, id);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ErrosBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,113 @@
+package dev.andie.userapi.benchmark;
+
+import dev.andie.userapi.UserApiApplication;
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.service.UsuarioService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência de uma página de GET /api/usuarios (20 linhas, pelo serviço) por campo
+ * de ordenação, com 1 milhão de usuários no H2 em memória. Cada ordenação aceita
+ * pelo controller percorre o seu índice; {@code versao} não tem índice e mostra o
+ * custo da ordenação completa da tabela que a lista de campos aceitos evita.
+ *
+ * A massa é inserida por JDBC em lotes, com nomes repetidos para o desempate pelo
+ * id importar. Cada chamada pede uma das {@value #PAGINAS} páginas seguintes à
+ * inicial: o H2 reaproveita o resultado de uma consulta repetida sem escritas no
+ * meio, e a mesma página sempre mediria só esse cache. O fork do JMH precisa do classpath na linha de comando, então
+ * executar com exec:exec:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath dev.andie.userapi.benchmark.OrdenacaoBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class OrdenacaoBenchmark {
+
+    private static final int USUARIOS = 1_000_000;
+    private static final int LOTE = 10_000;
+    private static final int TAMANHO_PAGINA = 20;
+    private static final int PAGINAS = 64;
+
+    // Mesma ordenação que o controller repassa ao serviço para cada sort=
+    private static final Map<String, Sort> ORDENACOES = Map.of(
+            "id", Sort.by("id"),
+            "nome", Sort.by("nome", "id"),
+            "email", Sort.by("email"),
+            "dataCriacao", Sort.by("dataCriacao", "id"),
+            "versao", Sort.by("versao", "id"));
+
+    @Param({"id", "nome", "email", "dataCriacao", "versao"})
+    private String ordenacao;
+
+    @Param({"0", "5000"})
+    private int pagina;
+
+    private ConfigurableApplicationContext aplicacao;
+    private UsuarioService service;
+    private Sort sort;
+    private int sequencia;
+
+    @Setup
+    public void preparar() {
+        aplicacao = new SpringApplicationBuilder(UserApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--logging.level.root=WARN", "--spring.main.banner-mode=off");
+        popular(aplicacao.getBean(JdbcTemplate.class));
+        service = aplicacao.getBean(UsuarioService.class);
+        sort = ORDENACOES.get(ordenacao);
+    }
+
+    @TearDown
+    public void encerrar() {
+        aplicacao.close();
+    }
+
+    @Benchmark
+    public Page<UsuarioDTO> listarPagina() {
+        int deslocamento = sequencia++ % PAGINAS;
+        return service.listarTodos(PageRequest.of(pagina + deslocamento, TAMANHO_PAGINA, sort));
+    }
+
+    private static void popular(JdbcTemplate jdbc) {
+        LocalDateTime inicio = LocalDateTime.now().minusDays(365);
+        List<Object[]> lote = new ArrayList<>(LOTE);
+        for (int i = 1; i <= USUARIOS; i++) {
+            // Chaves fora da ordem de inserção, para nenhum índice coincidir com o id
+            long embaralhado = (i * 7_919L) % USUARIOS;
+            lote.add(new Object[]{(long) i, "Usuario " + embaralhado % 50_000, "usuario" + embaralhado + "@email.com",
+                    Timestamp.valueOf(inicio.plusSeconds(embaralhado * 31)), embaralhado % 7});
+            if (lote.size() == LOTE) {
+                jdbc.batchUpdate("insert into usuarios (id, nome, email, data_criacao, versao) values (?, ?, ?, ?, ?)",
+                        lote);
+                lote.clear();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OrdenacaoBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,108 @@
+package dev.andie.userapi.benchmark;
+
+import dev.andie.userapi.UserApiApplication;
+import dev.andie.userapi.snapshot.SnapshotUsuarios;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gravação e restauração do snapshot da tabela usuarios com 1 milhão de linhas no
+ * H2 em memória, medidas uma a uma (SingleShotTime): {@code gravar} lê a tabela e
+ * escreve o arquivo; {@code restaurar} parte da tabela vazia e a popula de volta
+ * a partir do arquivo, como na subida da aplicação. O tamanho do arquivo e a vazão
+ * saem também no log do {@link SnapshotUsuarios}.
+ *
+ * O fork do JMH precisa do classpath na linha de comando, então executar com exec:exec:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath dev.andie.userapi.benchmark.SnapshotBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class SnapshotBenchmark {
+
+    private static final int USUARIOS = 1_000_000;
+    private static final int LOTE = 10_000;
+
+    private ConfigurableApplicationContext aplicacao;
+    private SnapshotUsuarios snapshot;
+    private JdbcTemplate jdbc;
+    private Path diretorio;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        diretorio = Files.createTempDirectory("user-api-snapshot-benchmark");
+        aplicacao = new SpringApplicationBuilder(UserApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--logging.level.root=WARN", "--logging.level.dev.andie.userapi.snapshot=INFO",
+                        "--spring.main.banner-mode=off", "--app.snapshot.habilitado=true",
+                        "--app.snapshot.intervalo=PT24H", "--app.snapshot.arquivo=" + diretorio.resolve("usuarios.snap"));
+        jdbc = aplicacao.getBean(JdbcTemplate.class);
+        snapshot = aplicacao.getBean(SnapshotUsuarios.class);
+        popular(jdbc);
+        snapshot.gravar();
+    }
+
+    @Setup(Level.Invocation)
+    public void esvaziar(BenchmarkParams params) {
+        if (params.getBenchmark().endsWith("restaurar")) {
+            jdbc.execute("truncate table usuarios");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws IOException {
+        aplicacao.close();
+        Files.deleteIfExists(diretorio.resolve("usuarios.snap"));
+        Files.deleteIfExists(diretorio);
+    }
+
+    @Benchmark
+    public void gravar() {
+        snapshot.gravar();
+    }
+
+    @Benchmark
+    public void restaurar() {
+        snapshot.restaurar();
+    }
+
+    private static void popular(JdbcTemplate jdbc) {
+        LocalDateTime inicio = LocalDateTime.now().minusDays(365);
+        List<Object[]> lote = new ArrayList<>(LOTE);
+        for (int i = 1; i <= USUARIOS; i++) {
+            lote.add(new Object[]{(long) i, "Usuario " + i, "usuario" + i + "@email.com",
+                    Timestamp.valueOf(inicio.plusSeconds(i * 31L)), (long) i % 7});
+            if (lote.size() == LOTE) {
+                jdbc.batchUpdate("insert into usuarios (id, nome, email, data_criacao, versao) values (?, ?, ?, ?, ?)",
+                        lote);
+                lote.clear();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SnapshotBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,47 @@
+package dev.andie.userapi.benchmark;
+
+import dev.andie.userapi.id.Snowflake;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão do gerador de ids com 1 e 8 threads disputando o mesmo nó.
+ *
+ * Executar com:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=dev.andie.userapi.benchmark.SnowflakeBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnowflakeBenchmark {
+
+    private final Snowflake snowflake = new Snowflake(1);
+
+    @Benchmark
+    @Threads(1)
+    public long umaThread() {
+        return snowflake.proximo();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long oitoThreads() {
+        return snowflake.proximo();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SnowflakeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,148 @@
+package dev.andie.userapi.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Testes do CacheUsuarios")
+class CacheUsuariosTest {
+
+    private final ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+    private final Map<Long, UsuarioDTO> banco = new ConcurrentHashMap<>();
+    private final AtomicInteger cargas = new AtomicInteger();
+    private final List<Long> evictadosNoHibernate = new CopyOnWriteArrayList<>();
+    private final LongFunction<UsuarioDTO> carregar = id -> {
+        cargas.incrementAndGet();
+        UsuarioDTO usuario = banco.get(id);
+        if (usuario == null) {
+            throw new ResourceNotFoundException("Usuário não encontrado com ID: " + id);
+        }
+        return usuario;
+    };
+
+    private CacheCompartilhado compartilhado;
+
+    @BeforeEach
+    void setUp() {
+        compartilhado = new CacheCompartilhadoLocal();
+        banco.put(1L, usuario(1L, "Maria"));
+    }
+
+    @Test
+    @DisplayName("Deve servir do nível local e, em outra instância, do compartilhado")
+    void deveServirDosDoisNiveis() {
+        // Arrange
+        CacheUsuarios noA = no();
+        CacheUsuarios noB = no();
+
+        // Act
+        noA.buscar(1L, carregar);
+        noA.buscar(1L, carregar);
+        UsuarioDTO doCompartilhado = noB.buscar(1L, carregar);
+
+        // Assert
+        assertThat(cargas).hasValue(1);
+        assertThat(doCompartilhado.getNome()).isEqualTo("Maria");
+        assertThat(doCompartilhado.getDataCriacao()).isEqualTo(banco.get(1L).getDataCriacao());
+        assertThat(noA.taxaAcertoLocal()).isEqualTo(0.5);
+        assertThat(noB.taxaAcertoCompartilhado()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o usuário em todas as instâncias após uma escrita")
+    void deveInvalidarEmTodasAsInstancias() {
+        // Arrange
+        CacheUsuarios noA = no();
+        CacheUsuarios noB = no();
+        noA.buscar(1L, carregar);
+        noB.buscar(1L, carregar);
+
+        // Act - escrita no nó A
+        banco.put(1L, usuario(1L, "Maria Souza"));
+        noA.invalidar(1L);
+
+        // Assert
+        assertThat(noB.buscar(1L, carregar).getNome()).isEqualTo("Maria Souza");
+        assertThat(noA.buscar(1L, carregar).getNome()).isEqualTo("Maria Souza");
+        assertThat(evictadosNoHibernate).containsExactly(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Deve carregar uma única vez com leituras simultâneas da mesma chave")
+    void deveCarregarUmaVezSobConcorrencia() throws Exception {
+        // Arrange
+        CacheUsuarios cache = no();
+        CountDownLatch largada = new CountDownLatch(1);
+        LongFunction<UsuarioDTO> carregarDevagar = id -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return carregar.apply(id);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // Act
+        List<Future<UsuarioDTO>> leituras = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            leituras.add(executor.submit(() -> {
+                largada.await();
+                return cache.buscar(1L, carregarDevagar);
+            }));
+        }
+        largada.countDown();
+        for (Future<UsuarioDTO> leitura : leituras) {
+            assertThat(leitura.get(5, TimeUnit.SECONDS).getNome()).isEqualTo("Maria");
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(cargas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar usuário inexistente nem falhar com o nível compartilhado fora do ar")
+    void deveIgnorarFalhasDoCompartilhado() {
+        // Arrange
+        CacheCompartilhado foraDoAr = new CacheCompartilhadoLocal() {
+            @Override
+            public String obter(String chave) {
+                throw new IllegalStateException("Conexão recusada");
+            }
+        };
+        CacheUsuarios cache = new CacheUsuarios(foraDoAr, json, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(1), Duration.ofMinutes(1), evictadosNoHibernate::add);
+
+        // Act & Assert
+        assertThat(cache.buscar(1L, carregar).getNome()).isEqualTo("Maria");
+        assertThatThrownBy(() -> cache.buscar(2L, carregar)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> cache.buscar(2L, carregar)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(cargas).hasValue(3);
+    }
+
+    private CacheUsuarios no() {
+        return new CacheUsuarios(compartilhado, json, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(1), Duration.ofMinutes(1), evictadosNoHibernate::add);
+    }
+
+    private static UsuarioDTO usuario(Long id, String nome) {
+        return new UsuarioDTO(id, nome, "maria@email.com", LocalDateTime.of(2024, 1, 2, 3, 4, 5), 0L);
+    }
+}
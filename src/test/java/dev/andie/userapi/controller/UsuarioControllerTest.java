@@ -1,8 +1,10 @@
 package dev.andie.userapi.controller;
 
+import dev.andie.userapi.dto.CampoUsuario;
 import dev.andie.userapi.dto.UsuarioDTO;
 import dev.andie.userapi.exception.*;
 import dev.andie.userapi.service.UsuarioService;
+import dev.andie.userapi.validation.ValidadorUsuario;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,28 +13,36 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+// @MockBean não é suportado no processamento AOT (perfil nativeTest)
+@DisabledInAotMode
 @WebMvcTest(UsuarioController.class)
+@Import({ValidadorUsuario.class, EscritorCampos.class})
 @DisplayName("Testes do UsuarioController")
 class UsuarioControllerTest {
 
@@ -120,6 +130,120 @@ class UsuarioControllerTest {
         verify(service, times(1)).listarTodos(any());
     }
 
+    @Test
+    @DisplayName("GET /api/usuarios - Deve desempatar a ordenação por nome pelo id")
+    void deveDesempatarOrdenacaoPorNomePeloId() throws Exception {
+        // Arrange
+        when(service.listarTodos(any())).thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 10), 0));
+
+        // Act
+        mockMvc.perform(get("/api/usuarios")
+                        .param("sort", "nome,desc"))
+                .andExpect(status().isOk());
+
+        // Assert
+        verify(service).listarTodos(argThat(pageable -> pageable.getSort().equals(
+                Sort.by(Sort.Direction.DESC, "nome", "id"))));
+    }
+
+    @Test
+    @DisplayName("GET /api/usuarios - Deve retornar 400 para ordenação sem índice")
+    void deveRetornar400ParaOrdenacaoSemIndice() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/usuarios")
+                        .param("sort", "versao"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("versao")));
+        mockMvc.perform(get("/api/usuarios")
+                        .param("sort", "nome")
+                        .param("sort", "email"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    @DisplayName("GET /api/usuarios - Deve retornar 400 com sort ou fields junto do período")
+    void deveRetornar400ComSortOuFieldsNoPeriodo() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/usuarios")
+                        .param("createdFrom", "2024-01-01T00:00:00")
+                        .param("createdTo", "2024-02-01T00:00:00")
+                        .param("sort", "nome"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("sort")));
+        mockMvc.perform(get("/api/usuarios")
+                        .param("createdFrom", "2024-01-01T00:00:00")
+                        .param("createdTo", "2024-02-01T00:00:00")
+                        .param("fields", "id"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("fields")));
+
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    @DisplayName("GET /api/usuarios - Deve retornar 400 com só um dos limites do período")
+    void deveRetornar400ComPeriodoIncompleto() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/usuarios")
+                        .param("createdFrom", "2024-01-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("createdTo")));
+        mockMvc.perform(get("/api/usuarios")
+                        .param("createdTo", "2024-01-01T00:00:00")
+                        .param("fields", "id"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    @DisplayName("GET /api/usuarios?fields= - Deve devolver só os campos pedidos")
+    void deveListarSoOsCamposPedidos() throws Exception {
+        // Arrange
+        Page<UsuarioDTO> page = new PageImpl<>(List.of(usuarioSetUpDTO), PageRequest.of(0, 10), 1);
+        when(service.listarTodos(any(), eq(EnumSet.of(CampoUsuario.ID, CampoUsuario.NOME)))).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/usuarios")
+                        .param("fields", "id,nome"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[0].id").value("1"))
+                .andExpect(jsonPath("$.content[0].nome").value(usuarioSetUpDTO.getNome()))
+                .andExpect(jsonPath("$.content[0].email").doesNotExist())
+                .andExpect(jsonPath("$.content[0].dataCriacao").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/usuarios/{id}?fields= - Deve devolver só os campos pedidos")
+    void deveBuscarSoOsCamposPedidos() throws Exception {
+        // Arrange
+        when(service.buscarPorId(1L, EnumSet.of(CampoUsuario.EMAIL))).thenReturn(usuarioSetUpDTO);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/usuarios/1")
+                        .param("fields", "email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(usuarioSetUpDTO.getEmail()))
+                .andExpect(jsonPath("$.id").doesNotExist())
+                .andExpect(jsonPath("$.nome").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/usuarios?fields= - Deve retornar 400 para campo desconhecido")
+    void deveRetornar400ParaCampoDesconhecido() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/usuarios")
+                        .param("fields", "id,senha"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("senha")));
+
+        verifyNoInteractions(service);
+    }
+
     // ==================== TESTES DE GET /api/usuarios/{id} ====================
 
     @Test
@@ -131,7 +255,7 @@ class UsuarioControllerTest {
         // Act & Assert
         mockMvc.perform(get("/api/usuarios/1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(usuarioSetUpDTO.getId()))
+                .andExpect(jsonPath("$.id").value(usuarioSetUpDTO.getId().toString()))
                 .andExpect(jsonPath("$.nome").value(usuarioSetUpDTO.getNome()))
                 .andExpect(jsonPath("$.email").value(usuarioSetUpDTO.getEmail()));
 
@@ -148,7 +272,13 @@ class UsuarioControllerTest {
         // Act & Assert
         mockMvc.perform(get("/api/usuarios/999"))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("Usuário não encontrado com ID: 999"));
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.title").value("Not Found"))
+                .andExpect(jsonPath("$.detail").value("Usuário não encontrado com ID: 999"))
+                .andExpect(jsonPath("$.instance").value("/api/usuarios/999"))
+                .andExpect(jsonPath("$.message").value("Usuário não encontrado com ID: 999"))
+                .andExpect(jsonPath("$.timestamp").doesNotExist());
 
         verify(service, times(1)).buscarPorId(999L);
     }
@@ -177,7 +307,7 @@ class UsuarioControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(novoUsuario)))
                 .andExpect(status().isCreated())
-                .andExpect(jsonPath("$.id").value(2))
+                .andExpect(jsonPath("$.id").value("2"))
                 .andExpect(jsonPath("$.nome").value(usuarioCriado.getNome()))
                 .andExpect(jsonPath("$.email").value(usuarioCriado.getEmail()))
                 .andExpect(jsonPath("$.dataCriacao").exists());
@@ -255,7 +385,7 @@ class UsuarioControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(usuarioAtualizado)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(usuarioAtualizado.getId()))
+                .andExpect(jsonPath("$.id").value(usuarioAtualizado.getId().toString()))
                 .andExpect(jsonPath("$.nome").value(usuarioAtualizado.getNome()))
                 .andExpect(jsonPath("$.email").value(usuarioAtualizado.getEmail()));
 
@@ -0,0 +1,84 @@
+package dev.andie.userapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dev.andie.userapi.sharding.ShardDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do CheckpointPools")
+class CheckpointPoolsTest {
+
+    private HikariDataSource shard0;
+    private HikariDataSource shard1;
+    private CheckpointPools checkpoint;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        shard0 = pool("checkpoint0");
+        shard1 = pool("checkpoint1");
+        checkpoint = new CheckpointPools(new ShardDataSource(List.of(shard0, shard1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        shard0.close();
+        shard1.close();
+    }
+
+    @Test
+    @DisplayName("Deve fechar as conexões de todos os pools no checkpoint")
+    void deveFecharConexoesNoCheckpoint() {
+        // Arrange
+        assertThat(checkpoint.isRunning()).isTrue();
+
+        // Act
+        checkpoint.stop();
+
+        // Assert
+        assertThat(checkpoint.isRunning()).isFalse();
+        assertThat(shard0.getHikariPoolMXBean().getTotalConnections()).isZero();
+        assertThat(shard1.getHikariPoolMXBean().getTotalConnections()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve voltar a entregar conexões após o restore")
+    void deveEntregarConexoesAposRestore() throws SQLException {
+        // Arrange
+        checkpoint.stop();
+
+        // Act
+        checkpoint.start();
+
+        // Assert
+        assertThat(checkpoint.isRunning()).isTrue();
+        try (Connection conexao = shard1.getConnection()) {
+            assertThat(conexao.isValid(1)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ignorar DataSource sem roteamento")
+    void deveIgnorarDataSourceSemRoteamento() {
+        assertThat(new CheckpointPools(shard0).isRunning()).isFalse();
+    }
+
+    private static HikariDataSource pool(String nome) throws SQLException {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1");
+        pool.setPoolName(nome);
+        pool.setMinimumIdle(2);
+        pool.setAllowPoolSuspension(true);
+        // Abre o pool antes do teste, como já estaria no momento do checkpoint
+        pool.getConnection().close();
+        return pool;
+    }
+}
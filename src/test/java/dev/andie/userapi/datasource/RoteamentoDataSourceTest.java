@@ -0,0 +1,131 @@
+package dev.andie.userapi.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes do RoteamentoDataSource")
+@DisabledInNativeImage
+class RoteamentoDataSourceTest {
+
+    private DataSource primario;
+    private DataSource replica0;
+    private DataSource replica1;
+    private Replica r0;
+    private Replica r1;
+    private RoteamentoDataSource roteamento;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primario = dataSource();
+        replica0 = dataSource();
+        replica1 = dataSource();
+        r0 = new Replica("replica-0", replica0);
+        r1 = new Replica("replica-1", replica1);
+        ConjuntoReplicas replicas = new ConjuntoReplicas(List.of(r0, r1), SelecaoReplica.ROUND_ROBIN);
+        roteamento = new RoteamentoDataSource(primario, replicas,
+                new LeituraPropria(Duration.ofMinutes(1)), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoteamentoTransactionManager.definirSomenteLeitura(null);
+        LeituraPropria.limparCliente();
+    }
+
+    @Test
+    @DisplayName("Deve enviar escritas ao primário")
+    void deveEnviarEscritasAoPrimario() throws SQLException {
+        // Arrange
+        RoteamentoTransactionManager.definirSomenteLeitura(false);
+
+        // Act
+        roteamento.getConnection();
+
+        // Assert
+        verify(primario).getConnection();
+        verifyNoInteractions(replica0, replica1);
+    }
+
+    @Test
+    @DisplayName("Deve alternar leituras entre as réplicas")
+    void deveAlternarLeiturasEntreReplicas() throws SQLException {
+        // Arrange
+        somenteLeitura();
+
+        // Act
+        roteamento.getConnection();
+        roteamento.getConnection();
+        roteamento.getConnection();
+
+        // Assert
+        verify(replica0, times(2)).getConnection();
+        verify(replica1, times(1)).getConnection();
+        verifyNoInteractions(primario);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar réplica fora do ar e voltar ao primário sem nenhuma")
+    void deveIgnorarReplicaForaDoAr() throws SQLException {
+        // Arrange
+        somenteLeitura();
+        when(replica0.getConnection()).thenThrow(new SQLException("fora do ar"));
+        r0.verificar();
+
+        // Act
+        roteamento.getConnection();
+        roteamento.getConnection();
+
+        // Assert
+        assertThat(r0.saudavel()).isFalse();
+        verify(replica1, times(2)).getConnection();
+
+        when(replica1.getConnection()).thenThrow(new SQLException("fora do ar"));
+        r1.verificar();
+        roteamento.getConnection();
+        verify(primario).getConnection();
+    }
+
+    @Test
+    @DisplayName("Deve ler do primário logo após escrita do mesmo cliente")
+    void deveLerDoPrimarioAposEscritaDoMesmoCliente() throws SQLException {
+        // Arrange
+        LeituraPropria.definirCliente("cliente-a");
+        RoteamentoTransactionManager.definirSomenteLeitura(false);
+        roteamento.getConnection();
+
+        // Act
+        somenteLeitura();
+        roteamento.getConnection();
+        LeituraPropria.definirCliente("cliente-b");
+        roteamento.getConnection();
+
+        // Assert
+        verify(primario, times(2)).getConnection();
+        verify(replica0).getConnection();
+    }
+
+    private void somenteLeitura() {
+        RoteamentoTransactionManager.definirSomenteLeitura(true);
+    }
+
+    private static DataSource dataSource() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection conexao = mock(Connection.class);
+        when(conexao.isValid(anyInt())).thenReturn(true);
+        when(dataSource.getConnection()).thenReturn(conexao);
+        return dataSource;
+    }
+}
@@ -0,0 +1,41 @@
+package dev.andie.userapi.exception;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do ErroEsperado")
+class ErroEsperadoTest {
+
+    @AfterEach
+    void restaurar() {
+        ErroEsperado.configurarRastreio(false);
+    }
+
+    @Test
+    @DisplayName("Não deve capturar stack trace por padrão")
+    void naoDeveCapturarStackTrace() {
+        // Act
+        ResourceNotFoundException erro = new ResourceNotFoundException("Usuário não encontrado com ID: 1");
+
+        // Assert
+        assertThat(erro.getStackTrace()).isEmpty();
+        assertThat(erro.getMessage()).isEqualTo("Usuário não encontrado com ID: 1");
+    }
+
+    @Test
+    @DisplayName("Deve capturar stack trace com o rastreio ligado")
+    void deveCapturarStackTraceComRastreio() {
+        // Arrange
+        ErroEsperado.configurarRastreio(true);
+
+        // Act
+        ConflictException erro = new ConflictException("Email já cadastrado");
+
+        // Assert
+        assertThat(erro.getStackTrace()).isNotEmpty();
+        assertThat(erro.getStackTrace()[0].getMethodName()).isEqualTo("deveCapturarStackTraceComRastreio");
+    }
+}
@@ -0,0 +1,115 @@
+package dev.andie.userapi.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Testes do Snowflake")
+class SnowflakeTest {
+
+    @Test
+    @DisplayName("Deve gerar ids únicos e crescentes por thread sob concorrência")
+    void deveGerarIdsUnicosSobConcorrencia() throws Exception {
+        // Arrange
+        Snowflake snowflake = new Snowflake(3);
+        int threads = 8;
+        int porThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<long[]>> resultados = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            resultados.add(executor.submit(() -> {
+                long[] ids = new long[porThread];
+                for (int i = 0; i < porThread; i++) {
+                    ids[i] = snowflake.proximo();
+                }
+                return ids;
+            }));
+        }
+
+        // Assert
+        Set<Long> todos = new HashSet<>();
+        for (Future<long[]> resultado : resultados) {
+            long[] ids = resultado.get();
+            for (int i = 0; i < ids.length; i++) {
+                assertThat(todos.add(ids[i])).isTrue();
+                if (i > 0) {
+                    assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+                }
+            }
+        }
+        assertThat(todos).hasSize(threads * porThread);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve codificar nó e instante no id")
+    void deveCodificarNoEInstante() {
+        // Arrange
+        long agora = Instant.parse("2026-03-01T12:00:00Z").toEpochMilli();
+        Snowflake snowflake = new Snowflake(517, () -> agora);
+
+        // Act
+        long id = snowflake.proximo();
+
+        // Assert
+        assertThat(id).isPositive();
+        assertThat(Snowflake.no(id)).isEqualTo(517);
+        assertThat(Snowflake.instante(id)).isEqualTo(Instant.ofEpochMilli(agora));
+    }
+
+    @Test
+    @DisplayName("Deve continuar crescente quando o relógio volta")
+    void deveContinuarCrescenteQuandoRelogioVolta() {
+        // Arrange
+        AtomicLong relogio = new AtomicLong(Snowflake.EPOCA + 10_000);
+        Snowflake snowflake = new Snowflake(0, relogio::get);
+        long antes = snowflake.proximo();
+
+        // Act
+        relogio.addAndGet(-5_000);
+        long depois = snowflake.proximo();
+
+        // Assert
+        assertThat(depois).isGreaterThan(antes);
+    }
+
+    @Test
+    @DisplayName("Deve avançar o milissegundo quando a sequência estoura")
+    void deveAvancarMilissegundoQuandoSequenciaEstoura() {
+        // Arrange
+        long agora = Snowflake.EPOCA + 10_000;
+        Snowflake snowflake = new Snowflake(0, () -> agora);
+
+        // Act
+        long ultimo = 0;
+        for (int i = 0; i <= 4096; i++) {
+            ultimo = snowflake.proximo();
+        }
+
+        // Assert
+        assertThat(Snowflake.instante(ultimo)).isEqualTo(Instant.ofEpochMilli(agora + 1));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar nó fora do intervalo")
+    void deveRejeitarNoInvalido() {
+        assertThatThrownBy(() -> new Snowflake(Snowflake.MAX_NO + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Snowflake(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
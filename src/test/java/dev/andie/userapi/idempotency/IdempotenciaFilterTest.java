@@ -0,0 +1,280 @@
+package dev.andie.userapi.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do IdempotenciaFilter")
+class IdempotenciaFilterTest {
+
+    private final AtomicInteger execucoes = new AtomicInteger();
+
+    @Test
+    @DisplayName("Deve executar uma vez com repetições simultâneas da mesma chave")
+    void deveExecutarUmaVezComRepeticoesSimultaneas() throws Exception {
+        // Arrange
+        IdempotenciaFilter filtro = filtro(Duration.ofSeconds(10));
+        CountDownLatch emExecucao = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        FilterChain cadastro = (request, response) -> {
+            execucoes.incrementAndGet();
+            emExecucao.countDown();
+            aguardar(liberar);
+            responder((HttpServletResponse) response, 201, "{\"id\":1}");
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // Act
+        List<Future<MockHttpServletResponse>> respostas = new ArrayList<>();
+        respostas.add(executor.submit(() -> enviar(filtro, "chave", "{\"nome\":\"A\"}", cadastro)));
+        emExecucao.await(5, TimeUnit.SECONDS);
+        for (int i = 0; i < 3; i++) {
+            respostas.add(executor.submit(() -> enviar(filtro, "chave", "{\"nome\":\"A\"}", cadastro)));
+        }
+        Thread.sleep(100);
+        liberar.countDown();
+
+        // Assert
+        for (Future<MockHttpServletResponse> resposta : respostas) {
+            MockHttpServletResponse recebida = resposta.get(5, TimeUnit.SECONDS);
+            assertThat(recebida.getStatus()).isEqualTo(201);
+            assertThat(recebida.getContentAsString()).isEqualTo("{\"id\":1}");
+        }
+        assertThat(execucoes).hasValue(1);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve liberar a chave quando a primeira requisição responde 5xx")
+    void deveLiberarChaveAposErroDoServidor() throws Exception {
+        // Arrange
+        IdempotenciaFilter filtro = filtro(Duration.ofSeconds(1));
+        FilterChain instavel = (request, response) -> responder((HttpServletResponse) response,
+                execucoes.incrementAndGet() == 1 ? 503 : 201, "{}");
+
+        // Act
+        MockHttpServletResponse primeira = enviar(filtro, "chave", "{}", instavel);
+        MockHttpServletResponse segunda = enviar(filtro, "chave", "{}", instavel);
+        MockHttpServletResponse terceira = enviar(filtro, "chave", "{}", instavel);
+
+        // Assert
+        assertThat(primeira.getStatus()).isEqualTo(503);
+        assertThat(segunda.getStatus()).isEqualTo(201);
+        assertThat(terceira.getStatus()).isEqualTo(201);
+        assertThat(terceira.getHeader(IdempotenciaFilter.REPETIDA)).isEqualTo("true");
+        assertThat(execucoes).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Deve responder 409 quando a primeira requisição demora mais que a espera")
+    void deveResponder409QuandoPrimeiraDemora() throws Exception {
+        // Arrange
+        IdempotenciaFilter filtro = filtro(Duration.ofMillis(50));
+        CountDownLatch emExecucao = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        FilterChain lento = (request, response) -> {
+            emExecucao.countDown();
+            aguardar(liberar);
+            responder((HttpServletResponse) response, 201, "{}");
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<MockHttpServletResponse> primeira = executor.submit(() -> enviar(filtro, "lenta", "{}", lento));
+        emExecucao.await(5, TimeUnit.SECONDS);
+
+        // Act
+        MockHttpServletResponse repeticao = enviar(filtro, "lenta", "{}", lento);
+        liberar.countDown();
+
+        // Assert
+        assertThat(repeticao.getStatus()).isEqualTo(409);
+        assertThat(repeticao.getContentType()).isEqualTo("application/problem+json");
+        assertThat(primeira.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve separar a mesma chave enviada por clientes diferentes")
+    void deveSepararChavesPorCliente() throws Exception {
+        // Arrange
+        IdempotenciaFilter filtro = filtro(Duration.ofSeconds(1));
+        FilterChain cadastro = (request, response) -> responder((HttpServletResponse) response, 201,
+                "{\"id\":" + execucoes.incrementAndGet() + "}");
+
+        // Act
+        MockHttpServletResponse doA = enviar(filtro, "cliente-a", "chave", "{}", cadastro);
+        MockHttpServletResponse doB = enviar(filtro, "cliente-b", "chave", "{}", cadastro);
+        MockHttpServletResponse repeticaoDoA = enviar(filtro, "cliente-a", "chave", "{}", cadastro);
+
+        // Assert
+        assertThat(doA.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(doB.getContentAsString()).isEqualTo("{\"id\":2}");
+        assertThat(doB.getHeader(IdempotenciaFilter.REPETIDA)).isNull();
+        assertThat(repeticaoDoA.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(repeticaoDoA.getHeader(IdempotenciaFilter.REPETIDA)).isEqualTo("true");
+        assertThat(execucoes).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Deve separar pelo usuário autenticado mesmo com o mesmo X-Client-Id")
+    void deveSepararChavesPorUsuarioAutenticado() throws Exception {
+        // Arrange
+        IdempotenciaFilter filtro = filtro(Duration.ofSeconds(1));
+        FilterChain cadastro = (request, response) -> responder((HttpServletResponse) response, 201,
+                "{\"id\":" + execucoes.incrementAndGet() + "}");
+
+        // Act
+        MockHttpServletResponse daAna = enviarComo(filtro, "ana", "chave", cadastro);
+        MockHttpServletResponse doBeto = enviarComo(filtro, "beto", "chave", cadastro);
+
+        // Assert
+        assertThat(daAna.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(doBeto.getContentAsString()).isEqualTo("{\"id\":2}");
+        assertThat(doBeto.getHeader(IdempotenciaFilter.REPETIDA)).isNull();
+        assertThat(execucoes).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Deve manter a chave em andamento mesmo com a capacidade esgotada")
+    void deveManterChaveEmAndamentoForaDaCapacidade() throws Exception {
+        // Arrange
+        IdempotenciaFilter filtro = new IdempotenciaFilter(1, Duration.ofMinutes(1), Duration.ofMillis(50),
+                Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry());
+        CountDownLatch emExecucao = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        FilterChain lento = (request, response) -> {
+            execucoes.incrementAndGet();
+            emExecucao.countDown();
+            aguardar(liberar);
+            responder((HttpServletResponse) response, 201, "{}");
+        };
+        FilterChain rapido = (request, response) -> responder((HttpServletResponse) response, 201, "{}");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<MockHttpServletResponse> primeira = executor.submit(() -> enviar(filtro, "lenta", "{}", lento));
+        emExecucao.await(5, TimeUnit.SECONDS);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            enviar(filtro, "outra-" + i, "{}", rapido);
+        }
+        MockHttpServletResponse repeticao = enviar(filtro, "lenta", "{}", lento);
+        liberar.countDown();
+
+        // Assert
+        assertThat(repeticao.getStatus()).isEqualTo(409);
+        assertThat(primeira.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        assertThat(execucoes).hasValue(1);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve entregar o corpo guardado a uma leitura assíncrona")
+    void deveEntregarCorpoALeituraAssincrona() throws Exception {
+        // Arrange
+        IdempotenciaFilter filtro = filtro(Duration.ofSeconds(1));
+        ByteArrayOutputStream lido = new ByteArrayOutputStream();
+        AtomicBoolean terminou = new AtomicBoolean();
+        FilterChain assincrono = (request, response) -> {
+            ServletInputStream entrada = request.getInputStream();
+            entrada.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (entrada.isReady() && !entrada.isFinished()) {
+                        int b = entrada.read();
+                        if (b >= 0) {
+                            lido.write(b);
+                        }
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    terminou.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    throw new IllegalStateException(t);
+                }
+            });
+            responder((HttpServletResponse) response, 201, "{}");
+        };
+
+        // Act
+        MockHttpServletResponse resposta = enviar(filtro, "assincrona", "{\"nome\":\"A\"}", assincrono);
+
+        // Assert
+        assertThat(resposta.getStatus()).isEqualTo(201);
+        assertThat(lido.toString(StandardCharsets.UTF_8)).isEqualTo("{\"nome\":\"A\"}");
+        assertThat(terminou).isTrue();
+    }
+
+    private IdempotenciaFilter filtro(Duration espera) {
+        return new IdempotenciaFilter(100, Duration.ofMinutes(1), espera,
+                Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletResponse enviar(IdempotenciaFilter filtro, String chave, String corpo,
+                                                  FilterChain cadeia) throws Exception {
+        return enviar(filtro, null, chave, corpo, cadeia);
+    }
+
+    private static MockHttpServletResponse enviar(IdempotenciaFilter filtro, String cliente, String chave,
+                                                  String corpo, FilterChain cadeia) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/usuarios");
+        if (cliente != null) {
+            request.addHeader("X-Client-Id", cliente);
+        }
+        request.addHeader(IdempotenciaFilter.CABECALHO, chave);
+        request.setContentType("application/json");
+        request.setContent(corpo.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, cadeia);
+        return response;
+    }
+
+    private static MockHttpServletResponse enviarComo(IdempotenciaFilter filtro, String usuario, String chave,
+                                                      FilterChain cadeia) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/usuarios");
+        request.setUserPrincipal(() -> usuario);
+        request.addHeader("X-Client-Id", "mesmo-cliente");
+        request.addHeader(IdempotenciaFilter.CABECALHO, chave);
+        request.setContentType("application/json");
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, cadeia);
+        return response;
+    }
+
+    private static void aguardar(CountDownLatch sinal) {
+        try {
+            sinal.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void responder(HttpServletResponse response, int status, String corpo) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.getOutputStream().write(corpo.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,140 @@
+package dev.andie.userapi.integration;
+
+import dev.andie.userapi.archive.ArquivadorUsuarios;
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.service.EstatisticasService;
+import dev.andie.userapi.service.UsuarioService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Arquivamento com diretório temporário. O job roda só quando o teste chama
+ * {@link ArquivadorUsuarios#executar()} (o intervalo agendado é longo).
+ */
+@SpringBootTest(properties = {
+        "app.arquivamento.habilitado=true",
+        "app.arquivamento.diretorio=${java.io.tmpdir}/user-api-arquivo-${random.uuid}",
+        "app.arquivamento.idade=P30D",
+        "app.arquivamento.intervalo=PT1H",
+        "app.arquivamento.lote=2",
+        "app.email.pre-verificacao=indice"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Arquivamento")
+class UsuarioArquivamentoIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioService service;
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private ArquivadorUsuarios arquivador;
+
+    @Autowired
+    private EstatisticasService estatisticas;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve mover usuários antigos para o arquivo e continuar buscando por id")
+    void deveArquivarEContinuarBuscando() throws Exception {
+        // Arrange - três antigos (dois lotes) e um recente
+        UsuarioDTO recente = service.criar(new UsuarioDTO(null, "Recente", "recente@email.com", null, null));
+        UsuarioDTO[] antigos = new UsuarioDTO[3];
+        for (int i = 0; i < antigos.length; i++) {
+            antigos[i] = service.criar(new UsuarioDTO(null, "Antigo " + i, "antigo" + i + "@email.com", null, null));
+            jdbc.update("update usuarios set data_criacao = ? where id = ?",
+                    LocalDateTime.of(2020, 1 + i, 10, 8, 30), antigos[i].getId());
+        }
+
+        // Act
+        arquivador.executar();
+
+        // Assert
+        assertThat(repository.findAll()).extracting("id").containsExactly(recente.getId());
+        for (int i = 0; i < antigos.length; i++) {
+            mockMvc.perform(get("/api/usuarios/" + antigos[i].getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.nome").value("Antigo " + i))
+                    .andExpect(jsonPath("$.email").value("antigo" + i + "@email.com"))
+                    .andExpect(jsonPath("$.dataCriacao").value("2020-0" + (i + 1) + "-10T08:30:00"));
+        }
+        mockMvc.perform(get("/api/usuarios/" + antigos[0].getId()).param("fields", "nome"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Antigo 0"))
+                .andExpect(jsonPath("$.email").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Deve tratar usuário arquivado como somente leitura")
+    void deveTratarArquivadoComoSomenteLeitura() throws Exception {
+        // Arrange
+        UsuarioDTO antigo = service.criar(new UsuarioDTO(null, "Antigo", "somenteleitura@email.com", null, null));
+        jdbc.update("update usuarios set data_criacao = ? where id = ?", LocalDateTime.of(2020, 5, 1, 0, 0),
+                antigo.getId());
+        arquivador.executar();
+
+        // Act & Assert
+        mockMvc.perform(put("/api/usuarios/" + antigo.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Outro\",\"email\":\"outro@email.com\"}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/usuarios/" + antigo.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Antigo"));
+    }
+
+    @Test
+    @DisplayName("Deve tirar os arquivados das estatísticas e manter o email deles ocupado")
+    void deveAtualizarEstatisticasEReservarEmailDoArquivado() throws Exception {
+        // Arrange
+        service.criar(new UsuarioDTO(null, "Recente", "recente@ativo.com", null, null));
+        UsuarioDTO antigo = service.criar(new UsuarioDTO(null, "Antigo", "antigo@arquivado.com", null, null));
+        jdbc.update("update usuarios set data_criacao = ? where id = ?", LocalDateTime.of(2020, 5, 1, 0, 0),
+                antigo.getId());
+        long antes = estatisticas.obterEstatisticas().getTotalUsuarios();
+
+        // Act
+        arquivador.executar();
+
+        // Assert
+        mockMvc.perform(get("/api/usuarios/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalUsuarios").value((int) antes - 1))
+                .andExpect(jsonPath("$.usuariosPorDominio['ativo.com']").value(1))
+                .andExpect(jsonPath("$.usuariosPorDominio['arquivado.com']").doesNotExist());
+        mockMvc.perform(post("/api/usuarios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Outro\",\"email\":\"antigo@arquivado.com\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Email já cadastrado: antigo@arquivado.com"));
+    }
+}
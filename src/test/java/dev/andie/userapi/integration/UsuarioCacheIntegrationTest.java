@@ -0,0 +1,117 @@
+package dev.andie.userapi.integration;
+
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.service.UsuarioService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mede as idas ao banco economizadas pelo cache de segundo nível numa
+ * carga de leitura predominante (90% buscarPorId, 10% existsByEmail).
+ *
+ * Não herda de BaseIntegrationTest porque o cache só é populado após o
+ * commit; aqui cada chamada ao serviço roda na sua própria transação.
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Cache de segundo nível")
+class UsuarioCacheIntegrationTest {
+
+    private static final int LEITURAS = 1_000;
+
+    @Autowired
+    private UsuarioService service;
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SessionFactory sessionFactory;
+    private final List<UsuarioDTO> usuarios = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        repository.deleteAll();
+        for (int i = 0; i < 20; i++) {
+            usuarios.add(service.criar(new UsuarioDTO(null, "Usuario " + i, "cache" + i + "@email.com", null, null)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    @DisplayName("Deve economizar idas ao banco em carga de leitura predominante")
+    void deveEconomizarIdasAoBancoEmCargaDeLeitura() {
+        // Arrange - Sem cache: cada leitura encontra as regiões vazias
+        long semCache = executarCargaDeLeitura(true);
+
+        // Act - Com cache: as regiões são aquecidas pelas primeiras leituras
+        sessionFactory.getCache().evictAllRegions();
+        long comCache = executarCargaDeLeitura(false);
+
+        Statistics stats = sessionFactory.getStatistics();
+        log.debug("Leituras: {} | idas ao banco sem cache: {} | com cache: {} | economizadas: {}",
+                LEITURAS, semCache, comCache, semCache - comCache);
+
+        // Assert
+        assertThat(semCache).isEqualTo(LEITURAS);
+        assertThat(comCache).isLessThan(LEITURAS / 10);
+        assertThat(stats.getDomainDataRegionStatistics("usuarios").getHitCount()).isPositive();
+        assertThat(stats.getQueryCacheHitCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o cache de consulta após alteração da tabela")
+    void deveInvalidarCacheDeConsultaAposAlteracao() {
+        // Arrange
+        assertThat(repository.existsByEmail("novo@email.com")).isFalse();
+        assertThat(repository.existsByEmail("novo@email.com")).isFalse();
+
+        // Act
+        service.criar(new UsuarioDTO(null, "Novo", "novo@email.com", null, null));
+
+        // Assert
+        assertThat(repository.existsByEmail("novo@email.com")).isTrue();
+        assertThat(repository.findByEmail("novo@email.com")).isPresent();
+    }
+
+    private long executarCargaDeLeitura(boolean limparCacheACadaLeitura) {
+        Random random = new Random(42);
+        Statistics stats = sessionFactory.getStatistics();
+        stats.clear();
+
+        for (int i = 0; i < LEITURAS; i++) {
+            if (limparCacheACadaLeitura) {
+                sessionFactory.getCache().evictAllRegions();
+            }
+            UsuarioDTO usuario = usuarios.get(random.nextInt(usuarios.size()));
+            if (i % 10 == 0) {
+                assertThat(repository.existsByEmail(usuario.getEmail())).isTrue();
+            } else {
+                assertThat(service.buscarPorId(usuario.getId()).getEmail()).isEqualTo(usuario.getEmail());
+            }
+        }
+        return stats.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,102 @@
+package dev.andie.userapi.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.andie.userapi.cache.CacheCompartilhado;
+import dev.andie.userapi.cache.CacheUsuarios;
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.service.UsuarioService;
+import dev.andie.userapi.service.impl.UsuarioServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cache multinível com o nível compartilhado em memória. Uma segunda instância
+ * de {@link CacheUsuarios} sobre o mesmo nível compartilhado faz o papel de
+ * outro nó da aplicação.
+ */
+@SpringBootTest(properties = "app.cache.multinivel.habilitado=true")
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Cache multinível")
+class UsuarioCacheMultinivelIntegrationTest {
+
+    @Autowired
+    private UsuarioService service;
+
+    @Autowired
+    private UsuarioServiceImpl servicoSemCache;
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private CacheCompartilhado compartilhado;
+
+    @Autowired
+    private ObjectMapper json;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private UsuarioDTO usuario;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        usuario = service.criar(new UsuarioDTO(null, "Multinivel", "multinivel@email.com", null, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o usuário no outro nó após atualizar")
+    void deveInvalidarOutroNoAposAtualizar() {
+        // Arrange
+        AtomicInteger cargasOutroNo = new AtomicInteger();
+        LongFunction<UsuarioDTO> carregar = id -> {
+            cargasOutroNo.incrementAndGet();
+            return servicoSemCache.buscarPorId(id);
+        };
+        CacheUsuarios outroNo = new CacheUsuarios(compartilhado, json, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(1), Duration.ofMinutes(1), id -> { });
+        service.buscarPorId(usuario.getId());
+        outroNo.buscar(usuario.getId(), carregar);
+
+        // Act
+        service.atualizar(usuario.getId(), new UsuarioDTO(null, "Multinivel Alterado", usuario.getEmail(), null, null));
+
+        // Assert - os dois nós leem o valor novo; o outro nó vai ao banco uma vez
+        assertThat(service.buscarPorId(usuario.getId()).getNome()).isEqualTo("Multinivel Alterado");
+        assertThat(outroNo.buscar(usuario.getId(), carregar).getNome()).isEqualTo("Multinivel Alterado");
+        assertThat(cargasOutroNo).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Deve responder buscas repetidas pelo nível local e publicar as taxas de acerto")
+    void deveResponderPeloNivelLocal() {
+        // Act
+        for (int i = 0; i < 10; i++) {
+            service.buscarPorId(usuario.getId());
+        }
+        service.deletar(usuario.getId());
+
+        // Assert
+        assertThat(registry.get("usuarios.cache.consultas").tag("nivel", "local").tag("resultado", "acerto")
+                .counter().count()).isGreaterThanOrEqualTo(9);
+        assertThat(registry.get("usuarios.cache.taxa.acerto").tag("nivel", "local").gauge().value()).isPositive();
+        assertThat(registry.get("usuarios.cache.invalidacoes").counter().count()).isPositive();
+    }
+}
@@ -0,0 +1,96 @@
+package dev.andie.userapi.integration;
+
+import dev.andie.userapi.cache.CacheUsuarios;
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.service.UsuarioService;
+import dev.andie.userapi.service.impl.UsuarioServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cache multinível com réplicas de leitura: a carga de uma ausência não pode vir
+ * de uma réplica, que pode estar atrasada, porque o valor vai para o nível
+ * compartilhado.
+ */
+@SpringBootTest(properties = {
+        "app.cache.multinivel.habilitado=true",
+        "app.datasource.replicas.habilitado=true",
+        "app.datasource.replicas.urls=jdbc:h2:mem:testdb"
+})
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Cache multinível com réplicas")
+class UsuarioCacheReplicasIntegrationTest {
+
+    @Autowired
+    private UsuarioService service;
+
+    @Autowired
+    private UsuarioServiceImpl servicoSemCache;
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private CacheUsuarios cache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private UsuarioDTO usuario;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        usuario = service.criar(new UsuarioDTO(null, "Cache Replica", "cache.replica@email.com", null, null));
+        cache.invalidar(usuario.getId());
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve carregar o cache pelo primário mesmo com réplicas")
+    void deveCarregarCachePeloPrimario() {
+        // Arrange
+        double replicaAntes = conexoes("replica");
+        double primarioAntes = conexoes("primario");
+
+        // Act
+        UsuarioDTO encontrado = service.buscarPorId(usuario.getId());
+
+        // Assert
+        assertThat(encontrado.getNome()).isEqualTo("Cache Replica");
+        assertThat(conexoes("replica")).isEqualTo(replicaAntes);
+        assertThat(conexoes("primario")).isGreaterThan(primarioAntes);
+    }
+
+    @Test
+    @DisplayName("Deve manter a busca sem cache nas réplicas")
+    void deveManterBuscaSemCacheNasReplicas() {
+        // Arrange
+        double replicaAntes = conexoes("replica");
+
+        // Act
+        servicoSemCache.buscarPorId(usuario.getId());
+
+        // Assert
+        assertThat(conexoes("replica")).isEqualTo(replicaAntes + 1);
+    }
+
+    private double conexoes(String destino) {
+        return registry.get("usuarios.datasource.conexoes").tag("destino", destino).counter().count();
+    }
+}
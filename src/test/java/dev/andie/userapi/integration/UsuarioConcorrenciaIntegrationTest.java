@@ -0,0 +1,96 @@
+package dev.andie.userapi.integration;
+
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.exception.ConflictException;
+import dev.andie.userapi.service.EstatisticasService;
+import dev.andie.userapi.service.UsuarioService;
+import dev.andie.userapi.service.impl.IndiceEmail;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PATCHes de email concorrentes no mesmo usuário: cada troca aceita precisa
+ * chegar às estatísticas e ao índice de emails com o email anterior correto.
+ */
+@SpringBootTest(properties = "app.email.pre-verificacao=indice")
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Atualizações concorrentes")
+class UsuarioConcorrenciaIntegrationTest {
+
+    private static final int RODADAS = 20;
+    private static final int THREADS = 4;
+
+    @Autowired
+    private UsuarioService service;
+
+    @Autowired
+    private EstatisticasService estatisticas;
+
+    @Autowired
+    private IndiceEmail indice;
+
+    @Test
+    @DisplayName("Deve manter estatísticas e índice consistentes com trocas de email concorrentes")
+    void deveManterContadoresComTrocasDeEmailConcorrentes() throws Exception {
+        // Arrange
+        UsuarioDTO usuario = service.criar(new UsuarioDTO(null, "Concorrente", "concorrente@inicial.com", null, null));
+        int tamanhoInicial = indice.tamanho();
+        List<String> emails = new ArrayList<>(List.of("concorrente@inicial.com"));
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        int conflitos = 0;
+
+        // Act - a cada rodada as threads partem juntas, sem versão no patch
+        try {
+            for (int rodada = 0; rodada < RODADAS; rodada++) {
+                CyclicBarrier largada = new CyclicBarrier(THREADS);
+                List<Future<Boolean>> resultados = new ArrayList<>();
+                for (int thread = 0; thread < THREADS; thread++) {
+                    String email = "concorrente@r" + rodada + "t" + thread + ".com";
+                    emails.add(email);
+                    resultados.add(executor.submit(() -> {
+                        UsuarioDTO patch = new UsuarioDTO();
+                        patch.setEmail(email);
+                        largada.await();
+                        try {
+                            service.atualizarParcial(usuario.getId(), patch);
+                            return true;
+                        } catch (ConflictException e) {
+                            return false;
+                        }
+                    }));
+                }
+                for (Future<Boolean> resultado : resultados) {
+                    conflitos += resultado.get() ? 0 : 1;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert - só o email final conta, e nenhum anterior ficou no índice
+        String emailFinal = service.buscarPorId(usuario.getId()).getEmail();
+        Map<String, Long> dominios = estatisticas.obterEstatisticas().getUsuariosPorDominio().entrySet().stream()
+                .filter(dominio -> emails.stream().anyMatch(email -> email.endsWith("@" + dominio.getKey())))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        assertThat(dominios).containsExactly(Map.entry(emailFinal.substring(emailFinal.indexOf('@') + 1), 1L));
+        assertThat(indice.tamanho()).isEqualTo(tamanhoInicial);
+        for (String email : emails) {
+            assertThat(indice.podeExistir(email)).as(email).isEqualTo(email.equals(emailFinal));
+        }
+        assertThat(conflitos).isLessThan(RODADAS * THREADS);
+    }
+}
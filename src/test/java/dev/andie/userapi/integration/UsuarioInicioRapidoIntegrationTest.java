@@ -0,0 +1,79 @@
+package dev.andie.userapi.integration;
+
+import dev.andie.userapi.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Perfil inicio-rapido: beans criados sob demanda e EntityManagerFactory montado
+ * em segundo plano, sem mudar o comportamento da API.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "inicio-rapido"})
+@DisplayName("Testes de Integração - Inicialização rápida")
+class UsuarioInicioRapidoIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConfigurableApplicationContext contexto;
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve montar o EntityManagerFactory em segundo plano")
+    void deveMontarEntityManagerFactoryEmSegundoPlano() {
+        LocalContainerEntityManagerFactoryBean fabrica =
+                contexto.getBean("&entityManagerFactory", LocalContainerEntityManagerFactoryBean.class);
+
+        assertThat(fabrica.getBootstrapExecutor()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve aplicar app.erros.rastreio na partida mesmo com beans sob demanda")
+    void deveCriarErrosConfigNaPartida() {
+        assertThat(contexto.getBeanFactory().containsSingleton("errosConfig")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve criar o controller só na primeira requisição e atender normalmente")
+    void deveCriarControllerSobDemanda() throws Exception {
+        // Arrange
+        assertThat(contexto.getBeanFactory().containsSingleton("usuarioController")).isFalse();
+
+        // Act
+        mockMvc.perform(post("/api/usuarios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Rapido\",\"email\":\"rapido@email.com\"}"))
+                .andExpect(status().isCreated());
+
+        // Assert
+        assertThat(contexto.getBeanFactory().containsSingleton("usuarioController")).isTrue();
+        mockMvc.perform(get("/api/usuarios").param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[?(@.email == 'rapido@email.com')]").exists());
+    }
+}
@@ -1,5 +1,6 @@
 package dev.andie.userapi.integration;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import dev.andie.userapi.dto.UsuarioDTO;
 import dev.andie.userapi.model.Usuario;
 import dev.andie.userapi.repository.UsuarioRepository;
@@ -246,6 +247,65 @@ class UsuarioIntegrationTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.content[2].nome").value("Ana"));
     }
 
+    @Test
+    @Order(10)
+    @DisplayName("Deve listar usuários por período de criação paginando por cursor")
+    void deveListarUsuariosPorPeriodoComCursor() throws Exception {
+        // Arrange
+        Usuario primeiro = criarUsuario("Ana Costa", "ana@email.com");
+        Usuario segundo = criarUsuario("Bruno Lima", "bruno@email.com");
+        Usuario terceiro = criarUsuario("Carla Dias", "carla@email.com");
+        String inicio = LocalDateTime.now().minusHours(1).toString();
+        String fim = LocalDateTime.now().plusHours(1).toString();
+
+        // Act & Assert - Primeira página
+        MvcResult result = mockMvc.perform(get("/api/usuarios")
+                        .param("createdFrom", inicio)
+                        .param("createdTo", fim)
+                        .param("size", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id").value(primeiro.getId().toString()))
+                .andExpect(jsonPath("$.content[1].id").value(segundo.getId().toString()))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn();
+
+        String cursor = objectMapper.readTree(result.getResponse().getContentAsString())
+                .get("nextCursor").asText();
+
+        // Segunda (e última) página
+        mockMvc.perform(get("/api/usuarios")
+                        .param("createdFrom", inicio)
+                        .param("createdTo", fim)
+                        .param("size", "2")
+                        .param("cursor", cursor))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(terceiro.getId().toString()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("Deve retornar 400 para período ou cursor inválidos")
+    void deveRetornar400ParaPeriodoOuCursorInvalidos() throws Exception {
+        String agora = LocalDateTime.now().toString();
+
+        mockMvc.perform(get("/api/usuarios")
+                        .param("createdFrom", agora)
+                        .param("createdTo", agora))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/usuarios")
+                        .param("createdFrom", LocalDateTime.now().minusDays(1).toString())
+                        .param("createdTo", agora)
+                        .param("cursor", "invalido"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Cursor inválido")));
+    }
+
     // ==================== TESTES DE BUSCA POR ID ====================
 
     @Test
@@ -259,7 +319,7 @@ class UsuarioIntegrationTest extends BaseIntegrationTest {
         mockMvc.perform(get("/api/usuarios/" + usuario.getId()))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(usuario.getId()))
+                .andExpect(jsonPath("$.id").value(usuario.getId().toString()))
                 .andExpect(jsonPath("$.nome").value("Pedro Santos"))
                 .andExpect(jsonPath("$.email").value("pedro@email.com"))
                 .andExpect(jsonPath("$.dataCriacao").exists());
@@ -295,7 +355,7 @@ class UsuarioIntegrationTest extends BaseIntegrationTest {
                         .content(objectMapper.writeValueAsString(usuarioAtualizado)))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(usuario.getId()))
+                .andExpect(jsonPath("$.id").value(usuario.getId().toString()))
                 .andExpect(jsonPath("$.nome").value("Jesus Test"))
                 .andExpect(jsonPath("$.email").value("jesus.test@email.com"));
 
@@ -402,10 +462,25 @@ class UsuarioIntegrationTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.message").value(containsString("Usuário não encontrado")));
     }
 
-    // ==================== TESTE DE FLUXO COMPLETO ====================
+    // ==================== TESTES DE ESTATÍSTICAS ====================
 
     @Test
     @Order(18)
+    @DisplayName("Deve retornar estatísticas de usuários")
+    void deveRetornarEstatisticasDeUsuarios() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/usuarios/stats"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalUsuarios").isNumber())
+                .andExpect(jsonPath("$.cadastrosPorDia").isMap())
+                .andExpect(jsonPath("$.usuariosPorDominio").isMap());
+    }
+
+    // ==================== TESTE DE FLUXO COMPLETO ====================
+
+    @Test
+    @Order(19)
     @DisplayName("Deve executar fluxo completo: criar, listar, buscar, atualizar, deletar")
     void deveExecutarFluxoCompleto() throws Exception {
         // 1. Criar usuário
@@ -460,6 +535,191 @@ class UsuarioIntegrationTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.content", hasSize(0)));
     }
 
+    // ==================== TESTES DE CONCORRÊNCIA ====================
+
+    @Test
+    @Order(20)
+    @DisplayName("Deve retornar 409 ao atualizar a partir de versão desatualizada")
+    void deveRetornar409AoAtualizarComVersaoDesatualizada() throws Exception {
+        // Arrange
+        Usuario usuario = criarUsuario("Versao Test", "versao@email.com");
+        Long versao = usuario.getVersao();
+
+        UsuarioDTO primeira = new UsuarioDTO();
+        primeira.setNome("Primeira");
+        primeira.setEmail("versao@email.com");
+        primeira.setVersao(versao);
+
+        UsuarioDTO segunda = new UsuarioDTO();
+        segunda.setNome("Segunda");
+        segunda.setEmail("versao@email.com");
+        segunda.setVersao(versao);
+
+        mockMvc.perform(put("/api/usuarios/" + usuario.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(primeira)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.versao").value(versao + 1));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/usuarios/" + usuario.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(segunda)))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value(containsString("alterado por outra requisição")));
+
+        assertThat(repository.findById(usuario.getId()).orElseThrow().getNome()).isEqualTo("Primeira");
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("Deve atualizar parcialmente só os campos enviados")
+    void deveAtualizarParcialmente() throws Exception {
+        // Arrange
+        Usuario usuario = criarUsuario("Parcial Test", "parcial@email.com");
+        Long versao = usuario.getVersao();
+
+        UsuarioDTO patch = new UsuarioDTO();
+        patch.setNome("Parcial Atualizado");
+        patch.setVersao(versao);
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/usuarios/" + usuario.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(objectMapper.writeValueAsString(patch)))
+                .andDo(print())
+                .andExpect(status().isNoContent());
+
+        Usuario usuarioNoBanco = repository.findById(usuario.getId()).orElseThrow();
+        assertThat(usuarioNoBanco.getNome()).isEqualTo("Parcial Atualizado");
+        assertThat(usuarioNoBanco.getEmail()).isEqualTo("parcial@email.com");
+        assertThat(usuarioNoBanco.getVersao()).isEqualTo(versao + 1);
+
+        // A mesma versão já foi consumida
+        mockMvc.perform(patch("/api/usuarios/" + usuario.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patch)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @Order(22)
+    @DisplayName("Deve validar a atualização parcial")
+    void deveValidarAtualizacaoParcial() throws Exception {
+        // Arrange
+        UsuarioDTO emailInvalido = new UsuarioDTO();
+        emailInvalido.setEmail("email-invalido");
+
+        UsuarioDTO somenteNome = new UsuarioDTO();
+        somenteNome.setNome("Teste");
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/usuarios/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(emailInvalido)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.email").value("Email deve ser válido"));
+
+        mockMvc.perform(patch("/api/usuarios/999")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(somenteNome)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Order(23)
+    @DisplayName("Deve repetir a resposta do POST com a mesma Idempotency-Key")
+    void deveRepetirRespostaComMesmaIdempotencyKey() throws Exception {
+        // Arrange
+        UsuarioDTO novoUsuario = new UsuarioDTO(null, "Idempotente", "idempotente@email.com", null, null);
+        String corpo = objectMapper.writeValueAsString(novoUsuario);
+
+        // Act
+        MvcResult primeira = mockMvc.perform(post("/api/usuarios")
+                        .header("Idempotency-Key", "chave-23")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn();
+
+        // Assert - a repetição devolve a mesma resposta sem cadastrar de novo
+        mockMvc.perform(post("/api/usuarios")
+                        .header("Idempotency-Key", "chave-23")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(content().json(primeira.getResponse().getContentAsString()));
+        assertThat(repository.count()).isEqualTo(1);
+
+        novoUsuario.setNome("Outro Nome");
+        mockMvc.perform(post("/api/usuarios")
+                        .header("Idempotency-Key", "chave-23")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(novoUsuario)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value(containsString("Idempotency-Key")));
+    }
+
+    @Test
+    @Order(24)
+    @DisplayName("Deve devolver só os campos pedidos em fields")
+    void deveDevolverSoOsCamposPedidos() throws Exception {
+        // Arrange
+        Usuario criado = criarUsuario("Campos", "campos@email.com");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/usuarios")
+                        .param("fields", "id,nome")
+                        .param("sort", "nome,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(criado.getId().toString()))
+                .andExpect(jsonPath("$.content[0].nome").value("Campos"))
+                .andExpect(jsonPath("$.content[0].email").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        mockMvc.perform(get("/api/usuarios/" + criado.getId())
+                        .param("fields", "email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("campos@email.com"))
+                .andExpect(jsonPath("$.nome").doesNotExist());
+    }
+
+    @Test
+    @Order(25)
+    @DisplayName("Deve devolver o id como texto e aceitá-lo de volta como texto ou número")
+    void deveFazerIdaEVoltaDoIdComoTexto() throws Exception {
+        // Arrange
+        MvcResult criado = mockMvc.perform(post("/api/usuarios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(usuarioValido)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        JsonNode corpo = objectMapper.readTree(criado.getResponse().getContentAsString());
+        Long id = repository.findAll().get(0).getId();
+
+        // Act
+        UsuarioDTO lido = objectMapper.readValue(criado.getResponse().getContentAsString(), UsuarioDTO.class);
+        lido.setNome("Andie Texto");
+
+        // Assert
+        assertThat(corpo.get("id").isTextual()).isTrue();
+        assertThat(corpo.get("id").asText()).isEqualTo(id.toString());
+        assertThat(lido.getId()).isEqualTo(id);
+        mockMvc.perform(put("/api/usuarios/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lido)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id.toString()));
+        mockMvc.perform(put("/api/usuarios/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":" + id + ",\"nome\":\"Andie Numero\",\"email\":\"andietest@email.com\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Andie Numero"));
+    }
+
     // ==================== MÉTODOS AUXILIARES ====================
 
     /**
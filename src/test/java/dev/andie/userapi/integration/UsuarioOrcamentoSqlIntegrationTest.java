@@ -0,0 +1,166 @@
+package dev.andie.userapi.integration;
+
+import dev.andie.userapi.dto.CampoUsuario;
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.observability.EstatisticasSql;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.service.UsuarioService;
+import dev.andie.userapi.support.OrcamentoSql;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Orçamento de SQL dos métodos do UsuarioServiceImpl. Um teste que falha aqui
+ * indica consulta a mais (ex.: N+1 ou verificação duplicada) introduzida no fluxo.
+ *
+ * Cada chamada roda na própria transação, então o flush do commit é contado.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Orçamento de SQL")
+class UsuarioOrcamentoSqlIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioService service;
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UsuarioDTO usuario;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        usuario = service.criar(new UsuarioDTO(null, "Orcamento", "orcamento@email.com", null, null));
+        // Cache frio: mede o pior caso de cada operação
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("criar: verificação de email + INSERT")
+    void criarDeveCaberNoOrcamento() {
+        OrcamentoSql.noMaximo(2, () -> service.criar(new UsuarioDTO(null, "Novo", "novo@email.com", null, null)));
+    }
+
+    @Test
+    @DisplayName("buscarPorId: um SELECT")
+    void buscarPorIdDeveCaberNoOrcamento() {
+        OrcamentoSql.noMaximo(1, () -> service.buscarPorId(usuario.getId()));
+    }
+
+    @Test
+    @DisplayName("listarTodos: página + COUNT")
+    void listarTodosDeveCaberNoOrcamento() {
+        OrcamentoSql.noMaximo(2, () -> service.listarTodos(PageRequest.of(0, 10)));
+    }
+
+    @Test
+    @DisplayName("listarTodos com campos: página + COUNT lendo só as colunas pedidas")
+    void listarCamposDeveLerSoAsColunasPedidas() {
+        EstatisticasSql estatisticas = OrcamentoSql.medir(() -> service.listarTodos(PageRequest.of(0, 10),
+                EnumSet.of(CampoUsuario.NOME))).estatisticas();
+
+        assertThat(estatisticas.getComandos()).isLessThanOrEqualTo(2);
+        String consulta = estatisticas.getComandosExecutados().get(0);
+        assertThat(consulta).contains("nome").doesNotContain("email").doesNotContain("data_criacao");
+    }
+
+    @Test
+    @DisplayName("buscarPorId com campos: um SELECT das colunas pedidas")
+    void buscarCamposDeveLerSoAsColunasPedidas() {
+        OrcamentoSql.Medicao<UsuarioDTO> medicao = OrcamentoSql.medir(
+                () -> service.buscarPorId(usuario.getId(), EnumSet.of(CampoUsuario.EMAIL)));
+
+        assertThat(medicao.estatisticas().getComandos()).isEqualTo(1);
+        assertThat(medicao.estatisticas().getComandosExecutados().get(0)).doesNotContain("nome");
+        assertThat(medicao.resultado().getEmail()).isEqualTo("orcamento@email.com");
+        assertThat(medicao.resultado().getNome()).isNull();
+    }
+
+    @Test
+    @DisplayName("atualizar: SELECT + verificação de email + UPDATE")
+    void atualizarDeveCaberNoOrcamento() {
+        UsuarioDTO dto = new UsuarioDTO(null, "Outro Nome", "outro@email.com", null, null);
+        OrcamentoSql.noMaximo(3, () -> service.atualizar(usuario.getId(), dto));
+    }
+
+    @Test
+    @DisplayName("atualizarParcial só do nome: um UPDATE")
+    void atualizarParcialDeveCaberNoOrcamento() {
+        UsuarioDTO patch = new UsuarioDTO();
+        patch.setNome("Outro Nome");
+        OrcamentoSql.noMaximo(1, () -> service.atualizarParcial(usuario.getId(), patch));
+    }
+
+    @Test
+    @DisplayName("deletar: SELECT + DELETE")
+    void deletarDeveCaberNoOrcamento() {
+        OrcamentoSql.noMaximo(2, () -> service.deletar(usuario.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve falhar listando os comandos quando o orçamento é excedido")
+    void deveFalharQuandoOrcamentoExcedido() {
+        assertThatThrownBy(() -> OrcamentoSql.noMaximo(1, () -> {
+            service.buscarPorId(usuario.getId());
+            service.listarTodos(PageRequest.of(0, 10));
+        }))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("esperado no máximo 1")
+                .hasMessageContaining("from usuarios");
+    }
+
+    @Test
+    @DisplayName("Deve contar linhas lidas")
+    void deveContarLinhasLidas() {
+        service.criar(new UsuarioDTO(null, "Segundo", "segundo@email.com", null, null));
+
+        EstatisticasSql estatisticas = OrcamentoSql.medir(() -> service.listarTodos(PageRequest.of(0, 10))).estatisticas();
+
+        assertThat(estatisticas.getLinhas()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve devolver o tempo de banco no cabeçalho Server-Timing")
+    void deveDevolverServerTiming() throws Exception {
+        String formato = "db;dur=\\d+\\.\\d{3};desc=\"\\d+ queries, \\d+ rows\"";
+
+        mockMvc.perform(get("/api/usuarios/" + usuario.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", matchesPattern(formato)));
+
+        // Sem corpo (204): o cabeçalho é adicionado ao final do filtro
+        mockMvc.perform(delete("/api/usuarios/" + usuario.getId()))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("Server-Timing", matchesPattern(formato)));
+    }
+}
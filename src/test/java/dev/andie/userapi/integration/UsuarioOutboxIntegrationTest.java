@@ -0,0 +1,185 @@
+package dev.andie.userapi.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.exception.ValidationException;
+import dev.andie.userapi.model.EventoOutbox;
+import dev.andie.userapi.outbox.DestinoMemoria;
+import dev.andie.userapi.outbox.MensagemOutbox;
+import dev.andie.userapi.outbox.RelayOutbox;
+import dev.andie.userapi.repository.OutboxRepository;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.service.UsuarioService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Outbox com destino em memória. O relay roda só quando o teste chama
+ * {@link RelayOutbox#executar()} (o intervalo agendado é longo).
+ */
+@SpringBootTest(properties = {
+        "app.outbox.habilitado=true",
+        "app.outbox.destino=memoria",
+        "app.outbox.intervalo=PT1H",
+        "app.outbox.lote=2"
+})
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Outbox")
+class UsuarioOutboxIntegrationTest {
+
+    @Autowired
+    private UsuarioService service;
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private OutboxRepository outbox;
+
+    @Autowired
+    private RelayOutbox relay;
+
+    @Autowired
+    private DestinoMemoria destino;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        outbox.deleteAll();
+        destino.limpar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+        outbox.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve gravar na transação da alteração e enviar em ordem, em lotes")
+    void deveGravarEEnviarEmOrdem() throws Exception {
+        // Arrange
+        UsuarioDTO usuario = service.criar(new UsuarioDTO(null, "Outbox", "outbox@email.com", null, null));
+        service.atualizar(usuario.getId(), new UsuarioDTO(null, "Outbox Alterado", "outbox@email.com", null, null));
+        service.deletar(usuario.getId());
+        assertThat(outbox.findAll()).allMatch(evento -> evento.getEnviadoEm() == null).hasSize(3);
+
+        // Act - lote de 2: o ciclo faz dois lotes
+        relay.executar();
+
+        // Assert
+        List<MensagemOutbox> recebidas = destino.recebidas();
+        assertThat(recebidas).extracting(MensagemOutbox::tipo).containsExactly("CRIADO", "ATUALIZADO", "DELETADO");
+        assertThat(recebidas).allMatch(mensagem -> mensagem.usuarioId().equals(usuario.getId()));
+        JsonNode payload = objectMapper.readTree(recebidas.get(1).payload());
+        assertThat(payload.get("nome").asText()).isEqualTo("Outbox Alterado");
+        assertThat(outbox.findAll()).allMatch(evento -> evento.getEnviadoEm() != null);
+        assertThat(relay.pendentes()).isZero();
+        assertThat(registry.get("outbox.enviados").counter().count()).isGreaterThanOrEqualTo(3);
+        assertThat(registry.get("outbox.atraso").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve gravar evento de alteração desfeita")
+    void naoDeveGravarEventoDeAlteracaoDesfeita() {
+        // Arrange
+        service.criar(new UsuarioDTO(null, "Outbox", "duplicado@email.com", null, null));
+
+        // Act
+        assertThatThrownBy(() -> service.criar(new UsuarioDTO(null, "Outro", "duplicado@email.com", null, null)))
+                .isInstanceOf(ValidationException.class);
+
+        // Assert
+        assertThat(outbox.findAll()).extracting(EventoOutbox::getTipo).containsExactly("CRIADO");
+    }
+
+    @Test
+    @DisplayName("Deve pular eventos reservados por outro relay")
+    void devePularEventosReservados() throws Exception {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            service.criar(new UsuarioDTO(null, "Outbox " + i, "outbox" + i + "@email.com", null, null));
+        }
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        CountDownLatch reservado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Act - outro relay segura os dois primeiros enquanto este reserva
+        Future<List<Long>> outroRelay = executor.submit(() -> transacao.execute(status -> {
+            List<Long> ids = outbox.reservarPendentes(2).stream().map(EventoOutbox::getId).toList();
+            reservado.countDown();
+            aguardar(liberar);
+            return ids;
+        }));
+        aguardar(reservado);
+        List<Long> reservadosAqui = transacao.execute(status ->
+                outbox.reservarPendentes(10).stream().map(EventoOutbox::getId).toList());
+        liberar.countDown();
+        List<Long> reservadosPeloOutro = outroRelay.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Assert
+        assertThat(reservadosPeloOutro).hasSize(2);
+        assertThat(reservadosAqui).hasSize(2).doesNotContainAnyElementsOf(reservadosPeloOutro);
+    }
+
+    @Test
+    @DisplayName("Deve manter pendente o evento que falhou e reenviar no próximo ciclo")
+    void deveReenviarAposFalhaDoDestino() {
+        // Arrange
+        service.criar(new UsuarioDTO(null, "Outbox", "falha@email.com", null, null));
+        UsuarioDTO segundo = service.criar(new UsuarioDTO(null, "Outbox 2", "falha2@email.com", null, null));
+        DestinoMemoria instavel = new DestinoMemoria() {
+            @Override
+            public void enviar(MensagemOutbox mensagem) {
+                if (mensagem.usuarioId().equals(segundo.getId())) {
+                    throw new IllegalStateException("Destino fora do ar");
+                }
+                super.enviar(mensagem);
+            }
+        };
+        RelayOutbox relayInstavel = new RelayOutbox(outbox, instavel, new TransactionTemplate(transactionManager),
+                registry, 10, java.time.Duration.ofDays(1), 1);
+
+        // Act
+        relayInstavel.executar();
+        relay.executar();
+
+        // Assert
+        assertThat(instavel.recebidas()).hasSize(1);
+        assertThat(relayInstavel.pendentes()).isEqualTo(1);
+        assertThat(destino.recebidas()).extracting(MensagemOutbox::usuarioId).containsExactly(segundo.getId());
+        assertThat(registry.get("outbox.falhas").counter().count()).isPositive();
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package dev.andie.userapi.integration;
+
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.service.UsuarioService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Roteamento de leituras com duas "réplicas" apontando para o mesmo banco H2 em
+ * memória: o dado é o mesmo, muda só o pool que atende. As leituras usam a
+ * listagem porque buscarPorId pode ser atendido pelo cache de segundo nível sem
+ * abrir conexão.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replicas.habilitado=true",
+        "app.datasource.replicas.urls=jdbc:h2:mem:testdb,jdbc:h2:mem:testdb",
+        "app.datasource.replicas.janela-leitura-propria=1m"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Réplicas de leitura")
+class UsuarioReplicasIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioService service;
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private UsuarioDTO usuario;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        usuario = service.criar(new UsuarioDTO(null, "Replica", "replica@email.com", null, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve atender leituras pelas réplicas")
+    void deveAtenderLeiturasPelasReplicas() throws Exception {
+        // Arrange
+        double antes = conexoes("replica");
+
+        // Act
+        mockMvc.perform(get("/api/usuarios"))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertThat(conexoes("replica")).isEqualTo(antes + 1);
+    }
+
+    @Test
+    @DisplayName("Deve ler do primário após escrita do mesmo cliente")
+    void deveLerDoPrimarioAposEscritaDoMesmoCliente() throws Exception {
+        // Arrange
+        mockMvc.perform(patch("/api/usuarios/" + usuario.getId())
+                        .header("X-Client-Id", "cliente-a")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Replica Atualizada\"}"))
+                .andExpect(status().isNoContent());
+        double antes = conexoes("replica");
+
+        // Act
+        mockMvc.perform(get("/api/usuarios").header("X-Client-Id", "cliente-a"))
+                .andExpect(status().isOk());
+        double depoisMesmoCliente = conexoes("replica");
+        mockMvc.perform(get("/api/usuarios").header("X-Client-Id", "cliente-b"))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertThat(depoisMesmoCliente).isEqualTo(antes);
+        assertThat(conexoes("replica")).isEqualTo(antes + 1);
+    }
+
+    private double conexoes(String destino) {
+        return registry.get("usuarios.datasource.conexoes").tag("destino", destino).counter().count();
+    }
+}
@@ -0,0 +1,278 @@
+package dev.andie.userapi.integration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dev.andie.userapi.dto.CampoUsuario;
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.exception.ValidationException;
+import dev.andie.userapi.model.Usuario;
+import dev.andie.userapi.observability.EstatisticasSql;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.repository.UsuarioResumo;
+import dev.andie.userapi.service.ParticaoUsuarios;
+import dev.andie.userapi.service.UsuarioService;
+import dev.andie.userapi.sharding.ContextoShard;
+import dev.andie.userapi.sharding.EstrategiaShard;
+import dev.andie.userapi.sharding.ShardDataSource;
+import dev.andie.userapi.support.OrcamentoSql;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sharding com três bancos H2 em memória independentes.
+ */
+@SpringBootTest(properties = {
+        "app.sharding.habilitado=true",
+        "app.sharding.urls=jdbc:h2:mem:shard0,jdbc:h2:mem:shard1,jdbc:h2:mem:shard2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Sharding")
+class UsuarioShardingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioService service;
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private EstrategiaShard estrategia;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ParticaoUsuarios particao;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<UsuarioDTO> usuarios = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        for (int i = 0; i < 12; i++) {
+            usuarios.add(service.criar(new UsuarioDTO(null, "Usuario " + i, "shard" + i + "@email.com", null, null)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve gravar cada usuário no shard do email, com id do mesmo shard")
+    void deveGravarNoShardDoEmail() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        for (UsuarioDTO usuario : usuarios) {
+            int shard = estrategia.porEmail(usuario.getEmail());
+            assertThat(estrategia.porId(usuario.getId())).isEqualTo(shard);
+
+            Integer linhas = ContextoShard.executar(shard, () -> jdbc.queryForObject(
+                    "select count(*) from usuarios where id = ?", Integer.class, usuario.getId()));
+            assertThat(linhas).isEqualTo(1);
+        }
+        assertThat(repository.count()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("Deve buscar por id e verificar email em um único shard")
+    void deveBuscarEmUmShard() throws Exception {
+        UsuarioDTO usuario = usuarios.get(5);
+
+        mockMvc.perform(get("/api/usuarios/" + usuario.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(usuario.getEmail()));
+
+        assertThatThrownBy(() -> service.criar(new UsuarioDTO(null, "Outro", usuario.getEmail(), null, null)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Email já cadastrado");
+    }
+
+    @Test
+    @DisplayName("Deve listar juntando os shards na ordem pedida")
+    void deveListarJuntandoShards() {
+        Page<UsuarioDTO> pagina = service.listarTodos(PageRequest.of(1, 5, Sort.by("id")));
+
+        List<Long> ids = usuarios.stream().map(UsuarioDTO::getId).sorted().toList();
+        assertThat(pagina.getTotalElements()).isEqualTo(12);
+        assertThat(pagina.getContent()).extracting(UsuarioDTO::getId).containsExactlyElementsOf(ids.subList(5, 10));
+
+        Page<UsuarioDTO> porNome = service.listarTodos(PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "nome")));
+        assertThat(porNome.getContent()).extracting(UsuarioDTO::getNome)
+                .containsExactly("Usuario 9", "Usuario 8", "Usuario 7");
+    }
+
+    @Test
+    @DisplayName("Deve contar nas estatísticas de SQL os comandos executados em cada shard")
+    void deveContarComandosDosShards() {
+        // Act
+        EstatisticasSql estatisticas = OrcamentoSql.medir(() -> {
+            repository.count();
+        });
+
+        // Assert - um select count por shard, executados nas threads de consulta
+        assertThat(estatisticas.getComandos()).isEqualTo(3);
+        assertThat(estatisticas.getComandosExecutados())
+                .allSatisfy(sql -> assertThat(sql).containsIgnoringCase("count"));
+    }
+
+    @Test
+    @DisplayName("Deve listar só os campos pedidos juntando os shards")
+    void deveListarCamposJuntandoShards() {
+        Page<UsuarioDTO> porNome = service.listarTodos(PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "nome")),
+                EnumSet.of(CampoUsuario.EMAIL));
+
+        assertThat(porNome.getTotalElements()).isEqualTo(12);
+        assertThat(porNome.getContent()).extracting(UsuarioDTO::getEmail)
+                .containsExactly("shard9@email.com", "shard8@email.com", "shard7@email.com");
+        assertThat(porNome.getContent()).extracting(UsuarioDTO::getDataCriacao).containsOnlyNulls();
+    }
+
+    @Test
+    @DisplayName("Deve mover para o shard do novo email a troca que sai do shard atual")
+    void deveMoverTrocaDeEmailEntreShards() {
+        // Arrange
+        UsuarioDTO usuario = usuarios.get(0);
+        String email = emailForaDoShard(estrategia.porId(usuario.getId()));
+
+        // Act
+        UsuarioDTO movido = service.atualizar(usuario.getId(), new UsuarioDTO(null, "Movido", email, null, null));
+
+        // Assert - outro id, do shard do email, e a mesma data de criação
+        assertThat(estrategia.porId(movido.getId())).isEqualTo(estrategia.porEmail(email));
+        assertThat(movido.getDataCriacao()).isEqualTo(usuario.getDataCriacao());
+        assertThat(repository.findById(usuario.getId())).isEmpty();
+        assertThat(repository.findByEmail(email)).map(Usuario::getId).contains(movido.getId());
+        assertThat(repository.count()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("Deve informar no Location o novo endereço do usuário movido pelo PATCH")
+    void deveInformarNovoEnderecoNoPatch() throws Exception {
+        // Arrange
+        UsuarioDTO usuario = usuarios.get(1);
+        String email = emailForaDoShard(estrategia.porId(usuario.getId()));
+
+        // Act
+        String endereco = mockMvc.perform(patch("/api/usuarios/" + usuario.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\"}"))
+                .andExpect(status().isNoContent())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+        // Assert
+        assertThat(endereco).isNotNull().isNotEqualTo("/api/usuarios/" + usuario.getId());
+        mockMvc.perform(get(endereco))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value(usuario.getNome()))
+                .andExpect(jsonPath("$.email").value(email));
+        mockMvc.perform(get("/api/usuarios/" + usuario.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Deve recusar mover para um email já cadastrado no outro shard")
+    void deveRecusarMoverParaEmailCadastrado() {
+        // Arrange
+        UsuarioDTO usuario = usuarios.get(0);
+        UsuarioDTO outro = usuarios.stream()
+                .filter(candidato -> estrategia.porId(candidato.getId()) != estrategia.porId(usuario.getId()))
+                .findFirst().orElseThrow();
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.atualizar(usuario.getId(),
+                new UsuarioDTO(null, usuario.getNome(), outro.getEmail(), null, null)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Email já cadastrado");
+        assertThat(repository.findById(usuario.getId())).isPresent();
+        assertThat(repository.count()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("Deve apagar a cópia no destino quando a transação que remove o original não confirma")
+    void deveDesfazerMovimentoSemCommit() {
+        // Arrange
+        UsuarioDTO usuario = usuarios.get(2);
+        String email = emailForaDoShard(estrategia.porId(usuario.getId()));
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            particao.mover(repository.findById(usuario.getId()).orElseThrow(), usuario.getNome(), email);
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertThat(repository.findByEmail(email)).isEmpty();
+        assertThat(repository.findById(usuario.getId())).isPresent();
+        assertThat(repository.count()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("Deve ler o stream um shard por vez, sem juntar os shards em memória")
+    void deveLerStreamUmShardPorVez() throws Exception {
+        // Arrange
+        List<HikariDataSource> pools = dataSource.unwrap(ShardDataSource.class).getResolvedDataSources().values().stream()
+                .map(HikariDataSource.class::cast).toList();
+        List<String> emails = new ArrayList<>();
+
+        // Act & Assert - só a conexão do shard em leitura fica em uso, até o stream ser fechado
+        try (Stream<UsuarioResumo> resumos = repository.streamResumos()) {
+            resumos.forEach(resumo -> {
+                emails.add(resumo.email());
+                assertThat(conexoesAtivas(pools)).isEqualTo(1);
+            });
+        }
+        assertThat(conexoesAtivas(pools)).isZero();
+        assertThat(emails).containsExactlyInAnyOrderElementsOf(usuarios.stream().map(UsuarioDTO::getEmail).toList());
+
+        try (Stream<UsuarioResumo> resumos = repository.streamResumos()) {
+            assertThat(resumos.iterator().next()).isNotNull();
+            assertThat(conexoesAtivas(pools)).isEqualTo(1);
+        }
+        assertThat(conexoesAtivas(pools)).isZero();
+    }
+
+    private String emailForaDoShard(int shard) {
+        for (int i = 0; ; i++) {
+            String candidato = "outro" + i + "@email.com";
+            if (estrategia.porEmail(candidato) != shard) {
+                return candidato;
+            }
+        }
+    }
+
+    private static int conexoesAtivas(List<HikariDataSource> pools) {
+        return pools.stream().mapToInt(pool -> pool.getHikariPoolMXBean().getActiveConnections()).sum();
+    }
+}
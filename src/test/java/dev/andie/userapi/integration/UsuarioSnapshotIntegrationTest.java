@@ -0,0 +1,178 @@
+package dev.andie.userapi.integration;
+
+import dev.andie.userapi.UserApiApplication;
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.service.EstatisticasService;
+import dev.andie.userapi.service.UsuarioService;
+import dev.andie.userapi.snapshot.SnapshotUsuarios;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Snapshot em arquivo temporário. A gravação periódica não roda durante o teste
+ * (intervalo longo); a maioria dos testes simula o restart esvaziando a tabela e
+ * chamando a restauração, e um deles sobe e encerra duas aplicações de verdade.
+ */
+@SpringBootTest(properties = {
+        "app.snapshot.habilitado=true",
+        // Banco próprio: o create-drop dos outros contextos não derruba a tabela
+        // antes do último snapshot deste
+        "spring.datasource.url=jdbc:h2:mem:snapshot",
+        "app.snapshot.intervalo=PT1H",
+        "app.snapshot.lote=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Snapshot")
+class UsuarioSnapshotIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioService service;
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private SnapshotUsuarios snapshot;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private static Path arquivo;
+
+    @DynamicPropertySource
+    static void propriedades(DynamicPropertyRegistry registro) throws IOException {
+        arquivo = Files.createTempDirectory("user-api-snapshot").resolve("usuarios.snap");
+        registro.add("app.snapshot.arquivo", arquivo::toString);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.deleteAll();
+        Files.deleteIfExists(arquivo);
+        Files.deleteIfExists(arquivo.resolveSibling("usuarios.snap.invalido"));
+    }
+
+    @Test
+    @DisplayName("Deve restaurar os usuários do snapshot com ids, datas e versões originais")
+    void deveRestaurarUsuarios() throws Exception {
+        // Arrange - cinco usuários (três lotes), um deles já atualizado
+        UsuarioDTO[] usuarios = new UsuarioDTO[5];
+        for (int i = 0; i < usuarios.length; i++) {
+            usuarios[i] = service.criar(new UsuarioDTO(null, "Usuário " + i, "snapshot" + i + "@email.com", null, null));
+        }
+        UsuarioDTO atualizado = service.atualizar(usuarios[2].getId(),
+                new UsuarioDTO(null, "Atualizado", "snapshot2@email.com", null, null));
+        snapshot.gravar();
+        jdbc.update("delete from usuarios");
+
+        // Act
+        snapshot.restaurar();
+
+        // Assert
+        assertThat(repository.count()).isEqualTo(5);
+        // Direto na tabela: o cache de segundo nível ainda tem as entidades
+        assertThat(jdbc.queryForObject("select data_criacao from usuarios where id = ?", LocalDateTime.class,
+                atualizado.getId())).isEqualTo(atualizado.getDataCriacao());
+        assertThat(jdbc.queryForObject("select versao from usuarios where id = ?", Long.class, atualizado.getId()))
+                .isEqualTo(atualizado.getVersao());
+        mockMvc.perform(get("/api/usuarios").param("sort", "nome"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(5))
+                .andExpect(jsonPath("$.content[0].nome").value("Atualizado"));
+        assertThat(registry.get("snapshot.usuarios").gauge().value()).isEqualTo(5);
+        assertThat(registry.get("snapshot.bytes").gauge().value()).isEqualTo(Files.size(arquivo));
+        assertThat(registry.get("snapshot.gravacao").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    // As aplicações avulsas não têm o processamento AOT feito para o contexto de teste
+    @DisabledIfSystemProperty(named = "spring.aot.enabled", matches = "true")
+    @DisplayName("Deve gravar no encerramento e restaurar antes das cargas da subida seguinte")
+    void deveSobreviverAoRestart() throws Exception {
+        // Arrange - primeira execução, com banco próprio, encerrada sem snapshot periódico
+        Path reinicio = Files.createTempDirectory("user-api-restart").resolve("usuarios.snap");
+        try (ConfigurableApplicationContext primeira = aplicacao(reinicio, "restart-1")) {
+            UsuarioService servico = primeira.getBean(UsuarioService.class);
+            for (int i = 0; i < 3; i++) {
+                servico.criar(new UsuarioDTO(null, "Usuário " + i, "restart" + i + "@dominio.com", null, null));
+            }
+        }
+
+        // Act - segunda execução, com outro banco em memória
+        try (ConfigurableApplicationContext segunda = aplicacao(reinicio, "restart-2")) {
+
+            // Assert - as estatísticas, carregadas no ApplicationReadyEvent, já veem os restaurados
+            assertThat(segunda.getBean(UsuarioRepository.class).count()).isEqualTo(3);
+            assertThat(segunda.getBean(EstatisticasService.class).obterEstatisticas().getUsuariosPorDominio())
+                    .containsEntry("dominio.com", 3L);
+        } finally {
+            Files.deleteIfExists(reinicio);
+        }
+    }
+
+    /**
+     * Aplicação avulsa no mesmo JVM. Sem cache de segundo nível: o CacheManager
+     * JCache é compartilhado e encerrá-la fecharia o cache do contexto do teste.
+     */
+    private static ConfigurableApplicationContext aplicacao(Path arquivo, String banco) {
+        return new SpringApplicationBuilder(UserApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:" + banco, "--app.snapshot.habilitado=true",
+                        "--app.snapshot.arquivo=" + arquivo, "--app.snapshot.intervalo=PT1H",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=false");
+    }
+
+    @Test
+    @DisplayName("Deve subir vazio e preservar o arquivo quando o snapshot está corrompido")
+    void deveDescartarSnapshotCorrompido() throws Exception {
+        // Arrange
+        service.criar(new UsuarioDTO(null, "Ana", "corrompido@email.com", null, null));
+        snapshot.gravar();
+        jdbc.update("delete from usuarios");
+        byte[] conteudo = Files.readAllBytes(arquivo);
+        conteudo[conteudo.length - 1] ^= 1;
+        Files.write(arquivo, conteudo);
+
+        // Act
+        snapshot.restaurar();
+
+        // Assert
+        assertThat(repository.count()).isZero();
+        assertThat(arquivo).doesNotExist();
+        assertThat(arquivo.resolveSibling("usuarios.snap.invalido")).hasBinaryContent(conteudo);
+    }
+}
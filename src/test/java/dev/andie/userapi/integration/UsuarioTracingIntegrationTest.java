@@ -0,0 +1,104 @@
+package dev.andie.userapi.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.service.UsuarioService;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica a hierarquia de spans de um PUT exportada para arquivo local:
+ * HTTP -> controller -> serviço -> JDBC.
+ */
+@SpringBootTest(properties = {
+        "management.tracing.sampling.probability=1.0",
+        "app.tracing.arquivo=target/test-spans.jsonl"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Tracing")
+class UsuarioTracingIntegrationTest {
+
+    private static final Path ARQUIVO = Path.of("target/test-spans.jsonl");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsuarioService service;
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve exportar spans de controller, serviço e JDBC para o PUT")
+    void deveExportarSpansDoPut() throws Exception {
+        // Arrange
+        UsuarioDTO usuario = service.criar(new UsuarioDTO(null, "Tracing", "tracing@email.com", null, null));
+        UsuarioDTO atualizado = new UsuarioDTO(null, "Tracing Atualizado", "tracing.novo@email.com", null, null);
+
+        // Act
+        mockMvc.perform(put("/api/usuarios/" + usuario.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(atualizado)))
+                .andExpect(status().isOk());
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        // Assert
+        List<JsonNode> spans = lerSpans();
+        JsonNode http = spans.stream()
+                .filter(span -> span.get("name").asText().equals("http put /api/usuarios/{id}"))
+                .reduce((primeiro, ultimo) -> ultimo)
+                .orElseThrow();
+        String traceId = http.get("traceId").asText();
+        List<JsonNode> doTrace = spans.stream()
+                .filter(span -> span.get("traceId").asText().equals(traceId))
+                .toList();
+        List<String> nomes = doTrace.stream().map(span -> span.get("name").asText()).toList();
+
+        assertThat(nomes).contains("usuario-controller#atualizar", "usuario-service-impl#atualizar");
+        assertThat(doTrace)
+                .filteredOn(span -> span.get("name").asText().equals("query"))
+                .anySatisfy(span -> assertThat(span.get("attributes").get("jdbc.query[0]").asText())
+                        .containsIgnoringCase("update usuarios"));
+    }
+
+    private List<JsonNode> lerSpans() throws Exception {
+        List<JsonNode> spans = new ArrayList<>();
+        for (String linha : Files.readAllLines(ARQUIVO)) {
+            spans.add(objectMapper.readTree(linha));
+        }
+        return spans;
+    }
+}
@@ -0,0 +1,58 @@
+package dev.andie.userapi.observability;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do RelatorioInicializacao")
+class RelatorioInicializacaoTest {
+
+    @Test
+    @DisplayName("Deve descontar do passo pai o tempo dos filhos")
+    void deveDescontarTempoDosFilhos() throws InterruptedException {
+        // Arrange
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        StartupStep refresh = startup.start("spring.context.refresh");
+        StartupStep bean = startup.start("spring.beans.instantiate").tag("beanName", "lento");
+        Thread.sleep(60);
+        bean.end();
+        refresh.end();
+
+        // Act
+        List<RelatorioInicializacao.Passo> passos = RelatorioInicializacao.passos(startup.getBufferedTimeline());
+
+        // Assert
+        assertThat(passos).hasSize(2);
+        RelatorioInicializacao.Passo maisLento = passos.get(0);
+        assertThat(maisLento.nome()).isEqualTo("spring.beans.instantiate");
+        assertThat(maisLento.descricao()).contains("beanName=lento");
+        assertThat(maisLento.proprio()).isGreaterThanOrEqualTo(Duration.ofMillis(60));
+        assertThat(passos.get(1).proprio()).isLessThan(Duration.ofMillis(60));
+    }
+
+    @Test
+    @DisplayName("Deve agrupar o tempo por tipo de passo e listar os mais lentos")
+    void deveFormatarRelatorio() {
+        // Arrange
+        List<RelatorioInicializacao.Passo> passos = List.of(
+                new RelatorioInicializacao.Passo("spring.beans.instantiate", "[beanName=a]", Duration.ofMillis(30)),
+                new RelatorioInicializacao.Passo("spring.beans.instantiate", "[beanName=b]", Duration.ofMillis(20)),
+                new RelatorioInicializacao.Passo("spring.context.refresh", "", Duration.ofMillis(10)));
+
+        // Act
+        String relatorio = RelatorioInicializacao.formatar(passos);
+
+        // Assert
+        assertThat(relatorio)
+                .containsPattern("50 ms  spring.beans.instantiate\\n")
+                .containsPattern("10 ms  spring.context.refresh")
+                .contains("Passos mais lentos")
+                .contains("beanName=a");
+    }
+}
@@ -0,0 +1,119 @@
+package dev.andie.userapi.service;
+
+import dev.andie.userapi.dto.EstatisticasDTO;
+import dev.andie.userapi.event.UsuarioEvento;
+import dev.andie.userapi.model.Usuario;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.repository.UsuarioResumo;
+import dev.andie.userapi.service.impl.EstatisticasServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+@DisplayName("Testes do EstatisticasServiceImpl")
+class EstatisticasServiceImplTest {
+
+    private static final LocalDateTime ONTEM = LocalDateTime.of(2024, 1, 1, 10, 0);
+    private static final LocalDateTime HOJE = LocalDateTime.of(2024, 1, 2, 9, 30);
+
+    @Mock
+    private UsuarioRepository repository;
+
+    @InjectMocks
+    private EstatisticasServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.streamResumos()).thenReturn(Stream.of(
+                new UsuarioResumo(1L, "ana@email.com", ONTEM),
+                new UsuarioResumo(2L, "bruno@Email.com", HOJE),
+                new UsuarioResumo(3L, "carla@empresa.com", HOJE)
+        ));
+        service.carregar();
+    }
+
+    @Test
+    @DisplayName("Deve construir o agregado a partir da varredura inicial")
+    void deveConstruirAgregadoNaCarga() {
+        // Act
+        EstatisticasDTO resultado = service.obterEstatisticas();
+
+        // Assert
+        assertThat(resultado.getTotalUsuarios()).isEqualTo(3);
+        assertThat(resultado.getCadastrosPorDia())
+                .containsEntry(ONTEM.toLocalDate(), 1L)
+                .containsEntry(HOJE.toLocalDate(), 2L);
+        assertThat(resultado.getUsuariosPorDominio())
+                .containsEntry("email.com", 2L)
+                .containsEntry("empresa.com", 1L);
+
+        verify(repository, times(1)).streamResumos();
+    }
+
+    @Test
+    @DisplayName("Deve carregar só na primeira partida do ciclo de vida")
+    void deveCarregarSoNaPrimeiraPartida() {
+        // Arrange
+        EstatisticasServiceImpl novo = new EstatisticasServiceImpl(repository);
+        when(repository.streamResumos()).thenReturn(Stream.of(new UsuarioResumo(1L, "ana@email.com", ONTEM)));
+
+        // Act - a segunda partida é a de um restore do CRaC
+        novo.start();
+        novo.stop();
+        novo.start();
+
+        // Assert
+        assertThat(novo.obterEstatisticas().getTotalUsuarios()).isEqualTo(1);
+        verify(repository, times(2)).streamResumos();
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o agregado incrementalmente sem consultar o banco")
+    void deveAtualizarIncrementalmente() {
+        // Arrange
+        Usuario novo = usuario(4L, "davi@empresa.com", HOJE);
+        Usuario removido = usuario(1L, "ana@email.com", ONTEM);
+        Usuario alterado = usuario(2L, "bruno@empresa.com", HOJE);
+
+        // Act
+        service.aoAlterarUsuario(UsuarioEvento.criado(novo));
+        service.aoAlterarUsuario(UsuarioEvento.deletado(removido));
+        service.aoAlterarUsuario(UsuarioEvento.atualizado(alterado, "bruno@Email.com"));
+        EstatisticasDTO resultado = service.obterEstatisticas();
+
+        // Assert
+        assertThat(resultado.getTotalUsuarios()).isEqualTo(3);
+        assertThat(resultado.getCadastrosPorDia())
+                .doesNotContainKey(ONTEM.toLocalDate())
+                .containsEntry(LocalDate.of(2024, 1, 2), 3L);
+        assertThat(resultado.getUsuariosPorDominio())
+                .doesNotContainKey("email.com")
+                .containsEntry("empresa.com", 3L);
+
+        verify(repository, times(1)).streamResumos();
+        verifyNoMoreInteractions(repository);
+    }
+
+    private Usuario usuario(Long id, String email, LocalDateTime dataCriacao) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setNome("Usuario " + id);
+        usuario.setEmail(email);
+        usuario.setDataCriacao(dataCriacao);
+        return usuario;
+    }
+}
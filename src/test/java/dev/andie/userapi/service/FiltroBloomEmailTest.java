@@ -0,0 +1,158 @@
+package dev.andie.userapi.service;
+
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.repository.UsuarioResumo;
+import dev.andie.userapi.service.impl.FiltroBloomEmail;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+@DisplayName("Testes do FiltroBloomEmail")
+class FiltroBloomEmailTest {
+
+    private static final double TAXA = 0.01;
+
+    @Mock
+    private UsuarioRepository repository;
+
+    private SimpleMeterRegistry registry;
+    private FiltroBloomEmail filtro;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filtro = new FiltroBloomEmail(repository, registry, 1_000, TAXA);
+    }
+
+    @Test
+    @DisplayName("Deve ir ao banco enquanto o filtro não foi carregado")
+    void deveIrAoBancoAntesDaCarga() {
+        assertThat(filtro.podeExistir("qualquer@email.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve construir o filtro só na primeira partida")
+    void deveConstruirSoNaPrimeiraPartida() {
+        // Arrange
+        when(repository.streamResumos()).thenReturn(resumos(0, 10));
+
+        // Act
+        filtro.start();
+        filtro.start();
+
+        // Assert
+        assertThat(filtro.isRunning()).isTrue();
+        verify(repository, times(1)).streamResumos();
+    }
+
+    @Test
+    @DisplayName("Deve crescer sem falsos negativos e manter a taxa de falso positivo limitada")
+    void deveCrescerSemFalsosNegativos() {
+        // Arrange - 10x a capacidade inicial força a criação de novos filtros
+        when(repository.streamResumos()).thenReturn(resumos(0, 10_000));
+        filtro.start();
+
+        // Act
+        long falsosNegativos = LongStream.range(0, 10_000)
+                .filter(i -> !filtro.podeExistir(email(i)))
+                .count();
+        long falsosPositivos = LongStream.range(10_000, 110_000)
+                .filter(i -> filtro.podeExistir(email(i)))
+                .count();
+
+        // Assert
+        FiltroBloomEmail.Resumo resumo = filtro.resumo();
+        assertThat(falsosNegativos).isZero();
+        assertThat(resumo.filtros()).isGreaterThan(1);
+        assertThat(resumo.taxaFalsoPositivoEstimada()).isLessThanOrEqualTo(2 * TAXA);
+        assertThat(falsosPositivos / 100_000.0).isLessThan(2 * TAXA);
+        assertThat(registry.get("usuarios.email.consultas.evitadas").counter().count())
+                .isEqualTo(100_000 - falsosPositivos);
+    }
+
+    @Test
+    @DisplayName("Deve registrar novos emails e esquecer os excluídos ao reconstruir")
+    void deveEsquecerExcluidosAoReconstruir() {
+        // Arrange
+        when(repository.streamResumos())
+                .thenReturn(resumos(0, 500))
+                .thenReturn(resumos(0, 10));
+        filtro.start();
+        filtro.registrar("novo@email.com");
+        assertThat(filtro.podeExistir("novo@email.com")).isTrue();
+
+        // Act - Após excluir em massa, a tabela tem apenas 10 usuários
+        FiltroBloomEmail.Resumo resumo = filtro.reconstruir();
+
+        // Assert
+        assertThat(resumo.emails()).isEqualTo(10);
+        long aindaPresentes = LongStream.range(10, 500).filter(i -> filtro.podeExistir(email(i))).count();
+        assertThat(aindaPresentes).isLessThan(10);
+    }
+
+    @Test
+    @DisplayName("Deve responder sim para emails registrados durante reconstruções")
+    void deveManterEmailsRegistradosDuranteReconstrucao() throws Exception {
+        // Arrange - a "tabela" recebe o email antes do registro, como no commit seguido do evento
+        Set<String> banco = ConcurrentHashMap.newKeySet();
+        LongStream.range(0, 200).forEach(i -> banco.add(email(i)));
+        when(repository.streamResumos()).thenAnswer(invocacao -> List.copyOf(banco).stream()
+                .map(email -> new UsuarioResumo(1L, email, LocalDateTime.now())));
+        filtro.start();
+        AtomicBoolean registrando = new AtomicBoolean(true);
+        Thread reconstrucoes = new Thread(() -> {
+            while (registrando.get()) {
+                filtro.reconstruir();
+            }
+        });
+
+        // Act
+        reconstrucoes.start();
+        List<String> registrados = new ArrayList<>();
+        try {
+            for (long i = 200; i < 20_200; i++) {
+                String email = email(i);
+                banco.add(email);
+                filtro.registrar(email);
+                registrados.add(email);
+                if (i % 50 == 0) {
+                    Thread.yield();
+                }
+            }
+        } finally {
+            registrando.set(false);
+            reconstrucoes.join();
+        }
+
+        // Assert - a resposta negativa do filtro tem de continuar definitiva
+        assertThat(registrados).allMatch(filtro::podeExistir);
+    }
+
+    private static Stream<UsuarioResumo> resumos(long inicio, long fim) {
+        return LongStream.range(inicio, fim)
+                .mapToObj(i -> new UsuarioResumo(i + 1, email(i), LocalDateTime.now()));
+    }
+
+    private static String email(long i) {
+        return "user" + i + "@email.com";
+    }
+}
@@ -0,0 +1,153 @@
+package dev.andie.userapi.service;
+
+import dev.andie.userapi.event.UsuarioEvento;
+import dev.andie.userapi.model.Usuario;
+import dev.andie.userapi.repository.UsuarioRepository;
+import dev.andie.userapi.repository.UsuarioResumo;
+import dev.andie.userapi.service.impl.IndiceEmail;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+@DisplayName("Testes do IndiceEmail")
+class IndiceEmailTest {
+
+    @Mock
+    private UsuarioRepository repository;
+
+    private SimpleMeterRegistry registry;
+    private IndiceEmail indice;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        indice = new IndiceEmail(repository, registry, 16);
+    }
+
+    @Test
+    @DisplayName("Deve exigir confirmação no banco enquanto a carga inicial não terminou")
+    void deveExigirConfirmacaoAntesDaCarga() {
+        assertThat(indice.podeExistir("qualquer@email.com")).isTrue();
+        assertThat(indice.idProvavel("qualquer@email.com")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve carregar emails na partida e responder ausência sem consultar o banco")
+    void deveCarregarEResponderAusencia() {
+        // Arrange
+        when(repository.streamResumos()).thenReturn(Stream.of(
+                new UsuarioResumo(1L, "ana@email.com", LocalDateTime.now()),
+                new UsuarioResumo(2L, "bruno@email.com", LocalDateTime.now())
+        ));
+
+        // Act - a segunda partida (restore do CRaC) não varre a tabela de novo
+        indice.start();
+        indice.start();
+
+        // Assert
+        verify(repository, times(1)).streamResumos();
+        assertThat(indice.isRunning()).isTrue();
+        assertThat(indice.podeExistir("ana@email.com")).isTrue();
+        assertThat(indice.idProvavel("bruno@email.com")).hasValue(2L);
+        assertThat(indice.podeExistir("carla@email.com")).isFalse();
+        assertThat(registry.get("usuarios.email.consultas.evitadas").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve manter o índice consistente ao crescer e remover entradas")
+    void deveManterConsistenciaAoCrescerERemover() {
+        // Arrange
+        int total = 10_000;
+        for (int i = 0; i < total; i++) {
+            indice.registrar("user" + i + "@email.com", i + 1);
+        }
+
+        // Act - Remove metade, exercitando o deslocamento das sequências de sondagem
+        for (int i = 0; i < total; i += 2) {
+            indice.remover("user" + i + "@email.com", i + 1);
+        }
+
+        // Assert
+        assertThat(indice.tamanho()).isEqualTo(total / 2);
+        for (int i = 0; i < total; i++) {
+            if (i % 2 == 0) {
+                assertThat(indice.buscarId("user" + i + "@email.com")).isEmpty();
+            } else {
+                assertThat(indice.buscarId("user" + i + "@email.com")).hasValue(i + 1);
+            }
+        }
+        assertThat(indice.bytesOcupados()).isEqualTo(32_768L * (Long.BYTES * 2 + Integer.BYTES));
+        assertThat(registry.get("usuarios.email.indice.memoria").gauge().value())
+                .isEqualTo(indice.bytesOcupados());
+    }
+
+    @Test
+    @DisplayName("Deve acompanhar criação, troca de email e exclusão")
+    void deveAcompanharEventosDeUsuario() {
+        // Arrange
+        Usuario usuario = new Usuario(7L, "Ana", "ana@email.com", LocalDateTime.now(), 0L);
+
+        // Act & Assert
+        indice.aoAlterarUsuario(UsuarioEvento.criado(usuario));
+        assertThat(indice.buscarId("ana@email.com")).hasValue(7L);
+
+        usuario.setEmail("ana.nova@email.com");
+        indice.aoAlterarUsuario(UsuarioEvento.atualizado(usuario, "ana@email.com"));
+        assertThat(indice.buscarId("ana@email.com")).isEmpty();
+        assertThat(indice.buscarId("ana.nova@email.com")).hasValue(7L);
+
+        indice.aoAlterarUsuario(UsuarioEvento.deletado(usuario));
+        assertThat(indice.buscarId("ana.nova@email.com")).isEmpty();
+        assertThat(indice.tamanho()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve chegar ao mesmo resultado com trocas de email aplicadas fora de ordem")
+    void deveTolerarTrocasForaDeOrdem() {
+        // Arrange - X -> A e depois A -> X, com os eventos entregues invertidos
+        indice.registrar("x@email.com", 7L);
+
+        // Act
+        indice.aoAlterarUsuario(UsuarioEvento.atualizadoParcial(7L, null, "x@email.com", "a@email.com"));
+        indice.aoAlterarUsuario(UsuarioEvento.atualizadoParcial(7L, null, "a@email.com", "x@email.com"));
+
+        // Assert
+        assertThat(indice.buscarId("x@email.com")).hasValue(7L);
+        assertThat(indice.buscarId("a@email.com")).isEmpty();
+        assertThat(indice.tamanho()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve compensar na carga inicial os eventos aplicados antes dela")
+    void deveCompensarEventosAnterioresACarga() {
+        // Arrange - um criado e um excluído enquanto a carga lia o banco
+        indice.aoAlterarUsuario(UsuarioEvento.criado(new Usuario(1L, "Ana", "ana@email.com", LocalDateTime.now(), 0L)));
+        indice.aoAlterarUsuario(UsuarioEvento.deletado(new Usuario(2L, "Bruno", "bruno@email.com", LocalDateTime.now(), 0L)));
+        when(repository.streamResumos()).thenReturn(Stream.of(
+                new UsuarioResumo(1L, "ana@email.com", LocalDateTime.now()),
+                new UsuarioResumo(2L, "bruno@email.com", LocalDateTime.now())
+        ));
+
+        // Act
+        indice.carregar();
+        indice.aoAlterarUsuario(UsuarioEvento.deletado(new Usuario(1L, "Ana", "ana@email.com", LocalDateTime.now(), 0L)));
+
+        // Assert
+        assertThat(indice.podeExistir("ana@email.com")).isFalse();
+        assertThat(indice.podeExistir("bruno@email.com")).isFalse();
+        assertThat(indice.tamanho()).isZero();
+    }
+}
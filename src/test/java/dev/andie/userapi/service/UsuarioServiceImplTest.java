@@ -1,6 +1,8 @@
 package dev.andie.userapi.service;
 
 import dev.andie.userapi.dto.UsuarioDTO;
+import dev.andie.userapi.event.UsuarioEvento;
+import dev.andie.userapi.exception.ConflictException;
 import dev.andie.userapi.exception.ResourceNotFoundException;
 import dev.andie.userapi.exception.ValidationException;
 import dev.andie.userapi.model.Usuario;
@@ -9,10 +11,13 @@ import dev.andie.userapi.service.impl.UsuarioServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -22,19 +27,34 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
 @DisplayName("Testes do UsuarioServiceImpl")
 class UsuarioServiceImplTest {
 
     @Mock
     private UsuarioRepository repository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private FiltroEmail filtroEmail;
+
+    @Mock
+    private ArquivoUsuarios arquivo;
+
+    @Mock
+    private ParticaoUsuarios particao;
+
     @InjectMocks
     private UsuarioServiceImpl service;
 
@@ -43,6 +63,9 @@ class UsuarioServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        // Sem pré-verificação: todo email precisa ser confirmado no banco
+        lenient().when(filtroEmail.podeExistir(anyString())).thenReturn(true);
+
         usuario = new Usuario();
         usuario.setId(1L);
         usuario.setNome("Usuario test");
@@ -132,6 +155,21 @@ class UsuarioServiceImplTest {
         verify(repository, times(1)).findById(999L);
     }
 
+    @Test
+    @DisplayName("Deve buscar no arquivo morto quando o usuário não está na tabela")
+    void deveBuscarNoArquivoQuandoUsuarioNaoEstaNaTabela() {
+        // Arrange
+        UsuarioDTO arquivado = new UsuarioDTO(7L, "Arquivado", "arquivado@email.com", LocalDateTime.now(), 0L);
+        when(repository.findById(7L)).thenReturn(Optional.empty());
+        when(arquivo.buscar(7L)).thenReturn(Optional.of(arquivado));
+
+        // Act
+        UsuarioDTO resultado = service.buscarPorId(7L);
+
+        // Assert
+        assertThat(resultado).isEqualTo(arquivado);
+    }
+
     // ==================== TESTES DE CRIAR ====================
 
     @Test
@@ -151,6 +189,7 @@ class UsuarioServiceImplTest {
 
         verify(repository, times(1)).existsByEmail(usuarioSetUpDTO.getEmail());
         verify(repository, times(1)).save(any(Usuario.class));
+        verify(eventPublisher, times(1)).publishEvent(UsuarioEvento.criado(usuario));
     }
 
     @Test
@@ -166,6 +205,71 @@ class UsuarioServiceImplTest {
 
         verify(repository, times(1)).existsByEmail(usuarioSetUpDTO.getEmail());
         verify(repository, never()).save(any(Usuario.class));
+        verify(eventPublisher, never()).publishEvent(any(UsuarioEvento.class));
+    }
+
+    @Test
+    @DisplayName("Deve confirmar email duplicado pelo id do filtro, sem buscar pelo email")
+    void deveConfirmarEmailDuplicadoPeloIdDoFiltro() {
+        // Arrange
+        when(filtroEmail.idProvavel(usuarioSetUpDTO.getEmail())).thenReturn(OptionalLong.of(1L));
+        when(repository.findById(1L)).thenReturn(Optional.of(usuario));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.criar(usuarioSetUpDTO))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Email já cadastrado: " + usuarioSetUpDTO.getEmail());
+
+        verify(repository, never()).existsByEmail(anyString());
+        verify(repository, never()).save(any(Usuario.class));
+    }
+
+    @Test
+    @DisplayName("Deve buscar pelo email quando o id do filtro pertence a outro email")
+    void deveBuscarPeloEmailQuandoIdDoFiltroNaoConfere() {
+        // Arrange - colisão de hash ou evento ainda não aplicado
+        usuario.setEmail("outro@email.com");
+        when(filtroEmail.idProvavel(usuarioSetUpDTO.getEmail())).thenReturn(OptionalLong.of(1L));
+        when(repository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(repository.save(any(Usuario.class))).thenReturn(usuario);
+
+        // Act
+        service.criar(usuarioSetUpDTO);
+
+        // Assert
+        verify(repository, times(1)).existsByEmail(usuarioSetUpDTO.getEmail());
+        verify(repository, times(1)).save(any(Usuario.class));
+    }
+
+    @Test
+    @DisplayName("Deve dispensar consulta ao banco quando o filtro garante email inexistente")
+    void deveDispensarConsultaQuandoFiltroGaranteEmailInexistente() {
+        // Arrange
+        when(filtroEmail.podeExistir(usuarioSetUpDTO.getEmail())).thenReturn(false);
+        when(repository.save(any(Usuario.class))).thenReturn(usuario);
+
+        // Act
+        UsuarioDTO resultado = service.criar(usuarioSetUpDTO);
+
+        // Assert
+        assertThat(resultado).isNotNull();
+        verify(repository, never()).existsByEmail(anyString());
+        verify(repository, times(1)).save(any(Usuario.class));
+    }
+
+    @Test
+    @DisplayName("Deve tratar violação da constraint unique como email duplicado")
+    void deveTratarViolacaoDaConstraintComoEmailDuplicado() {
+        // Arrange
+        when(filtroEmail.podeExistir(usuarioSetUpDTO.getEmail())).thenReturn(false);
+        when(repository.save(any(Usuario.class))).thenThrow(new DataIntegrityViolationException("unique"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.criar(usuarioSetUpDTO))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Email já cadastrado: " + usuarioSetUpDTO.getEmail());
+
+        verify(eventPublisher, never()).publishEvent(any(UsuarioEvento.class));
     }
 
     @Test
@@ -210,6 +314,34 @@ class UsuarioServiceImplTest {
         verify(repository, never()).save(any(Usuario.class));
     }
 
+    @Test
+    @DisplayName("Deve lançar exceção ao criar usuário com email inválido")
+    void deveLancarExcecaoAoCriarUsuarioComEmailInvalido() {
+        // Arrange
+        usuarioSetUpDTO.setEmail("joao@@email.com");
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.criar(usuarioSetUpDTO))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Email deve ser válido");
+
+        verify(repository, never()).save(any(Usuario.class));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao atualizar parcialmente com email inválido")
+    void deveLancarExcecaoAoAtualizarParcialComEmailInvalido() {
+        // Arrange
+        UsuarioDTO dto = new UsuarioDTO(null, null, "email-invalido", null, null);
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.atualizarParcial(1L, dto))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Email deve ser válido");
+
+        verify(repository, never()).atualizarEmail(any(), any(), any());
+    }
+
     @Test
     @DisplayName("Deve lançar exceção ao criar usuário com email vazio")
     void deveLancarExcecaoAoCriarUsuarioComEmailVazio() {
@@ -306,6 +438,24 @@ class UsuarioServiceImplTest {
         verify(repository, never()).save(any(Usuario.class));
     }
 
+    @Test
+    @DisplayName("Deve tratar violação da constraint unique no PUT como email duplicado, igual ao POST")
+    void deveTratarViolacaoDaConstraintNoPutComoEmailDuplicado() {
+        // Arrange
+        UsuarioDTO dtoAtualizado = new UsuarioDTO(null, usuarioSetUpDTO.getNome(), "outro@email.com", null, null);
+        when(repository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(filtroEmail.podeExistir("outro@email.com")).thenReturn(false);
+        when(repository.save(any(Usuario.class))).thenReturn(usuario);
+        doThrow(new DataIntegrityViolationException("unique")).when(repository).flush();
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.atualizar(1L, dtoAtualizado))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Email já cadastrado: outro@email.com");
+
+        verify(eventPublisher, never()).publishEvent(any(UsuarioEvento.class));
+    }
+
     @Test
     @DisplayName("Deve lançar exceção ao atualizar usuário inexistente")
     void deveLancarExcecaoAoAtualizarUsuarioInexistente() {
@@ -321,6 +471,151 @@ class UsuarioServiceImplTest {
         verify(repository, never()).save(any(Usuario.class));
     }
 
+    @Test
+    @DisplayName("Deve lançar conflito ao atualizar a partir de versão desatualizada")
+    void deveLancarConflitoAoAtualizarComVersaoDesatualizada() {
+        // Arrange
+        usuario.setVersao(3L);
+        usuarioSetUpDTO.setVersao(2L);
+        when(repository.findById(1L)).thenReturn(Optional.of(usuario));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.atualizar(1L, usuarioSetUpDTO))
+                .isInstanceOf(ConflictException.class);
+
+        verify(repository, never()).save(any(Usuario.class));
+        verify(eventPublisher, never()).publishEvent(any(UsuarioEvento.class));
+    }
+
+    @Test
+    @DisplayName("Deve mover o usuário quando o email novo pertence a outra partição")
+    void deveMoverUsuarioParaOutraParticao() {
+        // Arrange
+        Usuario movido = new Usuario(2L, "Usuario test", "outro@email.com", usuario.getDataCriacao(), 0L);
+        usuarioSetUpDTO.setEmail("outro@email.com");
+        when(repository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(particao.outraParticao(1L, "outro@email.com")).thenReturn(true);
+        when(particao.mover(usuario, "Usuario test", "outro@email.com")).thenReturn(movido);
+
+        // Act
+        UsuarioDTO resultado = service.atualizar(1L, usuarioSetUpDTO);
+
+        // Assert
+        assertThat(resultado.getId()).isEqualTo(2L);
+        verify(repository, never()).existsByEmail(anyString());
+        verify(repository).delete(usuario);
+        verify(eventPublisher).publishEvent(UsuarioEvento.deletado(usuario));
+        verify(eventPublisher).publishEvent(UsuarioEvento.criado(movido));
+    }
+
+    @Test
+    @DisplayName("Deve tratar violação da constraint na partição de destino como email duplicado")
+    void deveTratarEmailDuplicadoNaParticaoDeDestino() {
+        // Arrange
+        usuarioSetUpDTO.setEmail("outro@email.com");
+        when(repository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(particao.outraParticao(1L, "outro@email.com")).thenReturn(true);
+        when(particao.mover(usuario, "Usuario test", "outro@email.com"))
+                .thenThrow(new DataIntegrityViolationException("unique"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.atualizar(1L, usuarioSetUpDTO))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Email já cadastrado: outro@email.com");
+
+        verify(repository, never()).delete(any(Usuario.class));
+        verify(eventPublisher, never()).publishEvent(any(UsuarioEvento.class));
+    }
+
+    // ==================== TESTES DE ATUALIZAR PARCIAL ====================
+
+    @Test
+    @DisplayName("Deve atualizar só o nome sem ler o usuário antes")
+    void deveAtualizarParcialSomenteNomeSemLeitura() {
+        // Arrange
+        UsuarioDTO patch = new UsuarioDTO();
+        patch.setNome("Novo Nome");
+        patch.setVersao(0L);
+        when(repository.atualizarNome(1L, 0L, "Novo Nome")).thenReturn(1);
+
+        // Act
+        service.atualizarParcial(1L, patch);
+
+        // Assert
+        verify(repository, never()).findById(anyLong());
+        verify(repository, times(1)).atualizarNome(1L, 0L, "Novo Nome");
+        verify(eventPublisher, times(1)).publishEvent(any(UsuarioEvento.class));
+    }
+
+    @Test
+    @DisplayName("Deve verificar duplicidade só quando o email está no patch")
+    void deveVerificarEmailNaAtualizacaoParcialComEmail() {
+        // Arrange
+        UsuarioDTO patch = new UsuarioDTO();
+        patch.setEmail("outro@email.com");
+        when(repository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(repository.existsByEmail("outro@email.com")).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.atualizarParcial(1L, patch))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Email já cadastrado: outro@email.com");
+
+        verify(repository, never()).atualizarEmail(anyLong(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Deve condicionar a troca de email à versão lida e lançar conflito se ela mudou")
+    void deveCondicionarTrocaDeEmailAVersaoLida() {
+        // Arrange - sem versão no patch; outra requisição altera o usuário entre a leitura e o UPDATE
+        usuario.setVersao(3L);
+        UsuarioDTO patch = new UsuarioDTO();
+        patch.setEmail("outro@email.com");
+        when(repository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(repository.existsByEmail("outro@email.com")).thenReturn(false);
+        when(repository.atualizarEmail(1L, 3L, "outro@email.com")).thenReturn(0);
+        when(repository.existsById(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.atualizarParcial(1L, patch))
+                .isInstanceOf(ConflictException.class);
+
+        verify(repository, times(1)).atualizarEmail(1L, 3L, "outro@email.com");
+        verify(eventPublisher, never()).publishEvent(any(UsuarioEvento.class));
+    }
+
+    @Test
+    @DisplayName("Deve lançar conflito quando nenhuma linha na versão informada é alterada")
+    void deveLancarConflitoNaAtualizacaoParcialComVersaoDesatualizada() {
+        // Arrange
+        UsuarioDTO patch = new UsuarioDTO();
+        patch.setNome("Novo Nome");
+        patch.setVersao(1L);
+        when(repository.atualizarNome(1L, 1L, "Novo Nome")).thenReturn(0);
+        when(repository.existsById(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.atualizarParcial(1L, patch))
+                .isInstanceOf(ConflictException.class);
+
+        verify(eventPublisher, never()).publishEvent(any(UsuarioEvento.class));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção na atualização parcial de usuário inexistente")
+    void deveLancarExcecaoNaAtualizacaoParcialDeUsuarioInexistente() {
+        // Arrange
+        UsuarioDTO patch = new UsuarioDTO();
+        patch.setNome("Novo Nome");
+        when(repository.atualizarNome(999L, null, "Novo Nome")).thenReturn(0);
+        when(repository.existsById(999L)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.atualizarParcial(999L, patch))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Usuário não encontrado com ID: 999");
+    }
+
     @Test
     @DisplayName("Deve lançar exceção ao atualizar sem nome")
     void deveLancarExcecaoAoAtualizarSemNome() {
@@ -357,29 +652,31 @@ class UsuarioServiceImplTest {
     @DisplayName("Deve deletar usuário com sucesso")
     void deveDeletarUsuarioComSucesso() {
         // Arrange
-        when(repository.existsById(1L)).thenReturn(true);
-        doNothing().when(repository).deleteById(1L);
+        when(repository.findById(1L)).thenReturn(Optional.of(usuario));
+        doNothing().when(repository).delete(usuario);
 
         // Act
         service.deletar(1L);
 
         // Assert
-        verify(repository, times(1)).existsById(1L);
-        verify(repository, times(1)).deleteById(1L);
+        verify(repository, times(1)).findById(1L);
+        verify(repository, times(1)).delete(usuario);
+        verify(eventPublisher, times(1)).publishEvent(any(UsuarioEvento.class));
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao deletar usuário inexistente")
     void deveLancarExcecaoAoDeletarUsuarioInexistente() {
         // Arrange
-        when(repository.existsById(999L)).thenReturn(false);
+        when(repository.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> service.deletar(999L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Usuário não encontrado com ID: 999");
 
-        verify(repository, times(1)).existsById(999L);
-        verify(repository, never()).deleteById(anyLong());
+        verify(repository, times(1)).findById(999L);
+        verify(repository, never()).delete(any(Usuario.class));
+        verify(eventPublisher, never()).publishEvent(any(UsuarioEvento.class));
     }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package dev.andie.userapi.sharding;
+
+import dev.andie.userapi.model.Usuario;
+import dev.andie.userapi.repository.UsuarioRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Testes do RoteamentoShardInterceptor")
+class RoteamentoShardInterceptorTest {
+
+    interface RepositorioSemCombinacao extends JpaRepository<Usuario, Long> {
+        Optional<Usuario> findByEmail(@ChaveShard String email);
+
+        Usuario findFirstByNome(String nome);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar todos os métodos do UsuarioRepository")
+    void deveAceitarUsuarioRepository() {
+        // Act & Assert
+        assertThatCode(() -> RoteamentoShardInterceptor.validar(UsuarioRepository.class))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Deve recusar na partida método sem chave e com retorno que não combina")
+    void deveRecusarMetodoSemCombinacao() {
+        // Act & Assert
+        assertThatThrownBy(() -> RoteamentoShardInterceptor.validar(RepositorioSemCombinacao.class))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("RepositorioSemCombinacao.findFirstByNome")
+                .hasMessageContaining("Usuario");
+    }
+}
@@ -0,0 +1,85 @@
+package dev.andie.userapi.snapshot;
+
+import dev.andie.userapi.model.Usuario;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Testes do ArquivoSnapshot")
+class ArquivoSnapshotTest {
+
+    // Janela pequena para os registros atravessarem vários mapeamentos
+    private static final long JANELA = 256 * 1024;
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve ler de volta todos os usuários gravados, na mesma ordem")
+    void deveLerUsuariosGravados() throws Exception {
+        // Arrange - textos de tamanhos variados e acentuados, datas antes e depois de 1970
+        Path arquivo = diretorio.resolve("usuarios.snap");
+        List<Usuario> usuarios = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            usuarios.add(new Usuario(1_000_000L + i * 3L, "Usuário " + "ã".repeat(i % 40) + i,
+                    "usuario" + i + "@email.com", LocalDateTime.of(1965, 3, 1, 12, 0, 0, 123_456_000).plusHours(i * 7L),
+                    (long) i % 9));
+        }
+        try (ArquivoSnapshot snapshot = ArquivoSnapshot.criar(arquivo, JANELA)) {
+            for (Usuario usuario : usuarios) {
+                snapshot.escrever(usuario.getId(), usuario.getNome(), usuario.getEmail(), usuario.getDataCriacao(),
+                        usuario.getVersao());
+            }
+            snapshot.concluir();
+        }
+
+        // Act
+        List<Usuario> lidos = new ArrayList<>();
+        long quantidade = ArquivoSnapshot.ler(arquivo, JANELA, lidos::add);
+
+        // Assert
+        assertThat(quantidade).isEqualTo(usuarios.size());
+        assertThat(lidos).isEqualTo(usuarios);
+        assertThat(Files.size(arquivo)).isGreaterThan(JANELA * 2);
+        assertThat(diretorio.resolve("usuarios.snap.tmp")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar snapshot com byte alterado ou truncado")
+    void deveRejeitarSnapshotCorrompido() throws Exception {
+        // Arrange
+        Path arquivo = diretorio.resolve("usuarios.snap");
+        try (ArquivoSnapshot snapshot = ArquivoSnapshot.criar(arquivo)) {
+            snapshot.escrever(1L, "Ana", "ana@email.com", LocalDateTime.of(2024, 1, 1, 0, 0), 0L);
+            snapshot.escrever(2L, "Bia", "bia@email.com", LocalDateTime.of(2024, 1, 2, 0, 0), 1L);
+            snapshot.concluir();
+        }
+        long tamanho = Files.size(arquivo);
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[]{'X'}), ArquivoSnapshot.CABECALHO + 27);
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> ArquivoSnapshot.ler(arquivo, usuario -> { }))
+                .isInstanceOf(ArquivoSnapshot.SnapshotInvalidoException.class)
+                .hasMessageContaining("CRC");
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.truncate(tamanho - 1);
+        }
+        assertThatThrownBy(() -> ArquivoSnapshot.ler(arquivo, usuario -> { }))
+                .isInstanceOf(ArquivoSnapshot.SnapshotInvalidoException.class)
+                .hasMessageContaining("truncado");
+    }
+}
@@ -0,0 +1,44 @@
+package dev.andie.userapi.snapshot;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Testes do SnapshotUsuarios")
+@DisabledInNativeImage
+class SnapshotUsuariosTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve encerrar sem lançar quando o banco falha no último snapshot")
+    void deveEncerrarComFalhaDoBanco() {
+        // Arrange - a tabela já foi descartada quando o stop() roda
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        doThrow(new BadSqlGrammarException("snapshot", "select", new SQLException("Table \"USUARIOS\" not found")))
+                .when(jdbc).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        SnapshotUsuarios snapshot = new SnapshotUsuarios(jdbc, diretorio.resolve("usuarios.snap"), null, 10,
+                new SimpleMeterRegistry());
+        snapshot.start();
+
+        // Act & Assert
+        assertThatCode(snapshot::stop).doesNotThrowAnyException();
+        assertThat(snapshot.isRunning()).isFalse();
+    }
+}
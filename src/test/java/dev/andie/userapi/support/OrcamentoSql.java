@@ -0,0 +1,58 @@
+package dev.andie.userapi.support;
+
+import dev.andie.userapi.observability.EstatisticasSql;
+
+import java.util.function.Supplier;
+
+/**
+ * Asserções de orçamento de SQL para testes.
+ *
+ * Exemplo:
+ * <pre>
+ * OrcamentoSql.noMaximo(3, () -> service.atualizar(id, dto));
+ * </pre>
+ * Falha listando os comandos executados quando o orçamento é ultrapassado,
+ * o que denuncia regressões como N+1 ou consultas extras.
+ */
+public final class OrcamentoSql {
+
+    private OrcamentoSql() {
+    }
+
+    public static EstatisticasSql medir(Runnable acao) {
+        return medir(() -> {
+            acao.run();
+            return null;
+        }).estatisticas();
+    }
+
+    public static <T> Medicao<T> medir(Supplier<T> acao) {
+        EstatisticasSql estatisticas = EstatisticasSql.iniciar(true);
+        try {
+            T resultado = acao.get();
+            return new Medicao<>(resultado, estatisticas);
+        } finally {
+            EstatisticasSql.encerrar();
+        }
+    }
+
+    public static <T> T noMaximo(int comandos, Supplier<T> acao) {
+        Medicao<T> medicao = medir(acao);
+        verificar(comandos, medicao.estatisticas());
+        return medicao.resultado();
+    }
+
+    public static void noMaximo(int comandos, Runnable acao) {
+        verificar(comandos, medir(acao));
+    }
+
+    private static void verificar(int comandos, EstatisticasSql estatisticas) {
+        if (estatisticas.getComandos() > comandos) {
+            throw new AssertionError("Orçamento de SQL excedido: esperado no máximo " + comandos
+                    + " comandos, executados " + estatisticas.getComandos() + ":\n  "
+                    + String.join("\n  ", estatisticas.getComandosExecutados()));
+        }
+    }
+
+    public record Medicao<T>(T resultado, EstatisticasSql estatisticas) {}
+}
@@ -0,0 +1,131 @@
+package dev.andie.userapi.validation;
+
+import dev.andie.userapi.dto.UsuarioDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.Email;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do ValidadorUsuario")
+class ValidadorUsuarioTest {
+
+    private static final List<String> EMAILS = List.of(
+            "", " ", "joao@email.com", "JOAO.Silva@Email.COM", "a@b", "a@b.c", "a.b.c@d-e.f",
+            "x+tag@sub.dominio.com.br", "!#$%&'*+/=?^_`{|}~-@dominio", "a@!#$%&'*+/=?^_`{|}~",
+            "email-invalido", "@dominio.com", "joao@", "joao@@email.com", "jo@o@email.com",
+            ".joao@email.com", "joao.@email.com", "jo..ao@email.com", "joao@.email.com",
+            "joao@email.com.", "joao@email..com", "joao@-email.com", "joao@email-.com",
+            "joao@e-mail.com", "joao@e--mail.com", "joao @email.com", "joao@email .com",
+            "joao@email_com", "joao(x)@email.com", "joao@[127.0.0.1]", "joao@[IPv6:::1]",
+            "joao@[300.0.0.1]", "\"joao silva\"@email.com", "\"joao@email.com", "joão@email.com",
+            "joao@dominío.com", "joao@xn--domnio-kta.com", "\tjoao@email.com", "joao@email.com\n",
+            "a".repeat(64) + "@email.com", "a".repeat(65) + "@email.com",
+            "joao@" + "a".repeat(63) + ".com", "joao@" + "a".repeat(64) + ".com",
+            "joao@" + ("a".repeat(60) + ".").repeat(4) + "com", "joao@" + ("a".repeat(62) + ".").repeat(4) + "com");
+
+    private static final String ALFABETO = "aZ09.@-_+\"[] \t!ü.@.";
+
+    private static ValidatorFactory fabrica;
+    private static Validator beanValidation;
+
+    private final ValidadorUsuario validador = new ValidadorUsuario();
+
+    @BeforeAll
+    static void iniciar() {
+        fabrica = Validation.buildDefaultValidatorFactory();
+        beanValidation = fabrica.getValidator();
+    }
+
+    @AfterAll
+    static void encerrar() {
+        fabrica.close();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar e rejeitar os mesmos emails que o @Email do Hibernate Validator")
+    void deveSerEquivalenteAoEmailDoHibernate() {
+        // Arrange
+        List<String> emails = new ArrayList<>(EMAILS);
+        Random aleatorio = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder email = new StringBuilder();
+            int tamanho = 1 + aleatorio.nextInt(12);
+            for (int j = 0; j < tamanho; j++) {
+                email.append(ALFABETO.charAt(aleatorio.nextInt(ALFABETO.length())));
+            }
+            emails.add(email.toString());
+        }
+
+        // Act
+        List<String> divergentes = emails.stream()
+                .filter(email -> ValidadorUsuario.emailValido(email) != emailValidoPeloDTO(email))
+                .toList();
+
+        // Assert
+        assertThat(divergentes).isEmpty();
+        assertThat(ValidadorUsuario.emailValido(null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve produzir os mesmos erros por campo que o Bean Validation nas anotações do DTO")
+    void deveProduzirOsMesmosErrosQueOBeanValidation() {
+        // Arrange
+        List<String> valores = new ArrayList<>(EMAILS);
+        valores.add(null);
+        valores.add("Maria");
+
+        for (String nome : Arrays.asList(null, "", " \t", "Maria")) {
+            for (String email : valores) {
+                UsuarioDTO dto = new UsuarioDTO(null, nome, email, null, null);
+
+                // Act
+                Errors completo = new BeanPropertyBindingResult(dto, "usuarioDTO");
+                validador.validate(dto, completo);
+                Errors parcial = new BeanPropertyBindingResult(dto, "usuarioDTO");
+                validador.validate(dto, parcial, UsuarioDTO.Parcial.class);
+
+                // Assert
+                assertThat(mensagens(completo)).as("%s / %s", nome, email).isEqualTo(mensagens(beanValidation.validate(dto)));
+                assertThat(mensagens(parcial)).as("%s / %s", nome, email)
+                        .isEqualTo(mensagens(beanValidation.validate(dto, UsuarioDTO.Parcial.class)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve tratar como em branco os mesmos textos que trim().isEmpty()")
+    void deveDetectarTextoEmBranco() {
+        for (String valor : List.of("", " ", "\t\n\r", "\u0000\u001f ", " a ", " ", " ", "x")) {
+            assertThat(ValidadorUsuario.emBranco(valor)).as(valor).isEqualTo(valor.trim().isEmpty());
+        }
+        assertThat(ValidadorUsuario.emBranco(null)).isTrue();
+    }
+
+    private static boolean emailValidoPeloDTO(String email) {
+        return beanValidation.validateValue(UsuarioDTO.class, "email", email).stream()
+                .noneMatch(violacao -> violacao.getConstraintDescriptor().getAnnotation() instanceof Email);
+    }
+
+    private static Map<String, Set<String>> mensagens(Errors erros) {
+        return erros.getFieldErrors().stream().collect(Collectors.groupingBy(FieldError::getField,
+                Collectors.mapping(FieldError::getDefaultMessage, Collectors.toSet())));
+    }
+
+    private static Map<String, Set<String>> mensagens(Set<ConstraintViolation<UsuarioDTO>> violacoes) {
+        return violacoes.stream().collect(Collectors.groupingBy(violacao -> violacao.getPropertyPath().toString(),
+                Collectors.mapping(ConstraintViolation::getMessage, Collectors.toSet())));
+    }
+}